@@ -0,0 +1,63 @@
+package com.edptoscaqs.toscaservice.endpoint;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EndpointCatalogBenchmark {
+
+    private WorkspaceEndpoints workspaceEndpoints;
+    private String objectId;
+
+    @Setup
+    public void setup() {
+        workspaceEndpoints = new WorkspaceEndpoints("tosca.example.com", 443, "SampleProject_NonAOS");
+        objectId = "3a0f8e2c-7d1b-4b8e-9f4a-2c6d5e7f8a9b";
+    }
+
+    @Benchmark
+    public String getObjectUrlWithUriComponentsBuilder() {
+        return UriComponentsBuilder
+                .fromHttpUrl(ToscaEndpoint.GET_OBJECT_URL.getTemplate())
+                .buildAndExpand("tosca.example.com", 443, "SampleProject_NonAOS", objectId)
+                .toUriString();
+    }
+
+    @Benchmark
+    public String getObjectUrlWithCompiledTemplate() {
+        return workspaceEndpoints.expand(ToscaEndpoint.GET_OBJECT_URL, objectId);
+    }
+
+    @Benchmark
+    public String executionListsUrlWithUriComponentsBuilder() {
+        return UriComponentsBuilder
+                .fromHttpUrl(ToscaEndpoint.EXECUTION_LISTS_URL.getTemplate())
+                .buildAndExpand("tosca.example.com", 443, "SampleProject_NonAOS", "Sample Test Event")
+                .toUriString();
+    }
+
+    @Benchmark
+    public String executionListsUrlWithCompiledTemplate() {
+        return workspaceEndpoints.expand(ToscaEndpoint.EXECUTION_LISTS_URL, "Sample Test Event");
+    }
+
+    @Benchmark
+    public String statusUrlWithUriComponentsBuilder() {
+        return UriComponentsBuilder
+                .fromHttpUrl(ToscaEndpoint.STATUS_URL.getTemplate())
+                .buildAndExpand("tosca.example.com", 443, objectId)
+                .toUriString();
+    }
+
+    @Benchmark
+    public String statusUrlWithCompiledTemplate() {
+        return workspaceEndpoints.expand(ToscaEndpoint.STATUS_URL, objectId);
+    }
+}
@@ -0,0 +1,73 @@
+package com.edptoscaqs.toscaservice.utilities;
+
+import org.openjdk.jmh.annotations.*;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// The DOM variant needs the whole document in memory, hence the large heap for the 500 MB input
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class PartialResultsExtractionBenchmark {
+
+    @Param({"1", "50", "500"})
+    private int sizeInMegabytes;
+
+    private Utilities utilities;
+    private Path partialResultsFile;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        utilities = new Utilities(null);
+        partialResultsFile = Files.createTempFile("partial-results-", ".xml");
+        long targetSize = sizeInMegabytes * 1024L * 1024L;
+        try (BufferedWriter writer = Files.newBufferedWriter(partialResultsFile, StandardCharsets.UTF_8)) {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<testsuites>\n");
+            writer.write("<testsuite name=\"SampleTestEvent\" tests=\"100000\" failures=\"12\" skipped=\"3\">\n");
+            long written = 0;
+            for (int i = 0; written < targetSize; i++) {
+                String testCase = String.format("<testcase name=\"TestCase %d\" classname=\"SampleExecutionList\" time=\"1.5\"><system-out>Log of test case %d</system-out></testcase>%n", i, i);
+                writer.write(testCase);
+                written += testCase.length();
+            }
+            writer.write("</testsuite>\n</testsuites>\n");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(partialResultsFile);
+    }
+
+    @Benchmark
+    public Map<String, Integer> domFromString() throws Exception {
+        // Previous implementation: whole body as a String and a new DocumentBuilderFactory per call
+        String xmlContent = Files.readString(partialResultsFile);
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new ByteArrayInputStream(xmlContent.getBytes(StandardCharsets.UTF_8)));
+        Element testsuiteElement = (Element) document.getElementsByTagName("testsuite").item(0);
+        return Map.of("Total Test Cases", Integer.parseInt(testsuiteElement.getAttribute("tests")),
+                "Failed Tests", Integer.parseInt(testsuiteElement.getAttribute("failures")),
+                "Skipped Tests", Integer.parseInt(testsuiteElement.getAttribute("skipped")));
+    }
+
+    @Benchmark
+    public Map<String, Integer> staxFromStream() throws Exception {
+        try (InputStream xmlContent = Files.newInputStream(partialResultsFile)) {
+            return utilities.extractPartialTestResults(xmlContent);
+        }
+    }
+}
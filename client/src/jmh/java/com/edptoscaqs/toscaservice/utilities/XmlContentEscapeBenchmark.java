@@ -0,0 +1,75 @@
+package com.edptoscaqs.toscaservice.utilities;
+
+import org.openjdk.jmh.annotations.*;
+import org.xml.sax.InputSource;
+
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Every variant reads the results file and write to a discarding Writer, so only parsing and escaping are measured.
+// The DOM variant holds the document and several copies of its text, hence the large heap.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class XmlContentEscapeBenchmark {
+
+    @Param({"1", "20", "100"})
+    private int sizeInMegabytes;
+
+    private Utilities utilities;
+    private Path resultsFile;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        utilities = new Utilities(null);
+        resultsFile = Files.createTempFile("execution-results-", ".xml");
+        long targetSize = sizeInMegabytes * 1024L * 1024L;
+        try (BufferedWriter writer = Files.newBufferedWriter(resultsFile, StandardCharsets.UTF_8)) {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<testsuites>\n");
+            writer.write("<testsuite name=\"SampleTestEvent\" tests=\"100000\" failures=\"12\" skipped=\"3\">\n");
+            long written = 0;
+            for (int i = 0; written < targetSize; i++) {
+                String testCase = String.format("<testcase name=\"Test &quot;%d&quot; &amp; more\" classname=\"SampleExecutionList\" time=\"1.5\">"
+                        + "<failure message=\"Expected &lt;%d&gt;\">Step %d: a &lt; b &amp;&amp; c &gt; d</failure>"
+                        + "<system-out><![CDATA[Log of test case %d with <markup> & symbols]]></system-out></testcase>%n", i, i, i, i);
+                writer.write(testCase);
+                written += testCase.length();
+            }
+            writer.write("</testsuite>\n</testsuites>\n");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(resultsFile);
+    }
+
+    @Benchmark
+    public void domRoundTrip() throws Exception {
+        // Previous implementation: DOM parse, escapeXml11 per node, LSSerializer and the chained replacements
+        try (InputStream xmlContent = Files.newInputStream(resultsFile)) {
+            Writer.nullWriter().write(utilities.escapeXmlContentWithDocument(new InputSource(xmlContent)));
+        }
+    }
+
+    @Benchmark
+    public boolean streamingRewrite() throws Exception {
+        try (InputStream xmlContent = Files.newInputStream(resultsFile)) {
+            return XmlContentRewriter.rewrite(new InputSource(xmlContent), Writer.nullWriter());
+        }
+    }
+
+    @Benchmark
+    public boolean parallelRewrite() throws Exception {
+        return ParallelXmlContentRewriter.rewrite(ForkJoinPool.commonPool(), resultsFile, Writer.nullWriter());
+    }
+}
@@ -0,0 +1,68 @@
+package com.edptoscaqs.toscaservice.utilities;
+
+import org.openjdk.jmh.annotations.*;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+// Repeated parses of a document of the size of a partial results poll, where the factory lookup dominates
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class XmlFactoriesBenchmark {
+
+    private static final String SMALL_RESULTS = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<testsuites>"
+            + "<testsuite name=\"SampleTestEvent\" tests=\"2\" failures=\"1\" skipped=\"0\">"
+            + "<testcase name=\"Login &amp; logout\" classname=\"SampleExecutionList\" time=\"1.5\"/>"
+            + "<testcase name=\"Search\" classname=\"SampleExecutionList\" time=\"2.5\"><failure message=\"Expected &lt;1&gt;\"/></testcase>"
+            + "</testsuite></testsuites>";
+
+    @Benchmark
+    public Document documentBuilderFactoryPerParse() throws Exception {
+        // Previous implementation: a new factory lookup and builder on every call
+        DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        return builder.parse(new InputSource(new StringReader(SMALL_RESULTS)));
+    }
+
+    @Benchmark
+    public Document cachedDocumentBuilder() throws Exception {
+        DocumentBuilder builder = XmlFactories.acquireDocumentBuilder();
+        try {
+            return builder.parse(new InputSource(new StringReader(SMALL_RESULTS)));
+        } finally {
+            XmlFactories.release(builder);
+        }
+    }
+
+    @Benchmark
+    public void saxParserFactoryPerParse() throws Exception {
+        SAXParser parser = SAXParserFactory.newInstance().newSAXParser();
+        parser.parse(new InputSource(new StringReader(SMALL_RESULTS)), new DefaultHandler());
+    }
+
+    @Benchmark
+    public void cachedSaxParser() throws Exception {
+        SAXParser parser = XmlFactories.acquireSaxParser();
+        try {
+            parser.parse(new InputSource(new StringReader(SMALL_RESULTS)), new DefaultHandler());
+        } finally {
+            XmlFactories.release(parser);
+        }
+    }
+
+    @Benchmark
+    public boolean rewriteSmallResults() throws Exception {
+        return XmlContentRewriter.rewrite(new InputSource(new StringReader(SMALL_RESULTS)), Writer.nullWriter());
+    }
+}
@@ -1,7 +1,13 @@
 package com.edptoscaqs.toscaservice;
 
+import com.edptoscaqs.toscaservice.authentication.AccessToken;
+import com.edptoscaqs.toscaservice.authentication.AccessTokenManager;
+import com.edptoscaqs.toscaservice.authentication.AuthenticationProvider;
 import com.edptoscaqs.toscaservice.configuration.ToscaConfigParameters;
+import com.edptoscaqs.toscaservice.endpoint.EndpointCatalog;
+import com.edptoscaqs.toscaservice.endpoint.ToscaEndpoint;
 import com.edptoscaqs.toscaservice.logging.LoggerHelper;
+import com.edptoscaqs.toscaservice.model.PartialExecutionResults;
 import com.edptoscaqs.toscaservice.utilities.Utilities;
 import net.minidev.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,11 +19,15 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
 
-import javax.annotation.PostConstruct;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 
+import static com.edptoscaqs.toscaservice.endpoint.ToscaEndpoint.*;
+
 @Service
 public class ToscaExecutionAPIHandler {
     @Autowired
@@ -29,37 +39,22 @@ public class ToscaExecutionAPIHandler {
     @Autowired
     private Utilities utilities;
 
-    private final String EXECUTION_ENQUEUE_URL = "https://{gateway}:{port}/automationobjectservice/api/Execution/Enqueue";
-    private final String STATUS_URL = "https://{gateway}:{port}/automationobjectservice/api/Execution/{executionid}/Status";
-    private final String RESULTS_URL = "https://{gateway}:{port}/automationobjectservice/api/Execution/{executionid}/Results";
-    private final String RESULTS_SUMMARY_URL = "https://{gateway}:{port}/automationobjectservice/api/Execution/{executionid}/Results/Summary";
-    private final String PARTIAL_RESULTS_URL = "https://{gateway}:{port}/automationobjectservice/api/Execution/{executionid}/Results?partial=true";
-    private final String CANCEL_EXECUTION_URL = "https://{gateway}:{port}/automationobjectservice/api/Execution/{executionid}/Cancel";
-    private final String TOKEN_URL = "https://{gateway}:{port}/tua/connect/token";
-
-    private String executionAPIAccessToken;
+    @Autowired
     private RestTemplate restTemplate;
 
-    @PostConstruct
-    public void init() {
-        this.restTemplate = new RestTemplate();
-    }
+    @Autowired
+    private AccessTokenManager accessTokenManager;
+
+    @Autowired
+    private AuthenticationProvider authenticationProvider;
+
+    @Autowired
+    private EndpointCatalog endpointCatalog;
 
     public JSONObject triggerEventExecution(String projectName, String executionEnvironment, String eventId, Map<String, String> eventParameters, Map<String, String> executionCharacteristics) throws Exception {
         loggerHelper.logDebug(String.format("[TriggerEventExecution] Process starts - Project Name: %s - Environment: %s - Test Event Id: %s", projectName, executionEnvironment, eventId));
-        try {
-            executionAPIAccessToken = getExecutionApiAccessToken();
-        } catch (Exception e) {
-            throw e;
-        }
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("X-Tricentis", "OK");
-        headers.set("Authorization","Bearer " + executionAPIAccessToken);
-        String url = UriComponentsBuilder
-                .fromHttpUrl(EXECUTION_ENQUEUE_URL)
-                .buildAndExpand(toscaConfiguration.getToscaServerGateway(), toscaConfiguration.getToscaServerPort())
-                .toUriString();
+        String accessToken = getExecutionApiAccessToken();
+        String url = buildUrl(EXECUTION_ENQUEUE_URL);
         Map<String, Object> requestBody = new HashMap<>();
         requestBody.put("projectName", projectName);
         requestBody.put("executionEnvironment", executionEnvironment);
@@ -73,15 +68,14 @@ public class ToscaExecutionAPIHandler {
         events.add(event);
         requestBody.put("events", events);
         requestBody.put("importResult", true);
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
         loggerHelper.logDebug(String.format("[TriggerEventExecution] URL: %s", url));
         try {
-            ResponseEntity<Map> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.POST,
-                    request,
-                    Map.class
-            );
+            ResponseEntity<Map> response = exchangeWithTokenRetry(accessToken, requestHeaders -> {
+                HttpHeaders jsonHeaders = new HttpHeaders();
+                jsonHeaders.addAll(requestHeaders);
+                jsonHeaders.setContentType(MediaType.APPLICATION_JSON);
+                return restTemplate.exchange(url, HttpMethod.POST, new HttpEntity<>(requestBody, jsonHeaders), Map.class);
+            });
             if (response!= null && response.hasBody() && !Objects.requireNonNull(response.getBody()).isEmpty()) {
                 loggerHelper.logDebug(String.format("[TriggerEventExecution] Process ends successfully - Project Name: %s - Environment: %s - Test Event Id: %s", projectName, executionEnvironment, eventId));
                 return new JSONObject(response.getBody());
@@ -103,20 +97,12 @@ public class ToscaExecutionAPIHandler {
 
     public String getEventExecutionData(String executionId, String dataType) throws Exception {
         loggerHelper.logDebug(String.format("[GetEventExecutionData] Process starts - Execution id: %s", executionId));
-        HttpHeaders headers = getHeader();
-        String url = UriComponentsBuilder
-                .fromHttpUrl(STATUS_URL)
-                .buildAndExpand(toscaConfiguration.getToscaServerGateway(), toscaConfiguration.getToscaServerPort(), executionId)
-                .toUriString();
-        HttpEntity<String> request = new HttpEntity<>(headers);
+        String accessToken = getExecutionApiAccessToken();
+        String url = buildUrl(STATUS_URL, executionId);
         loggerHelper.logDebug(String.format("[GetEventExecutionData] URL: %s", url));
         try {
-            ResponseEntity<Map> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    request,
-                    Map.class
-            );
+            ResponseEntity<Map> response = exchangeWithTokenRetry(accessToken, requestHeaders ->
+                    restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(requestHeaders), Map.class));
             if (response != null && response.hasBody() && !Objects.requireNonNull(response.getBody()).isEmpty()) {
                 JSONObject jsonBody = new JSONObject(response.getBody());
                 loggerHelper.logDebug(String.format("[GetEventExecutionData] Process ends successfully - Execution id: %s", executionId));
@@ -130,28 +116,32 @@ public class ToscaExecutionAPIHandler {
     }
 
     protected HttpHeaders getHeader() throws Exception {
+        return authenticationProvider.getExecutionApiHeaders(getExecutionApiAccessToken());
+    }
+
+    protected <T> T exchangeWithTokenRetry(String accessToken, TokenAwareRequest<T> request) throws Exception {
         try {
-            executionAPIAccessToken = getExecutionApiAccessToken();
-        } catch (Exception e) {
-            throw e;
+            return request.execute(authenticationProvider.getExecutionApiHeaders(accessToken));
+        } catch (HttpClientErrorException.Unauthorized e) {
+            loggerHelper.logDebug("[TokenRetry] Access token rejected - Requesting a new access token and retrying once");
+            accessTokenManager.invalidate(accessToken);
+            return request.execute(getHeader());
         }
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("X-Tricentis", "OK");
-        headers.set("Authorization","Bearer " + executionAPIAccessToken);
-        return headers;
+    }
+
+    @FunctionalInterface
+    protected interface TokenAwareRequest<T> {
+        T execute(HttpHeaders headers) throws Exception;
     }
 
     public String getExecutionResults(String executionId) throws Exception {
         loggerHelper.logDebug(String.format("[GetExecutionResults] Process starts - Execution Id: %s", executionId));
-        HttpEntity<String> entity = new HttpEntity<>(getHeader());
-
-        String url = UriComponentsBuilder
-                .fromHttpUrl(RESULTS_URL)
-                .buildAndExpand(toscaConfiguration.getToscaServerGateway(), toscaConfiguration.getToscaServerPort(), executionId)
-                .toUriString();
+        String accessToken = getExecutionApiAccessToken();
+        String url = buildUrl(RESULTS_URL, executionId);
         loggerHelper.logDebug(String.format("[GetExecutionResults] URL: %s", url));
         try {
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
+            ResponseEntity<String> response = exchangeWithTokenRetry(accessToken, requestHeaders ->
+                    restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(requestHeaders), String.class));
             if (response !=null && response.hasBody() && !Objects.requireNonNull(response.getBody()).isEmpty()) {
                 loggerHelper.logDebug(String.format("[GetExecutionResults] Process ends successfully - Execution Id: %s", executionId));
                 return utilities.extractDataFromEntity(response);
@@ -163,16 +153,36 @@ public class ToscaExecutionAPIHandler {
         }
     }
 
+    // The body is copied to the target file in bounded chunks, so the results are never held in memory as a whole
+    public long downloadExecutionResults(String executionId, Path target) throws Exception {
+        loggerHelper.logDebug(String.format("[DownloadExecutionResults] Process starts - Execution Id: %s - Path: %s", executionId, target));
+        String accessToken = getExecutionApiAccessToken();
+        URI url = URI.create(buildUrl(RESULTS_URL, executionId));
+        loggerHelper.logDebug(String.format("[DownloadExecutionResults] URL: %s", url));
+        try {
+            Long size = exchangeWithTokenRetry(accessToken, requestHeaders ->
+                    restTemplate.execute(url, HttpMethod.GET,
+                            request -> request.getHeaders().putAll(requestHeaders),
+                            response -> Files.copy(response.getBody(), target, StandardCopyOption.REPLACE_EXISTING)));
+            if (size != null && size > 0) {
+                loggerHelper.logDebug(String.format("[DownloadExecutionResults] Process ends successfully - Execution Id: %s - Bytes: %d", executionId, size));
+                return size;
+            } else {
+                throw new IllegalArgumentException(String.format("[DownloadExecutionResults] Process ends with an error: Response body is empty - Execution Id: %s", executionId));
+            }
+        } catch (Exception e) {
+            throw e;
+        }
+    }
+
     public Map<String, Integer> getExecutionResultsSummary(String executionId) throws Exception {
         loggerHelper.logDebug(String.format("[GetExecutionResultsSummary] Process starts - Execution ID: %s", executionId));
-        HttpEntity<String> entity = new HttpEntity<>(getHeader());
-        String url = UriComponentsBuilder
-                .fromHttpUrl(RESULTS_SUMMARY_URL)
-                .buildAndExpand(toscaConfiguration.getToscaServerGateway(), toscaConfiguration.getToscaServerPort(), executionId)
-                .toUriString();
+        String accessToken = getExecutionApiAccessToken();
+        String url = buildUrl(RESULTS_SUMMARY_URL, executionId);
         loggerHelper.logDebug(String.format("[GetExecutionResultsSummary] URL: %s", url));
         try {
-            ResponseEntity<Map<String, Integer>> response = restTemplate.exchange(url, HttpMethod.GET, entity, new ParameterizedTypeReference<>() {});
+            ResponseEntity<Map<String, Integer>> response = exchangeWithTokenRetry(accessToken, requestHeaders ->
+                    restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(requestHeaders), new ParameterizedTypeReference<Map<String, Integer>>() {}));
             if (response.getBody() == null || Objects.requireNonNull(response.getBody()).isEmpty()) {
                 throw new IllegalArgumentException(String.format("[GetExecutionResultsSummary] Process ends with an error: Response body is null/empty - Execution ID: %s", executionId));
             } else {
@@ -187,14 +197,11 @@ public class ToscaExecutionAPIHandler {
     public void CancelExecution(String executionId) throws Exception {
         loggerHelper.logInfo(String.format("Proceeding to cancel the execution - Execution Id: %s", executionId));
         loggerHelper.logDebug(String.format("[CancelExecution] Process starts - Execution Id: %s", executionId));
-        HttpEntity<String> entity = new HttpEntity<>(getHeader());
-
-        String url = UriComponentsBuilder
-                .fromHttpUrl(CANCEL_EXECUTION_URL)
-                .buildAndExpand(toscaConfiguration.getToscaServerGateway(), toscaConfiguration.getToscaServerPort(), executionId)
-                .toUriString();
+        String accessToken = getExecutionApiAccessToken();
+        String url = buildUrl(CANCEL_EXECUTION_URL, executionId);
         try {
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.PUT, entity, String.class);
+            ResponseEntity<String> response = exchangeWithTokenRetry(accessToken, requestHeaders ->
+                    restTemplate.exchange(url, HttpMethod.PUT, new HttpEntity<>(requestHeaders), String.class));
             if (response.getStatusCode().is2xxSuccessful()) {
                 loggerHelper.logInfo(String.format("Execution cancelled successfully - Execution Id: %s", executionId));
                 loggerHelper.logDebug(String.format("[CancelExecution] Process ends successfully - Execution Id: %s", executionId));
@@ -211,15 +218,12 @@ public class ToscaExecutionAPIHandler {
 
     public String getPartialExecutionResults(String executionId) throws Exception {
         loggerHelper.logDebug(String.format("[GetPartialExecutionResult] Process starts - Execution Id: %s", executionId));
-        HttpEntity<String> entity = new HttpEntity<>(getHeader());
-
-        String url = UriComponentsBuilder
-                .fromHttpUrl(PARTIAL_RESULTS_URL)
-                .buildAndExpand(toscaConfiguration.getToscaServerGateway(), toscaConfiguration.getToscaServerPort(), executionId)
-                .toUriString();
+        String accessToken = getExecutionApiAccessToken();
+        String url = buildUrl(PARTIAL_RESULTS_URL, executionId);
         loggerHelper.logDebug(String.format("[GetPartialExecutionResult] URL: %s", url));
         try {
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
+            ResponseEntity<String> response = exchangeWithTokenRetry(accessToken, requestHeaders ->
+                    restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(requestHeaders), String.class));
             if (!(response.getBody() == null || Objects.requireNonNull(response.getBody()).isEmpty())) {
                 loggerHelper.logDebug(String.format("[GetPartialExecutionResult] Process ends successfully - Execution Id: %s", executionId));
                 return utilities.extractDataFromEntity(response);
@@ -229,12 +233,50 @@ public class ToscaExecutionAPIHandler {
         return "";
     }
 
-    protected String getExecutionApiAccessToken() throws Exception{
+    // The counts are read straight from the response stream, so the document is never held in memory.
+    // With an entity tag from a previous response the request is conditional, so an unchanged document is not sent again
+    // Returns null when the request fails, so the caller keeps the counts and entity tag it already has
+    public PartialExecutionResults getPartialTestResults(String executionId, String entityTag) throws Exception {
+        loggerHelper.logDebug(String.format("[GetPartialTestResults] Process starts - Execution Id: %s", executionId));
+        String accessToken = getExecutionApiAccessToken();
+        URI url = URI.create(buildUrl(PARTIAL_RESULTS_URL, executionId));
+        loggerHelper.logDebug(String.format("[GetPartialTestResults] URL: %s", url));
+        try {
+            PartialExecutionResults results = exchangeWithTokenRetry(accessToken, requestHeaders ->
+                    restTemplate.execute(url, HttpMethod.GET,
+                            request -> request.getHeaders().putAll(withIfNoneMatch(requestHeaders, entityTag)),
+                            response -> {
+                                if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                                    return PartialExecutionResults.notModified(entityTag);
+                                }
+                                return PartialExecutionResults.of(utilities.extractPartialTestResults(response.getBody()), response.getHeaders().getETag());
+                            }));
+            if (results != null) {
+                loggerHelper.logDebug(String.format("[GetPartialTestResults] Process ends successfully - Modified: %s - Execution Id: %s", results.isModified(), executionId));
+                return results;
+            }
+        } catch (Exception e) {
+        }
+        return null;
+    }
+
+    private HttpHeaders withIfNoneMatch(HttpHeaders headers, String entityTag) {
+        if (entityTag == null) {
+            return headers;
+        }
+        HttpHeaders conditionalHeaders = new HttpHeaders();
+        conditionalHeaders.putAll(headers);
+        conditionalHeaders.setIfNoneMatch(entityTag);
+        return conditionalHeaders;
+    }
+
+    protected String getExecutionApiAccessToken() throws Exception {
+        return accessTokenManager.getAccessToken(this::requestExecutionApiAccessToken);
+    }
+
+    protected AccessToken requestExecutionApiAccessToken() throws Exception {
         loggerHelper.logDebug("[GetToken] Process starts");
-        String url = UriComponentsBuilder
-                .fromHttpUrl(TOKEN_URL)
-                .buildAndExpand(toscaConfiguration.getToscaServerGateway(), toscaConfiguration.getToscaServerPort())
-                .toUriString();
+        String url = buildUrl(TOKEN_URL);
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
         if (toscaConfiguration.getToscaClientId() != null && toscaConfiguration.getToscaClientSecret() != null) {
@@ -247,6 +289,7 @@ public class ToscaExecutionAPIHandler {
         HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(body, headers);
         loggerHelper.logDebug(String.format("[GetToken] URL: %s", url));
         try {
+            long requestTime = System.currentTimeMillis();
             ResponseEntity<Map> response = restTemplate.exchange(
                     url,
                     HttpMethod.POST,
@@ -256,8 +299,10 @@ public class ToscaExecutionAPIHandler {
             if (response.getStatusCode().is2xxSuccessful()) {
                 if (response.hasBody()) {
                     JSONObject jsonBody = new JSONObject(Objects.requireNonNull(response.getBody()));
-                    loggerHelper.logDebug("[GetToken] Process ends successfully");
-                    return jsonBody.getAsString("access_token");
+                    Number expiresIn = jsonBody.getAsNumber("expires_in");
+                    long lifetime = expiresIn != null && expiresIn.longValue() > 0 ? expiresIn.longValue() * 1000L : AccessTokenManager.DEFAULT_TOKEN_LIFETIME;
+                    loggerHelper.logDebug(String.format("[GetToken] Process ends successfully - Expires in [s]: %d", lifetime / 1000));
+                    return new AccessToken(jsonBody.getAsString("access_token"), lifetime, requestTime);
                 } else {
                     throw new IllegalStateException("[GetToken] Process ends with an error: Response body is empty when requesting access token");
                 }
@@ -270,4 +315,7 @@ public class ToscaExecutionAPIHandler {
         }
     }
 
-}
\ No newline at end of file
+    private String buildUrl(ToscaEndpoint endpoint, Object... variables) {
+        return endpointCatalog.getEndpoints(toscaConfiguration).expand(endpoint, variables);
+    }
+}
@@ -1,7 +1,13 @@
 package com.edptoscaqs.toscaservice;
 
+import com.edptoscaqs.toscaservice.authentication.AuthenticationProvider;
+import com.edptoscaqs.toscaservice.cache.ObjectAttributeCache;
+import com.edptoscaqs.toscaservice.cache.OwningGroupCache;
 import com.edptoscaqs.toscaservice.configuration.ToscaConfigParameters;
+import com.edptoscaqs.toscaservice.endpoint.EndpointCatalog;
+import com.edptoscaqs.toscaservice.endpoint.ToscaEndpoint;
 import com.edptoscaqs.toscaservice.logging.LoggerHelper;
+import com.edptoscaqs.toscaservice.model.ObjectAttributes;
 import com.edptoscaqs.toscaservice.utilities.Utilities;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.ParameterizedTypeReference;
@@ -11,15 +17,22 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
 import static com.edptoscaqs.toscaservice.configuration.Constants.*;
+import static com.edptoscaqs.toscaservice.endpoint.ToscaEndpoint.*;
 
-import javax.annotation.PostConstruct;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.util.*;
 import java.nio.file.*;
+import java.util.stream.Collectors;
 @Service
 public class ToscaRestAPIHandler {
+    private static final long PDF_TRANSFER_CHUNK_SIZE = 1024 * 1024;
+
     @Autowired
     private ToscaConfigParameters toscaConfiguration;
     
@@ -29,30 +42,20 @@ public class ToscaRestAPIHandler {
     @Autowired
     private Utilities utilities;
 
-    private final String CHECK_OUT_URL = "https://{gateway}:{port}/rest/toscacommander/{workspace}/object/{objectId}/task/CheckOut";
-    private final String CHECK_OUT_TREE_URL = "https://{gateway}:{port}/rest/toscacommander/{workspace}/object/{objectId}/task/CheckOutTree";
-    private final String CHANGE_OWNING_GROUP_URL = "https://{gateway}:{port}/rest/toscacommander/{workspace}/object/{groupId}/task/AssignOwner?objToDrop={objectId}";
-    private final String CHECK_IN_URL = "https://{gateway}:{port}/rest/toscacommander/{workspace}/task/CheckInAll";
-    private final String UPDATE_ALL_URL = "https://{gateway}:{port}/rest/toscacommander/{workspace}/task/UpdateAll";
-    private final String EXECUTION_LISTS_URL = "https://{gateway}:{port}/rest/toscacommander/{workspace}/object/project/task/Search?tqlString==>SUBPARTS:TestEvent[(Name==\"{testEvent}\")]->UsedOwnedItems:ExecutionList";
-    private final String GET_OBJECT_URL = "https://{gateway}:{port}/rest/toscacommander/{workspace}/object/{uniqueId}";
-    private final String TEST_EVENTS_URL = "https://{gateway}:{port}/rest/toscacommander/{workspace}/object/project/task/Search?tqlString==>SUBPARTS:TestEvent[(Name==\"{testEvent}\")]";
-    private final String PDF_REPORT_URL = "https://{gateway}:{port}/rest/toscacommander/{workspace}/resource?UniqueId={objectId}&reportname={reportName}&source=report&filename={filename}";
-    private final String TEST_CASES_IN_EXECUTION_LIST_URL = "https://{gateway}:{port}/rest/toscacommander/{workspace}/object/project/task/Search?tqlString==>SUBPARTS:ExecutionList[(UniqueId==\"{executionListId}\")]->UsedOwnedItems:TestCase";
-    private final String REVERT_ALL_URL = "https://{gateway}:{port}/rest/toscacommander/{workspace}/task/RevertAll";
-    private final String OWNING_GROUP_URL = "https://{gateway}:{port}/rest/toscacommander/{workspace}/object/project/task/Search?tqlString==>SUBPARTS:TCUserGroup[(Name==\"{owningGroupName}\")]";
-    private final String GET_OWNED_FILE = "https://{gateway}:{port}/rest/toscacommander/{workspace}/object/{executionlist}/task/Search?tqlString==>SUBPARTS:OwnedFile";
-    private final String GET_ATTACHMENT = "https://{gateway}:{port}/rest/toscacommander/{workspace}/resource?source=object&UniqueId={file}";
-    private final String ADD_ATTACHMENT = "https://{gateway}:{port}/rest/toscacommander/{workspace}/object/{executionlist}?name={name}";
-    private final String DELETE_ATTACHMENT = "https://{gateway}:{port}/rest/toscacommander/{workspace}/object/{objectId}";
+    @Autowired
+    private AuthenticationProvider authenticationProvider;
+
+    @Autowired
+    private EndpointCatalog endpointCatalog;
 
+    @Autowired
     private RestTemplate restTemplate;
-    protected String edpLockOwningGroupId;
 
-    @PostConstruct
-    public void init() {
-        this.restTemplate = new RestTemplate();
-    }
+    @Autowired
+    private ObjectAttributeCache attributeCache;
+
+    @Autowired
+    private OwningGroupCache owningGroupCache;
 
     public void checkOutObject(String objectID) {
         checkOut(objectID, CHECK_OUT_URL);
@@ -62,88 +65,82 @@ public class ToscaRestAPIHandler {
         checkOut(objectID, CHECK_OUT_TREE_URL);
     }
 
-    private void checkOut(String objectID, String checkOutURL) {
+    private void checkOut(String objectID, ToscaEndpoint checkOutURL) {
         loggerHelper.logDebug(String.format("Process starts - Object id: %s", objectID));
         String checkOutStatus = getObjectProperty(objectID, PROPERTY_CHECKOUT_STATE);
         if (!Objects.equals(checkOutStatus, CHECKED_IN_STATUS)) {
             throw new IllegalArgumentException(String.format("[CheckOut] Process ends with an error: Object has an unexpected status - Object Id: %s - Status: %s ", objectID, checkOutStatus));
         }
-        HttpHeaders headers = utilities.setClientAuthenticationHttpHeaders(toscaConfiguration.getToscaClientId(), toscaConfiguration.getToscaClientSecret());
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-        String url = UriComponentsBuilder
-                .fromHttpUrl(checkOutURL)
-                .buildAndExpand(toscaConfiguration.getToscaServerGateway(), toscaConfiguration.getToscaServerPort(), toscaConfiguration.getNonAOSWorkspace(), objectID)
-                .toUriString();
+        HttpEntity<String> entity = authenticationProvider.getCommanderRequestEntity();
+        String url = buildUrl(checkOutURL, objectID);
         loggerHelper.logDebug(String.format("[CheckOut] URL: %s", url));
         try {
             restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
             loggerHelper.logDebug(String.format("[CheckOut] Process ends successfully - Object id: %s",objectID));
         } catch (Exception e) {
             throw e;
+        } finally {
+            if (checkOutURL == CHECK_OUT_TREE_URL) {
+                attributeCache.invalidateAll();
+            } else {
+                attributeCache.invalidate(objectID);
+            }
         }
     }
 
     public void changeObjectOwningGroup(String objectID) {
-        edpLockOwningGroupId = getOwningGroupUniqueId(toscaConfiguration.getEdpLockGroupName());
+        String workspaceKey = toscaConfiguration.getWorkspaceKey();
+        String edpLockOwningGroupId = owningGroupCache.getOwningGroupId(workspaceKey, toscaConfiguration.getEdpLockGroupName(), this::getOwningGroupUniqueId);
         loggerHelper.logDebug(String.format("[ChangeOwningGroup] Process starts - Object id: %s", objectID));
-        HttpHeaders headers = utilities.setClientAuthenticationHttpHeaders(toscaConfiguration.getToscaClientId(), toscaConfiguration.getToscaClientSecret());
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-        String url = UriComponentsBuilder
-                .fromHttpUrl(CHANGE_OWNING_GROUP_URL)
-                .buildAndExpand(toscaConfiguration.getToscaServerGateway(), toscaConfiguration.getToscaServerPort(), toscaConfiguration.getNonAOSWorkspace(), edpLockOwningGroupId, objectID)
-                .toUriString();
+        HttpEntity<String> entity = authenticationProvider.getCommanderRequestEntity();
+        String url = buildUrl(CHANGE_OWNING_GROUP_URL, edpLockOwningGroupId, objectID);
         loggerHelper.logDebug(String.format("[ChangeOwningGroup] URL: %s", url));
         try {
             restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
             loggerHelper.logDebug(String.format("[ChangeOwningGroup] Process ends successfully - Object id: %s", objectID));
         } catch (Exception e) {
+            // The group id may come from an outdated disk entry, so it is resolved again on the next attempt
+            owningGroupCache.invalidate(workspaceKey, toscaConfiguration.getEdpLockGroupName());
             throw e;
+        } finally {
+            attributeCache.invalidate(objectID);
         }
     }
 
     public void checkInAll() {
         loggerHelper.logDebug("[CheckInAll] Process starts");
-        HttpHeaders headers = utilities.setClientAuthenticationHttpHeaders(toscaConfiguration.getToscaClientId(), toscaConfiguration.getToscaClientSecret());
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-        String url = UriComponentsBuilder
-                .fromHttpUrl(CHECK_IN_URL)
-                .queryParam("checkInComment", "freeze changes")
-                .buildAndExpand(toscaConfiguration.getToscaServerGateway(), toscaConfiguration.getToscaServerPort(), toscaConfiguration.getNonAOSWorkspace())
-                .toUriString();
+        HttpEntity<String> entity = authenticationProvider.getCommanderRequestEntity();
+        String url = buildUrl(CHECK_IN_URL);
         loggerHelper.logDebug(String.format("[CheckInAll] URL: %s", url));
         try {
             restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
             loggerHelper.logDebug("[CheckInAll] Process ends successfully");
         } catch (Exception e) {
             throw e;
+        } finally {
+            attributeCache.invalidateAll();
         }
     }
 
     public void updateAll() {
         loggerHelper.logDebug("[UpdateAll] Process starts");
-        HttpHeaders headers = utilities.setClientAuthenticationHttpHeaders(toscaConfiguration.getToscaClientId(), toscaConfiguration.getToscaClientSecret());
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-        String url = UriComponentsBuilder
-                .fromHttpUrl(UPDATE_ALL_URL)
-                .buildAndExpand(toscaConfiguration.getToscaServerGateway(), toscaConfiguration.getToscaServerPort(), toscaConfiguration.getNonAOSWorkspace())
-                .toUriString();
+        HttpEntity<String> entity = authenticationProvider.getCommanderRequestEntity();
+        String url = buildUrl(UPDATE_ALL_URL);
         loggerHelper.logDebug(String.format("[UpdateAll] URL: %s", url));
         try {
             restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
             loggerHelper.logDebug("[UpdateAll] Process ends successfully");
         } catch (Exception e) {
             throw e;
+        } finally {
+            attributeCache.invalidateAll();
         }
     }
 
     public void revertAll() {
         loggerHelper.logWarning("[RevertAll] Process starts");
-        HttpHeaders headers = utilities.setClientAuthenticationHttpHeaders(toscaConfiguration.getToscaClientId(), toscaConfiguration.getToscaClientSecret());
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-        String url = UriComponentsBuilder
-                .fromHttpUrl(REVERT_ALL_URL)
-                .buildAndExpand(toscaConfiguration.getToscaServerGateway(), toscaConfiguration.getToscaServerPort(), toscaConfiguration.getNonAOSWorkspace())
-                .toUriString();
+        HttpEntity<String> entity = authenticationProvider.getCommanderRequestEntity();
+        String url = buildUrl(REVERT_ALL_URL);
         loggerHelper.logDebug(String.format("[RevertAll] URL: %s", url));
         try {
             restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
@@ -151,17 +148,15 @@ public class ToscaRestAPIHandler {
         } catch (Exception e) {
             loggerHelper.logException(e);
             throw e;
+        } finally {
+            attributeCache.invalidateAll();
         }
     }
 
     public List<String> listExecutionLists(String testEventName) {
         loggerHelper.logDebug(String.format("[ListExecutionLists] Process starts - Test Event Name: %s",testEventName));
-        HttpHeaders headers = utilities.setClientAuthenticationHttpHeaders(toscaConfiguration.getToscaClientId(), toscaConfiguration.getToscaClientSecret());
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-        String url = UriComponentsBuilder
-                .fromHttpUrl(EXECUTION_LISTS_URL)
-                .buildAndExpand(toscaConfiguration.getToscaServerGateway(), toscaConfiguration.getToscaServerPort(), toscaConfiguration.getNonAOSWorkspace(), testEventName)
-                .toUriString();
+        HttpEntity<String> entity = authenticationProvider.getCommanderRequestEntity();
+        String url = buildUrl(EXECUTION_LISTS_URL, testEventName);
         loggerHelper.logDebug(String.format("[ListExecutionLists] URL: %s", url));
         try {
             ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(url, HttpMethod.GET, entity, new ParameterizedTypeReference<>() {});
@@ -176,12 +171,8 @@ public class ToscaRestAPIHandler {
 
     public List<String> listTestCasesInExecutionList(String executionListId) {
         loggerHelper.logDebug(String.format("[ListTestCases] Process starts - Execution list id: %s", executionListId));
-        HttpHeaders headers = utilities.setClientAuthenticationHttpHeaders(toscaConfiguration.getToscaClientId(), toscaConfiguration.getToscaClientSecret());
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-        String url = UriComponentsBuilder
-                .fromHttpUrl(TEST_CASES_IN_EXECUTION_LIST_URL)
-                .buildAndExpand(toscaConfiguration.getToscaServerGateway(), toscaConfiguration.getToscaServerPort(), toscaConfiguration.getNonAOSWorkspace(), executionListId)
-                .toUriString();
+        HttpEntity<String> entity = authenticationProvider.getCommanderRequestEntity();
+        String url = buildUrl(TEST_CASES_IN_EXECUTION_LIST_URL, executionListId);
         loggerHelper.logDebug(String.format("[ListTestCases] URL: %s", url));
         try {
             ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(url, HttpMethod.GET, entity, new ParameterizedTypeReference<>() {});
@@ -195,14 +186,71 @@ public class ToscaRestAPIHandler {
 
     }
 
+    public Map<String, ObjectAttributes> getTestCaseAttributesInExecutionList(String executionListId) {
+        loggerHelper.logDebug(String.format("[GetTestCaseAttributes] Process starts - Execution list id: %s", executionListId));
+        HttpEntity<String> entity = authenticationProvider.getCommanderRequestEntity();
+        String url = buildUrl(TEST_CASES_IN_EXECUTION_LIST_URL, executionListId);
+        loggerHelper.logDebug(String.format("[GetTestCaseAttributes] URL: %s", url));
+        try {
+            long loadGeneration = attributeCache.getGeneration();
+            ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(url, HttpMethod.GET, entity, new ParameterizedTypeReference<>() {});
+            if (Objects.requireNonNull(response.getBody()).isEmpty()) {
+                throw new IllegalArgumentException(String.format("[GetTestCaseAttributes] Process ends with an error: No test cases returned - Execution list id: %s", executionListId));
+            }
+            Map<String, ObjectAttributes> testCaseAttributes = toObjectAttributes(response.getBody(), loadGeneration);
+            loggerHelper.logDebug(String.format("[GetTestCaseAttributes] Process ends successfully - Execution list id: %s - Test cases: %d", executionListId, testCaseAttributes.size()));
+            return testCaseAttributes;
+        } catch (Exception e) {
+            throw e;
+        }
+    }
+
+    public Map<String, ObjectAttributes> getAttributesByUniqueIds(Collection<String> uniqueIds) {
+        List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(uniqueIds));
+        loggerHelper.logDebug(String.format("[GetAttributesByUniqueIds] Process starts - Objects: %d", distinctIds.size()));
+        HttpEntity<String> entity = authenticationProvider.getCommanderRequestEntity();
+        Map<String, ObjectAttributes> objectAttributes = new LinkedHashMap<>();
+        try {
+            // Ids are searched in pages so that the TQL condition keeps the request URL within server limits
+            for (int pageStart = 0; pageStart < distinctIds.size(); pageStart += SEARCH_PAGE_SIZE) {
+                List<String> page = distinctIds.subList(pageStart, Math.min(pageStart + SEARCH_PAGE_SIZE, distinctIds.size()));
+                String uniqueIdCondition = page.stream()
+                        .map(uniqueId -> String.format("UniqueId==\"%s\"", uniqueId))
+                        .collect(Collectors.joining(" OR "));
+                String url = buildUrl(OBJECTS_BY_UNIQUE_ID_URL, uniqueIdCondition);
+                loggerHelper.logDebug(String.format("[GetAttributesByUniqueIds] URL: %s", url));
+                long loadGeneration = attributeCache.getGeneration();
+                ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(url, HttpMethod.GET, entity, new ParameterizedTypeReference<>() {});
+                objectAttributes.putAll(toObjectAttributes(Objects.requireNonNull(response.getBody()), loadGeneration));
+            }
+            loggerHelper.logDebug(String.format("[GetAttributesByUniqueIds] Process ends successfully - Objects: %d - Found: %d", distinctIds.size(), objectAttributes.size()));
+            return objectAttributes;
+        } catch (Exception e) {
+            throw e;
+        }
+    }
+
+    private Map<String, ObjectAttributes> toObjectAttributes(List<Map<String, Object>> searchResults, long loadGeneration) {
+        Map<String, ObjectAttributes> objectAttributes = new LinkedHashMap<>();
+        for (Map<String, Object> searchResult : searchResults) {
+            String uniqueId = (String) searchResult.get(UNIQUE_ID);
+            Object attributeList = searchResult.get(ATTRIBUTES);
+            ObjectAttributes attributes = attributeList instanceof List
+                    ? ObjectAttributes.fromAttributeList(uniqueId, (List<Map<String, String>>) attributeList)
+                    : ObjectAttributes.of(uniqueId, Map.of());
+            // Search results also warm the per-object cache, so following getObjectProperty calls need no request
+            if (!attributes.isEmpty()) {
+                attributeCache.putIfCurrent(uniqueId, attributes.asMap(), loadGeneration);
+            }
+            objectAttributes.put(uniqueId, attributes);
+        }
+        return objectAttributes;
+    }
+
     public String getTestEventUniqueId(String testEventName) throws Exception {
         loggerHelper.logDebug(String.format("[GetTestEventId] Process starts - Test Event Name: %s",testEventName));
-        HttpHeaders headers = utilities.setClientAuthenticationHttpHeaders(toscaConfiguration.getToscaClientId(), toscaConfiguration.getToscaClientSecret());
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-        String url = UriComponentsBuilder
-                .fromHttpUrl(TEST_EVENTS_URL)
-                .buildAndExpand(toscaConfiguration.getToscaServerGateway(), toscaConfiguration.getToscaServerPort(), toscaConfiguration.getNonAOSWorkspace(), testEventName)
-                .toUriString();
+        HttpEntity<String> entity = authenticationProvider.getCommanderRequestEntity();
+        String url = buildUrl(TEST_EVENTS_URL, testEventName);
         loggerHelper.logDebug(String.format("[GetTestEventId] URL: %s", url));
         try {
             ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(url, HttpMethod.GET, entity, new ParameterizedTypeReference<>() {});
@@ -224,12 +272,8 @@ public class ToscaRestAPIHandler {
     protected String getOwningGroupUniqueId(String owningGroupName) {
         loggerHelper.logDebug(String.format("[GetOwningGroupId] Process starts - Owning Group Name: %s",owningGroupName));
 
-        HttpHeaders headers = utilities.setClientAuthenticationHttpHeaders(toscaConfiguration.getToscaClientId(), toscaConfiguration.getToscaClientSecret());
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-        String url = UriComponentsBuilder
-                .fromHttpUrl(OWNING_GROUP_URL)
-                .buildAndExpand(toscaConfiguration.getToscaServerGateway(), toscaConfiguration.getToscaServerPort(), toscaConfiguration.getNonAOSWorkspace(), owningGroupName)
-                .toUriString();
+        HttpEntity<String> entity = authenticationProvider.getCommanderRequestEntity();
+        String url = buildUrl(OWNING_GROUP_URL, owningGroupName);
         loggerHelper.logDebug(String.format("[GetOwningGroupId] URL: %s", url));
         try {
             ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(url, HttpMethod.GET, entity, new ParameterizedTypeReference<>() { });
@@ -249,14 +293,11 @@ public class ToscaRestAPIHandler {
     public String getObjectProperty(String uniqueId, String propertyName) {
         try {
             loggerHelper.logDebug(String.format("[GetObjectProperty] Process starts - Object id: %s - Property: %s", uniqueId, propertyName));
-            List<Map<String, String>> attributes = getObjectAttributes(uniqueId);
-            Optional<String> propertyValue = attributes.stream()
-                    .filter(map -> map.containsKey("Name") && map.get("Name").equals(propertyName))
-                    .map(map -> map.get("Value"))
-                    .findFirst();
-            if (propertyValue.isPresent()) {
-                loggerHelper.logDebug(String.format("[GetObjectProperty] Process ends successfully - Object id: %s - Property: %s - Value: %s",uniqueId, propertyName, propertyValue.get()));
-                return propertyValue.get();
+            Map<String, String> attributes = attributeCache.getAttributes(uniqueId, this::loadObjectAttributes);
+            String propertyValue = attributes.get(propertyName);
+            if (propertyValue != null) {
+                loggerHelper.logDebug(String.format("[GetObjectProperty] Process ends successfully - Object id: %s - Property: %s - Value: %s",uniqueId, propertyName, propertyValue));
+                return propertyValue;
             } else {
                 throw new NoSuchElementException(String.format("[GetObjectProperty] Process ends with an error: Property not found within object's attributes - Object id: %s - Property: %s", uniqueId, propertyName));
             }
@@ -267,13 +308,9 @@ public class ToscaRestAPIHandler {
 
     public String getPdfReport(String objectId) {
         loggerHelper.logDebug(String.format("[GetPDFReport] Process starts - Object id: %s",objectId));
-        HttpHeaders headers = utilities.setClientAuthenticationHttpHeaders(toscaConfiguration.getToscaClientId(), toscaConfiguration.getToscaClientSecret());
-        HttpEntity<String> entity = new HttpEntity<>(headers);
+        HttpEntity<String> entity = authenticationProvider.getCommanderRequestEntity();
         String fileName = "report.pdf";
-        String url = UriComponentsBuilder
-                .fromHttpUrl(PDF_REPORT_URL)
-                .buildAndExpand(toscaConfiguration.getToscaServerGateway(), toscaConfiguration.getToscaServerPort(), toscaConfiguration.getNonAOSWorkspace(), objectId, toscaConfiguration.getPdfReportName(), fileName)
-                .toUriString();
+        String url = buildUrl(PDF_REPORT_URL, objectId, toscaConfiguration.getPdfReportName(), fileName);
         loggerHelper.logDebug(String.format("[GetPDFReport] URL: %s", url));
         try {
             ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
@@ -288,17 +325,59 @@ public class ToscaRestAPIHandler {
         }
     }
 
+    // The report is streamed into a temporary file and renamed once complete, so it is never held in memory
+    // and an interrupted download never leaves a truncated report behind
+    public long downloadPdfReport(String objectId, Path target) throws IOException {
+        loggerHelper.logDebug(String.format("[DownloadPDFReport] Process starts - Object id: %s - Path: %s", objectId, target));
+        HttpHeaders headers = authenticationProvider.getCommanderHeaders();
+        String fileName = "report.pdf";
+        String url = buildUrl(PDF_REPORT_URL, objectId, toscaConfiguration.getPdfReportName(), fileName);
+        loggerHelper.logDebug(String.format("[DownloadPDFReport] URL: %s", url));
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporaryFile = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            long startTime = System.nanoTime();
+            Long size = restTemplate.execute(url, HttpMethod.GET,
+                    request -> request.getHeaders().putAll(headers),
+                    response -> transferToFile(response.getBody(), temporaryFile));
+            if (size == null || size == 0) {
+                throw new IllegalArgumentException(String.format("[DownloadPDFReport] Process ends with an error: Response body is empty - Object id: %s", objectId));
+            }
+            Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            double seconds = Math.max(System.nanoTime() - startTime, 1) / 1_000_000_000.0;
+            loggerHelper.logDebug(String.format("[DownloadPDFReport] Process ends successfully - Object id: %s - Bytes: %d - Throughput [MB/s]: %.2f",
+                    objectId, size, size / (1024.0 * 1024.0) / seconds));
+            return size;
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private static long transferToFile(InputStream body, Path file) throws IOException {
+        try (ReadableByteChannel source = Channels.newChannel(body);
+             FileChannel destination = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = 0;
+            long transferred;
+            // A blocking stream channel only transfers nothing once the body is exhausted
+            while ((transferred = destination.transferFrom(source, position, PDF_TRANSFER_CHUNK_SIZE)) > 0) {
+                position += transferred;
+            }
+            return position;
+        }
+    }
+
+    private Map<String, String> loadObjectAttributes(String uniqueId) {
+        return ObjectAttributes.fromAttributeList(uniqueId, getObjectAttributes(uniqueId)).asMap();
+    }
+
     protected List<Map<String, String>> getObjectAttributes(String uniqueId) {
         loggerHelper.logDebug(String.format("[GetObjectAttributes] Process starts - Object id: %s",uniqueId));
-        HttpHeaders headers = utilities.setClientAuthenticationHttpHeaders(toscaConfiguration.getToscaClientId(), toscaConfiguration.getToscaClientSecret());
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-        String url = UriComponentsBuilder
-                .fromHttpUrl(GET_OBJECT_URL)
-                .buildAndExpand(toscaConfiguration.getToscaServerGateway(), toscaConfiguration.getToscaServerPort(), toscaConfiguration.getNonAOSWorkspace(), uniqueId)
-                .toUriString();
+        HttpEntity<String> entity = authenticationProvider.getCommanderRequestEntity();
+        String url = buildUrl(GET_OBJECT_URL, uniqueId);
         loggerHelper.logDebug(String.format("[GetObjectAttributes] URL: %s", url));
         try {
-            List<Map<String, String>> attributes = (List<Map<String, String>>) Objects.requireNonNull(restTemplate.exchange(url, HttpMethod.GET, entity, Map.class).getBody()).get("Attributes");
+            List<Map<String, String>> attributes = (List<Map<String, String>>) Objects.requireNonNull(restTemplate.exchange(url, HttpMethod.GET, entity, Map.class).getBody()).get(ATTRIBUTES);
             loggerHelper.logDebug(String.format("URL: %s", url));
             loggerHelper.logDebug(String.format("[GetObjectAttributes] Process ends successfully - Object id: %s",uniqueId));
             return attributes;
@@ -309,13 +388,9 @@ public class ToscaRestAPIHandler {
 
     public List<String> getOwnedFile(String uniqueId) {
         loggerHelper.logDebug(String.format("[GetOwnedFile] Process starts - Execution List Id: %s",uniqueId));
-        HttpHeaders headers = utilities.setClientAuthenticationHttpHeaders(toscaConfiguration.getToscaClientId(), toscaConfiguration.getToscaClientSecret());
-        HttpEntity<String> entity = new HttpEntity<>(headers);
+        HttpEntity<String> entity = authenticationProvider.getCommanderRequestEntity();
         List<String> files = new ArrayList<>();
-        String url = UriComponentsBuilder
-                .fromHttpUrl(GET_OWNED_FILE)
-                .buildAndExpand(toscaConfiguration.getToscaServerGateway(), toscaConfiguration.getToscaServerPort(), toscaConfiguration.getNonAOSWorkspace(), uniqueId)
-                .toUriString();
+        String url = buildUrl(GET_OWNED_FILE, uniqueId);
         loggerHelper.logDebug(String.format("[GetOwnedFile] URL: %s", url));
         try {
             ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(url, HttpMethod.GET, entity, new ParameterizedTypeReference<>() {});
@@ -331,12 +406,8 @@ public class ToscaRestAPIHandler {
 
     public Boolean getAttachment(String uniqueId) {
         loggerHelper.logDebug(String.format("[GetAttachment] Process starts - File Id: %s",uniqueId));
-        HttpHeaders headers = utilities.setClientAuthenticationHttpHeaders(toscaConfiguration.getToscaClientId(), toscaConfiguration.getToscaClientSecret());
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-        String url = UriComponentsBuilder
-            .fromHttpUrl(GET_ATTACHMENT)
-            .buildAndExpand(toscaConfiguration.getToscaServerGateway(), toscaConfiguration.getToscaServerPort(), toscaConfiguration.getNonAOSWorkspace(), uniqueId)
-            .toUriString();
+        HttpEntity<String> entity = authenticationProvider.getCommanderRequestEntity();
+        String url = buildUrl(GET_ATTACHMENT, uniqueId);
         loggerHelper.logDebug(String.format("[GetAttachment] URL: %s", url));
         try {
             ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, new ParameterizedTypeReference<>() {});
@@ -351,16 +422,55 @@ public class ToscaRestAPIHandler {
         }
     }
 
+    // Replaces the attached files of every given execution list with the new file, or removes them when there is none,
+    // in a single check-out and check-in; on any failure the whole workspace is reverted
+    public void replaceAttachments(Collection<String> executionListIds, File attachment) throws Exception {
+        loggerHelper.logDebug(String.format("[ReplaceAttachments] Process starts - Execution lists: %d", executionListIds.size()));
+        try {
+            for (String executionListId : executionListIds) {
+                checkOutTree(executionListId);
+                for (String fileId : getOwnedFile(executionListId)) {
+                    loggerHelper.logDebug(String.format("[ReplaceAttachments] Deleting file - Execution list id: %s - File id: %s", executionListId, fileId));
+                    deleteAttachment(fileId);
+                }
+                if (attachment != null) {
+                    addAttachment(executionListId, attachment);
+                }
+            }
+            checkInAll();
+            loggerHelper.logDebug(String.format("[ReplaceAttachments] Process ends successfully - Execution lists: %d", executionListIds.size()));
+        } catch (Exception e) {
+            try {
+                revertAll();
+            } catch (Exception revertFailure) {
+                e.addSuppressed(revertFailure);
+            }
+            throw e;
+        }
+    }
+
+    public byte[] getAttachmentContent(String uniqueId) {
+        loggerHelper.logDebug(String.format("[GetAttachmentContent] Process starts - File Id: %s",uniqueId));
+        HttpEntity<String> entity = authenticationProvider.getCommanderRequestEntity();
+        String url = buildUrl(GET_ATTACHMENT, uniqueId);
+        loggerHelper.logDebug(String.format("[GetAttachmentContent] URL: %s", url));
+        try {
+            ResponseEntity<byte[]> response = restTemplate.exchange(url, HttpMethod.GET, entity, byte[].class);
+            byte[] content = response != null && response.hasBody() ? response.getBody() : new byte[0];
+            loggerHelper.logDebug(String.format("[GetAttachmentContent] Process ends successfully - Bytes: %d", content.length));
+            return content;
+        } catch (Exception e) {
+            throw e;
+        }
+    }
+
     public void deleteAttachment(String uniqueId) throws Exception {
         loggerHelper.logDebug(String.format("[DeleteAttachment] Process starts - Execution list id: %s",uniqueId));
-        HttpHeaders headers = utilities.setClientAuthenticationHttpHeaders(toscaConfiguration.getToscaClientId(), toscaConfiguration.getToscaClientSecret());
-        String url = UriComponentsBuilder
-                .fromHttpUrl(DELETE_ATTACHMENT)
-                .buildAndExpand(toscaConfiguration.getToscaServerGateway(), toscaConfiguration.getToscaServerPort(), toscaConfiguration.getNonAOSWorkspace(), uniqueId)
-                .toUriString();
+        HttpEntity<String> entity = authenticationProvider.getCommanderRequestEntity();
+        String url = buildUrl(DELETE_ATTACHMENT, uniqueId);
         loggerHelper.logDebug(String.format("[DeleteAttachment] URL: %s", url));
         try {
-            restTemplate.exchange(url, HttpMethod.DELETE, new HttpEntity<>(headers), String.class);
+            restTemplate.exchange(url, HttpMethod.DELETE, entity, String.class);
             loggerHelper.logDebug("[DeleteAttachment] Process Process ends successfully");
         } catch (Exception e) {
             throw e;
@@ -369,16 +479,13 @@ public class ToscaRestAPIHandler {
 
     public void addAttachment(String uniqueId, File gitParametersFile) throws Exception {
         loggerHelper.logDebug(String.format("[AddAttachment] Process starts - Execution list id: %s",uniqueId));
-        HttpHeaders headers = utilities.setClientAuthenticationHttpHeaders(toscaConfiguration.getToscaClientId(), toscaConfiguration.getToscaClientSecret());
+        HttpHeaders headers = authenticationProvider.getCommanderHeaders();
         try {
             String filePath = gitParametersFile.getPath();
             Path path = Paths.get(filePath);
             byte[] fileBytes = Files.readAllBytes(path);
             HttpEntity<byte[]> requestEntity = new HttpEntity<>(fileBytes, headers);
-            String url = UriComponentsBuilder
-                .fromHttpUrl(ADD_ATTACHMENT)
-                .buildAndExpand(toscaConfiguration.getToscaServerGateway(), toscaConfiguration.getToscaServerPort(), toscaConfiguration.getNonAOSWorkspace(), uniqueId, gitParametersFile.toPath().getFileName())
-                .toUriString();
+            String url = buildUrl(ADD_ATTACHMENT, uniqueId, gitParametersFile.toPath().getFileName());
             loggerHelper.logDebug(String.format("[AddAttachment] URL: %s", url));
             restTemplate.exchange(url, HttpMethod.PUT, requestEntity, String.class);
             loggerHelper.logDebug("[AddAttachment] Process Process ends successfully");
@@ -387,4 +494,7 @@ public class ToscaRestAPIHandler {
         }
     }
 
+    private String buildUrl(ToscaEndpoint endpoint, Object... variables) {
+        return endpointCatalog.getEndpoints(toscaConfiguration).expand(endpoint, variables);
+    }
 }
@@ -6,11 +6,13 @@ import com.edptoscaqs.toscaservice.execution.ExecutionManager;
 import com.edptoscaqs.toscaservice.execution.FreezeHandler;
 import com.edptoscaqs.toscaservice.execution.ResultsHandler;
 import com.edptoscaqs.toscaservice.logging.LoggerHelper;
+import com.edptoscaqs.toscaservice.logging.RunStatisticsLogger;
 import com.edptoscaqs.toscaservice.utilities.Utilities;
 import net.minidev.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.time.format.DateTimeFormatter;
 import java.time.ZonedDateTime;
 import static com.edptoscaqs.toscaservice.configuration.Constants.*;
@@ -28,6 +30,7 @@ public class ToscaService {
     private final ExecutionManager executionManager;
     private final ResultsHandler resultsHandler;
     private final Utilities utilities;
+    private final RunStatisticsLogger runStatisticsLogger;
 
     @Autowired
     public ToscaService(FreezeHandler freezeHandler,
@@ -36,7 +39,8 @@ public class ToscaService {
                         ToscaConfigParameters toscaConfiguration,
                         ConfigLoader configLoader,
                         Utilities utilities,
-                        LoggerHelper loggerHelper) {
+                        LoggerHelper loggerHelper,
+                        RunStatisticsLogger runStatisticsLogger) {
         this.freezeHandler = freezeHandler;
         this.executionManager = executionManager;
         this.resultsHandler = resultsHandler;
@@ -44,10 +48,12 @@ public class ToscaService {
         this.configLoader = configLoader;
         this.utilities = utilities;
         this.loggerHelper = loggerHelper;
+        this.runStatisticsLogger = runStatisticsLogger;
     }
 
     public boolean executeTestCases(String projectName, String testEventName, Map<String, String> gitReportParameters, Map<String, String> eventParameters,
                                     Map<String, String> executionCharacteristics, boolean releaseExecution, String testType, String outputPath) throws Exception {
+        CompletableFuture<Void> gitParametersAttachment = null;
         try {
             configLoader.loadConfiguration(projectName, testEventName, testType, outputPath, toscaConfiguration);
 
@@ -77,8 +83,14 @@ public class ToscaService {
             logText.append(String.format("%s[ExecuteTestCases] Config file", NEW_LINE));
             logText.append(String.format("%s  - Name: Execution time out      - Value: %s", NEW_LINE, toscaConfiguration.getExecutionWaitTimeOut()));
             logText.append(String.format("%s  - Name: Check status sleep time - Value: %s", NEW_LINE, toscaConfiguration.getStatusSleepTime()));
+            logText.append(String.format("%s  - Name: Status sleep time range - Value: %s-%s", NEW_LINE, toscaConfiguration.getStatusMinSleepTime(), toscaConfiguration.getStatusMaxSleepTime()));
+            logText.append(String.format("%s  - Name: Partial results interval - Value: %s", NEW_LINE, toscaConfiguration.getPartialResultsInterval()));
             logText.append(String.format("%s  - Name: Report creation timeout - Value: %s", NEW_LINE, toscaConfiguration.getReportCreationTimeOut()));
             logText.append(String.format("%s  - Name: PDF Report name         - Value: %s", NEW_LINE, toscaConfiguration.getPdfReportName()));
+            logText.append(String.format("%s  - Name: Freeze concurrency      - Value: %s", NEW_LINE, toscaConfiguration.getFreezeConcurrency()));
+            logText.append(String.format("%s  - Name: Report concurrency      - Value: %s", NEW_LINE, toscaConfiguration.getReportConcurrency()));
+            logText.append(String.format("%s  - Name: Pipeline git parameters - Value: %s", NEW_LINE, toscaConfiguration.isPipelineGitParameters()));
+            logText.append(String.format("%s  - Name: Batch git parameters    - Value: %s", NEW_LINE, toscaConfiguration.isBatchGitParameters()));
             loggerHelper.logInfo(logText.toString());logText.setLength(0);
 
             StringBuilder gitParameters = new StringBuilder();
@@ -113,18 +125,32 @@ public class ToscaService {
             String formattedDate = parsedDate.toLocalDateTime().format(formatter);
             loggerHelper.logInfo(String.format("START TIME: %s", formattedDate));
             loggerHelper.logInfo(String.format("EXECUTION ID: %s", executionId));
+            if (toscaConfiguration.isPipelineGitParameters()) {
+                // The git parameters are known before the run, so they are attached while the execution is polled
+                gitParametersAttachment = resultsHandler.attachGitParametersInBackground();
+            }
             executionManager.getExecutionStatus(executionId, freezeHandler.getTestCaseCounter());
             utilities.createDirectory(toscaConfiguration.getOutputPath(), loggerHelper);
             loggerHelper.logInfo("GETTING EXECUTION XML RESULTS");
             boolean allTestsPassed = resultsHandler.handleExecutionResults(executionId);
             loggerHelper.logInfo("GETTING PDF REPORT");
-            resultsHandler.savePDFReport(executionId);
+            if (gitParametersAttachment != null) {
+                resultsHandler.savePDFReport(executionId, gitParametersAttachment);
+            } else {
+                resultsHandler.savePDFReport(executionId);
+            }
             loggerHelper.logDebug(String.format("[ExecuteTestCases] Process ends successfully - Project Name: %s - Test Event Name: %s", projectName, testEventName));
             loggerHelper.logInfo("FINISHING EXECUTION");
+            runStatisticsLogger.logRunStatistics();
             loggerHelper.closeAndCopyLogFile(toscaConfiguration.getOutputPath());
             return allTestsPassed;
         } catch (Exception e) {
             loggerHelper.logException(e);
+            if (gitParametersAttachment != null) {
+                // A pending attachment is let finish, so the workspace is not left checked out when the process exits
+                gitParametersAttachment.handle((result, throwable) -> null).join();
+            }
+            runStatisticsLogger.logRunStatistics();
             loggerHelper.closeAndCopyLogFile(toscaConfiguration.getOutputPath());
             throw e;
         }
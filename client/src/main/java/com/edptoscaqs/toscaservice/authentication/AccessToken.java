@@ -0,0 +1,22 @@
+package com.edptoscaqs.toscaservice.authentication;
+
+public class AccessToken {
+
+    private final String value;
+    private final long refreshAt;
+    private final long expiresAt;
+
+    public AccessToken(String value, long lifetime, long issuedAt) {
+        this.value = value;
+        this.expiresAt = issuedAt + lifetime;
+        this.refreshAt = expiresAt - Math.min(AccessTokenManager.REFRESH_MARGIN, lifetime / 5);
+    }
+
+    public String getValue() { return value; }
+
+    public long getExpiresAt() { return expiresAt; }
+
+    public boolean shouldRefresh(long now) { return now >= refreshAt; }
+
+    public boolean isExpired(long now) { return now >= expiresAt; }
+}
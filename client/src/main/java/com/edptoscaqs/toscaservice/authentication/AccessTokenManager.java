@@ -0,0 +1,74 @@
+package com.edptoscaqs.toscaservice.authentication;
+
+import com.edptoscaqs.toscaservice.logging.RunStatisticsProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class AccessTokenManager implements RunStatisticsProvider {
+
+    public static final long DEFAULT_TOKEN_LIFETIME = 300000;
+    public static final long REFRESH_MARGIN = 60000;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final AtomicLong tokenRequests = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private volatile AccessToken cachedToken;
+
+    public String getAccessToken(AccessTokenSupplier tokenSupplier) throws Exception {
+        AccessToken token = cachedToken;
+        if (token != null && !token.shouldRefresh(System.currentTimeMillis())) {
+            cacheHits.incrementAndGet();
+            return token.getValue();
+        }
+        if (token != null && !token.isExpired(System.currentTimeMillis())) {
+            // The token is still valid: if another caller is already refreshing it, keep using the current one
+            if (!refreshLock.tryLock()) {
+                cacheHits.incrementAndGet();
+                return token.getValue();
+            }
+        } else {
+            refreshLock.lock();
+        }
+        try {
+            token = cachedToken;
+            if (token != null && !token.shouldRefresh(System.currentTimeMillis())) {
+                cacheHits.incrementAndGet();
+                return token.getValue();
+            }
+            AccessToken newToken = tokenSupplier.requestAccessToken();
+            tokenRequests.incrementAndGet();
+            cachedToken = newToken;
+            return newToken.getValue();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // Several requests can be rejected with the same token; only the first invalidation drops it, so a token that
+    // another caller has refreshed in the meantime is kept
+    public void invalidate(String rejectedToken) {
+        refreshLock.lock();
+        try {
+            AccessToken token = cachedToken;
+            if (token != null && Objects.equals(token.getValue(), rejectedToken)) {
+                cachedToken = null;
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @Override
+    public String getStatisticsName() {
+        return "Access token cache";
+    }
+
+    @Override
+    public String getStatisticsSummary() {
+        return String.format("Token requests: %d - Cache hits: %d", tokenRequests.get(), cacheHits.get());
+    }
+}
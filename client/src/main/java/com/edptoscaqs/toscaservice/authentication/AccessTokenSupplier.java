@@ -0,0 +1,6 @@
+package com.edptoscaqs.toscaservice.authentication;
+
+@FunctionalInterface
+public interface AccessTokenSupplier {
+    AccessToken requestAccessToken() throws Exception;
+}
@@ -0,0 +1,10 @@
+package com.edptoscaqs.toscaservice.authentication;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+
+public interface AuthenticationProvider {
+    HttpHeaders getCommanderHeaders();
+    HttpEntity<String> getCommanderRequestEntity();
+    HttpHeaders getExecutionApiHeaders(String accessToken);
+}
@@ -0,0 +1,82 @@
+package com.edptoscaqs.toscaservice.authentication;
+
+import com.edptoscaqs.toscaservice.configuration.ToscaConfigParameters;
+import com.edptoscaqs.toscaservice.utilities.Utilities;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+@Component
+public class ToscaAuthenticationProvider implements AuthenticationProvider {
+    @Autowired
+    private ToscaConfigParameters toscaConfiguration;
+
+    @Autowired
+    private Utilities utilities;
+
+    private volatile CommanderAuthentication commanderAuthentication;
+    private volatile ExecutionApiAuthentication executionApiAuthentication;
+
+    @Override
+    public HttpHeaders getCommanderHeaders() {
+        return getCommanderAuthentication().headers;
+    }
+
+    @Override
+    public HttpEntity<String> getCommanderRequestEntity() {
+        return getCommanderAuthentication().requestEntity;
+    }
+
+    @Override
+    public HttpHeaders getExecutionApiHeaders(String accessToken) {
+        ExecutionApiAuthentication authentication = executionApiAuthentication;
+        if (authentication == null || !Objects.equals(authentication.accessToken, accessToken)) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set("X-Tricentis", "OK");
+            headers.set("Authorization", "Bearer " + accessToken);
+            authentication = new ExecutionApiAuthentication(accessToken, HttpHeaders.readOnlyHttpHeaders(headers));
+            executionApiAuthentication = authentication;
+        }
+        return authentication.headers;
+    }
+
+    private CommanderAuthentication getCommanderAuthentication() {
+        String clientId = toscaConfiguration.getToscaClientId();
+        String clientSecret = toscaConfiguration.getToscaClientSecret();
+        CommanderAuthentication authentication = commanderAuthentication;
+        // Credentials are loaded once per run, so the headers are only rebuilt when a new configuration is loaded
+        if (authentication == null || !Objects.equals(authentication.clientId, clientId) || !Objects.equals(authentication.clientSecret, clientSecret)) {
+            HttpHeaders headers = HttpHeaders.readOnlyHttpHeaders(utilities.setClientAuthenticationHttpHeaders(clientId, clientSecret));
+            authentication = new CommanderAuthentication(clientId, clientSecret, headers, new HttpEntity<>(headers));
+            commanderAuthentication = authentication;
+        }
+        return authentication;
+    }
+
+    private static class CommanderAuthentication {
+        private final String clientId;
+        private final String clientSecret;
+        private final HttpHeaders headers;
+        private final HttpEntity<String> requestEntity;
+
+        private CommanderAuthentication(String clientId, String clientSecret, HttpHeaders headers, HttpEntity<String> requestEntity) {
+            this.clientId = clientId;
+            this.clientSecret = clientSecret;
+            this.headers = headers;
+            this.requestEntity = requestEntity;
+        }
+    }
+
+    private static class ExecutionApiAuthentication {
+        private final String accessToken;
+        private final HttpHeaders headers;
+
+        private ExecutionApiAuthentication(String accessToken, HttpHeaders headers) {
+            this.accessToken = accessToken;
+            this.headers = headers;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.edptoscaqs.toscaservice.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Objects;
+import java.util.UUID;
+
+// The directory shared by the disk caches of consecutive CLI runs. Each entry is a JSON file named after a hash of
+// its key; the key is stored with the value, so an entry is only returned for the key it was written for
+@Component
+public class CacheDirectory {
+
+    @Value("${TOSCA_CACHE_DIRECTORY:}")
+    protected String directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    public boolean isEnabled() {
+        return directory != null && !directory.isBlank();
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    // Returns null when the cache is disabled or has no readable entry for the key
+    public <T> T readJson(String category, String key, Class<T> type) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Path cacheFile = getCacheFile(category, key);
+        if (!Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+        try {
+            CacheEntry cacheEntry = objectMapper.readValue(cacheFile.toFile(), CacheEntry.class);
+            if (!Objects.equals(cacheEntry.key, key) || cacheEntry.value == null) {
+                return null;
+            }
+            return objectMapper.treeToValue(cacheEntry.value, type);
+        } catch (IOException | RuntimeException e) {
+            // An unreadable entry is treated as missing and replaced by the next write
+            return null;
+        }
+    }
+
+    // The entry is written to a temporary file and moved into place, so concurrent CLI runs only ever see a complete
+    // file. Returns false when nothing was written; the disk cache is an optimisation only and never fails the run
+    public boolean writeJsonAtomically(String category, String key, Object value) {
+        if (!isEnabled()) {
+            return false;
+        }
+        Path cacheFile = getCacheFile(category, key);
+        CacheEntry cacheEntry = new CacheEntry();
+        cacheEntry.key = key;
+        cacheEntry.value = objectMapper.valueToTree(value);
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            Path temporaryFile = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+            try {
+                objectMapper.writeValue(temporaryFile.toFile(), cacheEntry);
+                Files.move(temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public void delete(String category, String key) {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(getCacheFile(category, key));
+        } catch (IOException e) {
+            // A stale entry left behind is overwritten by the next write
+        }
+    }
+
+    protected Path getCacheFile(String category, String key) {
+        return Paths.get(directory, String.format("%s-%s.json", category, UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    public static class CacheEntry {
+        public String key;
+        public JsonNode value;
+    }
+}
@@ -0,0 +1,112 @@
+package com.edptoscaqs.toscaservice.cache;
+
+import com.edptoscaqs.toscaservice.logging.RunStatisticsProvider;
+import com.edptoscaqs.toscaservice.model.ExecutionRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class ExecutionHistoryStore implements RunStatisticsProvider {
+
+    protected static final String CACHE_CATEGORY = "history";
+
+    @Value("${tosca.cache.history.max-runs:20}")
+    protected int maxRuns = 20;
+
+    private final CacheDirectory cacheDirectory;
+    private final Map<String, List<ExecutionRecord>> records = new ConcurrentHashMap<>();
+    private final LongAdder loadedRuns = new LongAdder();
+    private final LongAdder recordedRuns = new LongAdder();
+
+    @Autowired
+    public ExecutionHistoryStore(CacheDirectory cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    public List<ExecutionRecord> getRecords(String workspaceKey, String testEventName) {
+        return records.computeIfAbsent(getKey(workspaceKey, testEventName), key -> {
+            List<ExecutionRecord> storedRecords = readFromDisk(key);
+            loadedRuns.add(storedRecords.size());
+            return Collections.unmodifiableList(storedRecords);
+        });
+    }
+
+    public synchronized void record(String workspaceKey, String testEventName, ExecutionRecord executionRecord) {
+        List<ExecutionRecord> updatedRecords = new ArrayList<>(getRecords(workspaceKey, testEventName));
+        updatedRecords.add(executionRecord);
+        // Only the most recent runs are kept, so the prediction follows changes in the test event
+        if (updatedRecords.size() > maxRuns) {
+            updatedRecords = new ArrayList<>(updatedRecords.subList(updatedRecords.size() - maxRuns, updatedRecords.size()));
+        }
+        String key = getKey(workspaceKey, testEventName);
+        records.put(key, Collections.unmodifiableList(updatedRecords));
+        recordedRuns.increment();
+        writeToDisk(key, updatedRecords);
+    }
+
+    public boolean isDiskCacheEnabled() {
+        return cacheDirectory.isEnabled();
+    }
+
+    @Override
+    public String getStatisticsName() {
+        return "Execution history";
+    }
+
+    @Override
+    public String getStatisticsSummary() {
+        return String.format("Runs loaded: %d - Runs recorded: %d - Disk cache: %s",
+                loadedRuns.sum(), recordedRuns.sum(), isDiskCacheEnabled() ? cacheDirectory.getDirectory() : "disabled");
+    }
+
+    private String getKey(String workspaceKey, String testEventName) {
+        return String.format("%s/%s", workspaceKey, testEventName);
+    }
+
+    private List<ExecutionRecord> readFromDisk(String key) {
+        List<ExecutionRecord> storedRecords = new ArrayList<>();
+        CachedHistory cachedHistory = cacheDirectory.readJson(CACHE_CATEGORY, key, CachedHistory.class);
+        if (cachedHistory != null && cachedHistory.runs != null) {
+            cachedHistory.runs.forEach(run -> storedRecords.add(run.toRecord()));
+        }
+        return storedRecords;
+    }
+
+    private void writeToDisk(String key, List<ExecutionRecord> executionRecords) {
+        CachedHistory cachedHistory = new CachedHistory();
+        executionRecords.forEach(executionRecord -> cachedHistory.runs.add(CachedRun.of(executionRecord)));
+        cacheDirectory.writeJsonAtomically(CACHE_CATEGORY, key, cachedHistory);
+    }
+
+    public static class CachedHistory {
+        public List<CachedRun> runs = new ArrayList<>();
+    }
+
+    public static class CachedRun {
+        public long durationMillis;
+        public int totalTestCases;
+        public long recordedAt;
+        // Pairs of [elapsed millis, completed test cases]
+        public List<long[]> progress = new ArrayList<>();
+
+        static CachedRun of(ExecutionRecord executionRecord) {
+            CachedRun cachedRun = new CachedRun();
+            cachedRun.durationMillis = executionRecord.getDurationMillis();
+            cachedRun.totalTestCases = executionRecord.getTotalTestCases();
+            cachedRun.recordedAt = executionRecord.getRecordedAt();
+            executionRecord.getProgress().forEach(point -> cachedRun.progress.add(new long[]{point.getElapsedMillis(), point.getCompletedTestCases()}));
+            return cachedRun;
+        }
+
+        ExecutionRecord toRecord() {
+            List<ExecutionRecord.ProgressPoint> points = new ArrayList<>();
+            progress.forEach(point -> points.add(new ExecutionRecord.ProgressPoint(point[0], (int) point[1])));
+            return new ExecutionRecord(durationMillis, totalTestCases, recordedAt, points);
+        }
+    }
+}
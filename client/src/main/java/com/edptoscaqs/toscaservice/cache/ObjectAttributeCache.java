@@ -0,0 +1,78 @@
+package com.edptoscaqs.toscaservice.cache;
+
+import com.edptoscaqs.toscaservice.logging.RunStatisticsProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+@Component
+public class ObjectAttributeCache implements RunStatisticsProvider {
+
+    private final Map<String, Map<String, String>> attributesByUniqueId = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public Map<String, String> getAttributes(String uniqueId, Function<String, Map<String, String>> loader) {
+        Map<String, String> attributes = attributesByUniqueId.get(uniqueId);
+        if (attributes != null) {
+            hits.increment();
+            return attributes;
+        }
+        misses.increment();
+        long loadGeneration = generation.get();
+        attributes = loader.apply(uniqueId);
+        // A load that overlapped an invalidation may carry the state from before the write, so it is returned but not kept
+        if (generation.get() == loadGeneration) {
+            attributesByUniqueId.put(uniqueId, attributes);
+        }
+        return attributes;
+    }
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    // Stores attributes fetched in bulk, unless an invalidation happened since the fetch started at loadGeneration
+    public void putIfCurrent(String uniqueId, Map<String, String> attributes, long loadGeneration) {
+        if (generation.get() == loadGeneration) {
+            attributesByUniqueId.put(uniqueId, attributes);
+        }
+    }
+
+    public void invalidate(String uniqueId) {
+        generation.incrementAndGet();
+        attributesByUniqueId.remove(uniqueId);
+        invalidations.increment();
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        attributesByUniqueId.clear();
+        invalidations.increment();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public String getStatisticsName() {
+        return "Object attribute cache";
+    }
+
+    @Override
+    public String getStatisticsSummary() {
+        return String.format("Hits: %d - Misses: %d - Invalidations: %d - Cached objects: %d",
+                hits.sum(), misses.sum(), invalidations.sum(), attributesByUniqueId.size());
+    }
+}
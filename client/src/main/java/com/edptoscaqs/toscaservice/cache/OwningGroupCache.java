@@ -0,0 +1,107 @@
+package com.edptoscaqs.toscaservice.cache;
+
+import com.edptoscaqs.toscaservice.logging.RunStatisticsProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+@Component
+public class OwningGroupCache implements RunStatisticsProvider {
+
+    protected static final String CACHE_CATEGORY = "owning-group";
+
+    @Value("${tosca.cache.owning-group.ttl:86400000}")
+    protected long timeToLive;
+
+    private final CacheDirectory cacheDirectory;
+    private final Map<String, String> owningGroupIds = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Autowired
+    public OwningGroupCache(CacheDirectory cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    public String getOwningGroupId(String workspaceKey, String owningGroupName, Function<String, String> resolver) {
+        String key = String.format("%s/%s", workspaceKey, owningGroupName);
+        String owningGroupId = owningGroupIds.get(key);
+        if (owningGroupId != null) {
+            hits.increment();
+            return owningGroupId;
+        }
+        // The parallel freeze asks for the same key from several threads; they wait for a single lookup and disk write
+        return owningGroupIds.computeIfAbsent(key, cacheKey -> resolve(cacheKey, owningGroupName, resolver));
+    }
+
+    private String resolve(String key, String owningGroupName, Function<String, String> resolver) {
+        String owningGroupId = readFromDisk(key);
+        if (owningGroupId != null) {
+            diskHits.increment();
+            return owningGroupId;
+        }
+        misses.increment();
+        owningGroupId = resolver.apply(owningGroupName);
+        writeToDisk(key, owningGroupId);
+        return owningGroupId;
+    }
+
+    public void invalidate(String workspaceKey, String owningGroupName) {
+        String key = String.format("%s/%s", workspaceKey, owningGroupName);
+        owningGroupIds.remove(key);
+        if (isDiskCacheEnabled()) {
+            cacheDirectory.delete(CACHE_CATEGORY, key);
+        }
+    }
+
+    @Override
+    public String getStatisticsName() {
+        return "Owning group cache";
+    }
+
+    @Override
+    public String getStatisticsSummary() {
+        return String.format("Hits: %d - Disk hits: %d - Misses: %d - Disk cache: %s",
+                hits.sum(), diskHits.sum(), misses.sum(), isDiskCacheEnabled() ? cacheDirectory.getDirectory() : "disabled");
+    }
+
+    private boolean isDiskCacheEnabled() {
+        return cacheDirectory.isEnabled() && timeToLive > 0;
+    }
+
+    private String readFromDisk(String key) {
+        if (!isDiskCacheEnabled()) {
+            return null;
+        }
+        CachedOwningGroup cachedOwningGroup = cacheDirectory.readJson(CACHE_CATEGORY, key, CachedOwningGroup.class);
+        if (cachedOwningGroup == null || System.currentTimeMillis() - cachedOwningGroup.writtenAt >= timeToLive) {
+            return null;
+        }
+        return cachedOwningGroup.uniqueId;
+    }
+
+    private void writeToDisk(String key, String owningGroupId) {
+        if (!isDiskCacheEnabled() || owningGroupId == null) {
+            return;
+        }
+        cacheDirectory.writeJsonAtomically(CACHE_CATEGORY, key, CachedOwningGroup.of(owningGroupId, System.currentTimeMillis()));
+    }
+
+    public static class CachedOwningGroup {
+        public String uniqueId;
+        public long writtenAt;
+
+        static CachedOwningGroup of(String uniqueId, long writtenAt) {
+            CachedOwningGroup cachedOwningGroup = new CachedOwningGroup();
+            cachedOwningGroup.uniqueId = uniqueId;
+            cachedOwningGroup.writtenAt = writtenAt;
+            return cachedOwningGroup;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.edptoscaqs.toscaservice.cache;
+
+import com.edptoscaqs.toscaservice.logging.RunStatisticsProvider;
+import com.edptoscaqs.toscaservice.model.ExecutionListTopology;
+import com.edptoscaqs.toscaservice.model.ObjectAttributes;
+import com.edptoscaqs.toscaservice.model.TestEventTopology;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.edptoscaqs.toscaservice.configuration.Constants.*;
+
+@Component
+public class TopologyDiskCache implements RunStatisticsProvider {
+
+    protected static final String CACHE_CATEGORY = "topology";
+    // Only stable attributes are persisted; volatile ones such as the check out state are always read from the server
+    private static final List<String> PERSISTED_ATTRIBUTES = List.of("Name", PROPERTY_OWNING_GROUP_NAME, PROPERTY_REVISION);
+
+    private final CacheDirectory cacheDirectory;
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+
+    @Autowired
+    public TopologyDiskCache(CacheDirectory cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    public TestEventTopology read(String workspaceKey, String testEventName) {
+        if (!isDiskCacheEnabled()) {
+            return null;
+        }
+        CachedTopology cachedTopology = cacheDirectory.readJson(CACHE_CATEGORY, getKey(workspaceKey, testEventName), CachedTopology.class);
+        if (cachedTopology == null) {
+            misses.increment();
+            return null;
+        }
+        reads.increment();
+        return cachedTopology.toTopology();
+    }
+
+    public void write(String workspaceKey, TestEventTopology topology) {
+        if (cacheDirectory.writeJsonAtomically(CACHE_CATEGORY, getKey(workspaceKey, topology.getTestEventName()), CachedTopology.of(topology))) {
+            writes.increment();
+        }
+    }
+
+    public boolean isDiskCacheEnabled() {
+        return cacheDirectory.isEnabled();
+    }
+
+    @Override
+    public String getStatisticsName() {
+        return "Topology disk cache";
+    }
+
+    @Override
+    public String getStatisticsSummary() {
+        return String.format("Reads: %d - Misses: %d - Writes: %d - Disk cache: %s",
+                reads.sum(), misses.sum(), writes.sum(), isDiskCacheEnabled() ? cacheDirectory.getDirectory() : "disabled");
+    }
+
+    private String getKey(String workspaceKey, String testEventName) {
+        return String.format("%s/%s", workspaceKey, testEventName);
+    }
+
+    private static Map<String, String> persistedAttributes(ObjectAttributes attributes) {
+        Map<String, String> values = new HashMap<>();
+        for (String attributeName : PERSISTED_ATTRIBUTES) {
+            if (attributes.get(attributeName) != null) {
+                values.put(attributeName, attributes.get(attributeName));
+            }
+        }
+        return values;
+    }
+
+    public static class CachedTopology {
+        public String testEventName;
+        public String testEventId;
+        public Map<String, String> testEventAttributes = new HashMap<>();
+        public long loadedAt;
+        public List<CachedExecutionList> executionLists = new ArrayList<>();
+
+        static CachedTopology of(TestEventTopology topology) {
+            CachedTopology cachedTopology = new CachedTopology();
+            cachedTopology.testEventName = topology.getTestEventName();
+            cachedTopology.testEventId = topology.getTestEventId();
+            cachedTopology.testEventAttributes = persistedAttributes(topology.getTestEventAttributes());
+            cachedTopology.loadedAt = topology.getLoadedAt();
+            topology.getExecutionLists().forEach(executionList -> cachedTopology.executionLists.add(CachedExecutionList.of(executionList)));
+            return cachedTopology;
+        }
+
+        TestEventTopology toTopology() {
+            List<ExecutionListTopology> topologyExecutionLists = new ArrayList<>();
+            executionLists.forEach(executionList -> topologyExecutionLists.add(executionList.toTopology()));
+            return new TestEventTopology(testEventName, ObjectAttributes.of(testEventId, testEventAttributes), topologyExecutionLists, loadedAt);
+        }
+    }
+
+    public static class CachedExecutionList {
+        public String uniqueId;
+        public Map<String, String> attributes = new HashMap<>();
+        public LinkedHashMap<String, Map<String, String>> testCases = new LinkedHashMap<>();
+
+        static CachedExecutionList of(ExecutionListTopology executionList) {
+            CachedExecutionList cachedExecutionList = new CachedExecutionList();
+            cachedExecutionList.uniqueId = executionList.getUniqueId();
+            cachedExecutionList.attributes = persistedAttributes(executionList.getAttributes());
+            executionList.getTestCases().forEach((testCaseId, testCase) -> cachedExecutionList.testCases.put(testCaseId, persistedAttributes(testCase)));
+            return cachedExecutionList;
+        }
+
+        ExecutionListTopology toTopology() {
+            Map<String, ObjectAttributes> topologyTestCases = new LinkedHashMap<>();
+            testCases.forEach((testCaseId, testCase) -> topologyTestCases.put(testCaseId, ObjectAttributes.of(testCaseId, testCase)));
+            return new ExecutionListTopology(ObjectAttributes.of(uniqueId, attributes), topologyTestCases);
+        }
+    }
+}
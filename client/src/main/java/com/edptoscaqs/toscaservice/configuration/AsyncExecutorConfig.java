@@ -0,0 +1,33 @@
+package com.edptoscaqs.toscaservice.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class AsyncExecutorConfig {
+
+    @Value("${tosca.io.pool.size:8}")
+    private int ioPoolSize;
+
+    @Value("${tosca.io.pool.queue-capacity:256}")
+    private int ioQueueCapacity;
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor toscaIoExecutor() {
+        AtomicInteger threadCounter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, String.format("tosca-io-%d", threadCounter.incrementAndGet()));
+            thread.setDaemon(true);
+            return thread;
+        };
+        // The queue is bounded and overflowing tasks run on the caller, so fan-out phases are throttled instead of rejected
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(ioPoolSize, ioPoolSize, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(ioQueueCapacity), threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
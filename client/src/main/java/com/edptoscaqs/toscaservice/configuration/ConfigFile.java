@@ -8,6 +8,14 @@ public class ConfigFile {
     private long statusSleepTime;
     private long reportCreationTimeOut;
     private String pdfReportName;
+    private int freezeConcurrency;
+    private long statusMinSleepTime;
+    private long statusMaxSleepTime;
+    private long partialResultsInterval;
+    private long parallelResultsThreshold;
+    private int reportConcurrency;
+    private boolean pipelineGitParameters;
+    private boolean batchGitParameters;
 
     public long getExecutionWaitTimeOut() {
         return executionWaitTimeOut;
@@ -21,5 +29,29 @@ public class ConfigFile {
     public String getPdfReportName() {
         return pdfReportName;
     }
+    public int getFreezeConcurrency() {
+        return freezeConcurrency;
+    }
+    public long getStatusMinSleepTime() {
+        return statusMinSleepTime;
+    }
+    public long getStatusMaxSleepTime() {
+        return statusMaxSleepTime;
+    }
+    public long getPartialResultsInterval() {
+        return partialResultsInterval;
+    }
+    public long getParallelResultsThreshold() {
+        return parallelResultsThreshold;
+    }
+    public int getReportConcurrency() {
+        return reportConcurrency;
+    }
+    public boolean isPipelineGitParameters() {
+        return pipelineGitParameters;
+    }
+    public boolean isBatchGitParameters() {
+        return batchGitParameters;
+    }
 
 }
@@ -0,0 +1,30 @@
+package com.edptoscaqs.toscaservice.configuration;
+
+import com.edptoscaqs.toscaservice.logging.RunStatisticsProvider;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ConnectionPoolStatistics implements RunStatisticsProvider {
+
+    private final PoolingHttpClientConnectionManager toscaConnectionManager;
+
+    @Autowired
+    public ConnectionPoolStatistics(PoolingHttpClientConnectionManager toscaConnectionManager) {
+        this.toscaConnectionManager = toscaConnectionManager;
+    }
+
+    @Override
+    public String getStatisticsName() {
+        return "HTTP connection pool";
+    }
+
+    @Override
+    public String getStatisticsSummary() {
+        PoolStats totalStats = toscaConnectionManager.getTotalStats();
+        return String.format("Leased: %d - Available: %d - Pending: %d - Max: %d - Routes: %d",
+                totalStats.getLeased(), totalStats.getAvailable(), totalStats.getPending(), totalStats.getMax(), toscaConnectionManager.getRoutes().size());
+    }
+}
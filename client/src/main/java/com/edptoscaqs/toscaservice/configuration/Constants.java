@@ -8,6 +8,8 @@ public final class Constants {
     public static final String PROPERTY_REVISION = "Revision";
     public static final String PROPERTY_CHECKOUT_STATE = "CheckOutState";
     public static final String UNIQUE_ID = "UniqueId";
+    public static final String ATTRIBUTES = "Attributes";
+    public static final int SEARCH_PAGE_SIZE = 50;
 
     private Constants() {
 
@@ -0,0 +1,30 @@
+package com.edptoscaqs.toscaservice.configuration;
+
+import com.edptoscaqs.toscaservice.logging.RunStatisticsProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Component
+public class IoExecutorStatistics implements RunStatisticsProvider {
+
+    private final ThreadPoolExecutor toscaIoExecutor;
+
+    @Autowired
+    public IoExecutorStatistics(ThreadPoolExecutor toscaIoExecutor) {
+        this.toscaIoExecutor = toscaIoExecutor;
+    }
+
+    @Override
+    public String getStatisticsName() {
+        return "I/O executor";
+    }
+
+    @Override
+    public String getStatisticsSummary() {
+        return String.format("Completed tasks: %d - Active: %d - Queued: %d - Largest pool: %d - Max: %d",
+                toscaIoExecutor.getCompletedTaskCount(), toscaIoExecutor.getActiveCount(), toscaIoExecutor.getQueue().size(),
+                toscaIoExecutor.getLargestPoolSize(), toscaIoExecutor.getMaximumPoolSize());
+    }
+}
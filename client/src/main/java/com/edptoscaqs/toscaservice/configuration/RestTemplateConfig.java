@@ -1,19 +1,42 @@
 package com.edptoscaqs.toscaservice.configuration;
 
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 import javax.net.ssl.*;
 import java.security.cert.X509Certificate;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class RestTemplateConfig {
 
+    @Value("${tosca.http.pool.max-total:50}")
+    private int maxTotalConnections;
+
+    @Value("${tosca.http.pool.max-per-route:20}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${tosca.http.pool.keep-alive:30000}")
+    private long keepAliveTime;
+
+    @Value("${tosca.http.pool.idle-eviction:60000}")
+    private long idleEvictionTime;
+
     @Bean
-    public RestTemplate restTemplate() throws Exception {
+    public SSLContext toscaSslContext() throws Exception {
         // Create a trust manager that does not validate certificate chains
         TrustManager[] trustAllCerts = new TrustManager[]{
                 new X509TrustManager() {
@@ -33,9 +56,41 @@ public class RestTemplateConfig {
 
         // Set the default SSL context to the one we just created
         HttpsURLConnection.setDefaultSSLSocketFactory(sslContext.getSocketFactory());
+        return sslContext;
+    }
+
+    @Bean
+    public PoolingHttpClientConnectionManager toscaConnectionManager(SSLContext toscaSslContext) {
+        // A single SSL context keeps its client session cache, so new pooled connections resume TLS sessions
+        Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", new SSLConnectionSocketFactory(toscaSslContext))
+                .build();
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+        connectionManager.setMaxTotal(maxTotalConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setValidateAfterInactivity(2000);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient toscaHttpClient(PoolingHttpClientConnectionManager toscaConnectionManager) {
+        ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAliveTime) : keepAliveTime;
+        };
+        // Connection state is disabled so that pooled TLS connections are reused regardless of the SSL principal
+        return HttpClients.custom()
+                .setConnectionManager(toscaConnectionManager)
+                .setKeepAliveStrategy(keepAliveStrategy)
+                .disableConnectionState()
+                .evictExpiredConnections()
+                .evictIdleConnections(idleEvictionTime, TimeUnit.MILLISECONDS)
+                .build();
+    }
 
-        // Create a request factory that uses the custom SSL context
-        ClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-        return new RestTemplate(requestFactory);
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient toscaHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(toscaHttpClient));
     }
-}
\ No newline at end of file
+}
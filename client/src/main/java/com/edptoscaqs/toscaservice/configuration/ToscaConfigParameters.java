@@ -51,12 +51,22 @@ public class ToscaConfigParameters {
     public void setNonAOSWorkspace(String nonAOSWorkspace) { this.nonAOSWorkspace = nonAOSWorkspace; }
 
     public String getTestEventName() { return testEventName; }
+    public String getWorkspaceKey() { return String.format("%s:%d/%s", toscaServerGateway, toscaServerPort, nonAOSWorkspace); }
     public void setTestEventName(String testEventName) { this.testEventName = testEventName; }
 
     public long getExecutionWaitTimeOut() { return getConfig().getExecutionWaitTimeOut(); }
     public long getStatusSleepTime() { return getConfig().getStatusSleepTime(); }
     public long getReportCreationTimeOut() { return getConfig().getReportCreationTimeOut(); }
     public String getPdfReportName() { return getConfig().getPdfReportName(); }
+    public int getFreezeConcurrency() { return getConfig().getFreezeConcurrency(); }
+    // Without explicit bounds the status is polled at the fixed statusSleepTime
+    public long getStatusMinSleepTime() { return getConfig().getStatusMinSleepTime() > 0 ? getConfig().getStatusMinSleepTime() : getStatusSleepTime(); }
+    public long getStatusMaxSleepTime() { return Math.max(getConfig().getStatusMaxSleepTime() > 0 ? getConfig().getStatusMaxSleepTime() : getStatusSleepTime(), getStatusMinSleepTime()); }
+    public long getPartialResultsInterval() { return getConfig().getPartialResultsInterval(); }
+    public long getParallelResultsThreshold() { return getConfig().getParallelResultsThreshold(); }
+    public int getReportConcurrency() { return getConfig().getReportConcurrency(); }
+    public boolean isPipelineGitParameters() { return getConfig().isPipelineGitParameters(); }
+    public boolean isBatchGitParameters() { return getConfig().isBatchGitParameters(); }
 
     public void setAll(ConfigFile all) { this.all = all; }
     public void setAcceptance(ConfigFile acceptance) { this.acceptance = acceptance; }
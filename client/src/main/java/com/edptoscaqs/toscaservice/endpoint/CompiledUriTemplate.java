@@ -0,0 +1,68 @@
+package com.edptoscaqs.toscaservice.endpoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public final class CompiledUriTemplate {
+
+    private final String[] literals;
+    private final String[] variableNames;
+    private final int literalLength;
+
+    private CompiledUriTemplate(String[] literals, String[] variableNames) {
+        this.literals = literals;
+        this.variableNames = variableNames;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static CompiledUriTemplate compile(String template, Map<String, ?> boundVariables) {
+        List<String> literals = new ArrayList<>();
+        List<String> variableNames = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int position = 0;
+        while (position < template.length()) {
+            int start = template.indexOf('{', position);
+            int end = start < 0 ? -1 : template.indexOf('}', start);
+            if (start < 0 || end < 0) {
+                literal.append(template, position, template.length());
+                break;
+            }
+            literal.append(template, position, start);
+            String variableName = template.substring(start + 1, end);
+            if (boundVariables.containsKey(variableName)) {
+                literal.append(boundVariables.get(variableName));
+            } else {
+                literals.add(literal.toString());
+                variableNames.add(variableName);
+                literal.setLength(0);
+            }
+            position = end + 1;
+        }
+        literals.add(literal.toString());
+        return new CompiledUriTemplate(literals.toArray(new String[0]), variableNames.toArray(new String[0]));
+    }
+
+    public String expand(Object... values) {
+        if (values.length != variableNames.length) {
+            throw new IllegalArgumentException(String.format("[ExpandUri] Error - Expected %d variables %s but got %d", variableNames.length, Arrays.toString(variableNames), values.length));
+        }
+        StringBuilder uri = new StringBuilder(literalLength + 32 * values.length);
+        uri.append(literals[0]);
+        for (int i = 0; i < values.length; i++) {
+            uri.append(values[i] == null ? "" : values[i]);
+            uri.append(literals[i + 1]);
+        }
+        return uri.toString();
+    }
+
+    public List<String> getVariableNames() {
+        return Collections.unmodifiableList(Arrays.asList(variableNames));
+    }
+}
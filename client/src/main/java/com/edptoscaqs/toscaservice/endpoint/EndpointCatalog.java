@@ -0,0 +1,23 @@
+package com.edptoscaqs.toscaservice.endpoint;
+
+import com.edptoscaqs.toscaservice.configuration.ToscaConfigParameters;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EndpointCatalog {
+
+    private volatile WorkspaceEndpoints workspaceEndpoints;
+
+    public WorkspaceEndpoints getEndpoints(ToscaConfigParameters toscaConfiguration) {
+        String gateway = toscaConfiguration.getToscaServerGateway();
+        int port = toscaConfiguration.getToscaServerPort();
+        String workspace = toscaConfiguration.getNonAOSWorkspace();
+        WorkspaceEndpoints endpoints = workspaceEndpoints;
+        // The templates are compiled once per run and only recompiled when another server or workspace is configured
+        if (endpoints == null || !endpoints.isBoundTo(gateway, port, workspace)) {
+            endpoints = new WorkspaceEndpoints(gateway, port, workspace);
+            workspaceEndpoints = endpoints;
+        }
+        return endpoints;
+    }
+}
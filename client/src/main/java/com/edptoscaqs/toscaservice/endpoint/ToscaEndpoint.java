@@ -0,0 +1,38 @@
+package com.edptoscaqs.toscaservice.endpoint;
+
+public enum ToscaEndpoint {
+    CHECK_OUT_URL("https://{gateway}:{port}/rest/toscacommander/{workspace}/object/{objectId}/task/CheckOut"),
+    CHECK_OUT_TREE_URL("https://{gateway}:{port}/rest/toscacommander/{workspace}/object/{objectId}/task/CheckOutTree"),
+    CHANGE_OWNING_GROUP_URL("https://{gateway}:{port}/rest/toscacommander/{workspace}/object/{groupId}/task/AssignOwner?objToDrop={objectId}"),
+    CHECK_IN_URL("https://{gateway}:{port}/rest/toscacommander/{workspace}/task/CheckInAll?checkInComment=freeze changes"),
+    UPDATE_ALL_URL("https://{gateway}:{port}/rest/toscacommander/{workspace}/task/UpdateAll"),
+    EXECUTION_LISTS_URL("https://{gateway}:{port}/rest/toscacommander/{workspace}/object/project/task/Search?tqlString==>SUBPARTS:TestEvent[(Name==\"{testEvent}\")]->UsedOwnedItems:ExecutionList"),
+    GET_OBJECT_URL("https://{gateway}:{port}/rest/toscacommander/{workspace}/object/{uniqueId}"),
+    TEST_EVENTS_URL("https://{gateway}:{port}/rest/toscacommander/{workspace}/object/project/task/Search?tqlString==>SUBPARTS:TestEvent[(Name==\"{testEvent}\")]"),
+    PDF_REPORT_URL("https://{gateway}:{port}/rest/toscacommander/{workspace}/resource?UniqueId={objectId}&reportname={reportName}&source=report&filename={filename}"),
+    TEST_CASES_IN_EXECUTION_LIST_URL("https://{gateway}:{port}/rest/toscacommander/{workspace}/object/project/task/Search?tqlString==>SUBPARTS:ExecutionList[(UniqueId==\"{executionListId}\")]->UsedOwnedItems:TestCase"),
+    OBJECTS_BY_UNIQUE_ID_URL("https://{gateway}:{port}/rest/toscacommander/{workspace}/object/project/task/Search?tqlString==>SUBPARTS[{uniqueIdCondition}]"),
+    REVERT_ALL_URL("https://{gateway}:{port}/rest/toscacommander/{workspace}/task/RevertAll"),
+    OWNING_GROUP_URL("https://{gateway}:{port}/rest/toscacommander/{workspace}/object/project/task/Search?tqlString==>SUBPARTS:TCUserGroup[(Name==\"{owningGroupName}\")]"),
+    GET_OWNED_FILE("https://{gateway}:{port}/rest/toscacommander/{workspace}/object/{executionlist}/task/Search?tqlString==>SUBPARTS:OwnedFile"),
+    GET_ATTACHMENT("https://{gateway}:{port}/rest/toscacommander/{workspace}/resource?source=object&UniqueId={file}"),
+    ADD_ATTACHMENT("https://{gateway}:{port}/rest/toscacommander/{workspace}/object/{executionlist}?name={name}"),
+    DELETE_ATTACHMENT("https://{gateway}:{port}/rest/toscacommander/{workspace}/object/{objectId}"),
+    EXECUTION_ENQUEUE_URL("https://{gateway}:{port}/automationobjectservice/api/Execution/Enqueue"),
+    STATUS_URL("https://{gateway}:{port}/automationobjectservice/api/Execution/{executionid}/Status"),
+    RESULTS_URL("https://{gateway}:{port}/automationobjectservice/api/Execution/{executionid}/Results"),
+    RESULTS_SUMMARY_URL("https://{gateway}:{port}/automationobjectservice/api/Execution/{executionid}/Results/Summary"),
+    PARTIAL_RESULTS_URL("https://{gateway}:{port}/automationobjectservice/api/Execution/{executionid}/Results?partial=true"),
+    CANCEL_EXECUTION_URL("https://{gateway}:{port}/automationobjectservice/api/Execution/{executionid}/Cancel"),
+    TOKEN_URL("https://{gateway}:{port}/tua/connect/token");
+
+    private final String template;
+
+    ToscaEndpoint(String template) {
+        this.template = template;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+}
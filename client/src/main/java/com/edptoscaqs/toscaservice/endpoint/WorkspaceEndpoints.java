@@ -0,0 +1,33 @@
+package com.edptoscaqs.toscaservice.endpoint;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+public final class WorkspaceEndpoints {
+
+    private final String gateway;
+    private final int port;
+    private final String workspace;
+    private final Map<ToscaEndpoint, CompiledUriTemplate> templates = new EnumMap<>(ToscaEndpoint.class);
+
+    public WorkspaceEndpoints(String gateway, int port, String workspace) {
+        this.gateway = gateway;
+        this.port = port;
+        this.workspace = workspace;
+        Map<String, Object> boundVariables = workspace == null
+                ? Map.of("gateway", String.valueOf(gateway), "port", port)
+                : Map.of("gateway", String.valueOf(gateway), "port", port, "workspace", workspace);
+        for (ToscaEndpoint endpoint : ToscaEndpoint.values()) {
+            templates.put(endpoint, CompiledUriTemplate.compile(endpoint.getTemplate(), boundVariables));
+        }
+    }
+
+    public String expand(ToscaEndpoint endpoint, Object... variables) {
+        return templates.get(endpoint).expand(variables);
+    }
+
+    public boolean isBoundTo(String gateway, int port, String workspace) {
+        return this.port == port && Objects.equals(this.gateway, gateway) && Objects.equals(this.workspace, workspace);
+    }
+}
@@ -4,6 +4,8 @@ import com.edptoscaqs.toscaservice.ToscaExecutionAPIHandler;
 import com.edptoscaqs.toscaservice.configuration.ToscaConfigParameters;
 import com.edptoscaqs.toscaservice.enums.ExecutionStatusEnum;
 import com.edptoscaqs.toscaservice.logging.LoggerHelper;
+import com.edptoscaqs.toscaservice.polling.PollingSchedule;
+import com.edptoscaqs.toscaservice.polling.PollingStrategy;
 import com.edptoscaqs.toscaservice.utilities.Utilities;
 import net.minidev.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,11 +25,16 @@ public class ExecutionManager {
 
     private final ToscaExecutionAPIHandler toscaExecutionAPIHandler;
     private final Utilities utilities;
+    private final PollingStrategy pollingStrategy;
+    private final PartialResultsFetcher partialResultsFetcher;
 
     @Autowired
     public ExecutionManager(ToscaExecutionAPIHandler toscaExecutionAPIHandler,
-                            Utilities utilities, ToscaConfigParameters toscaConfiguration, LoggerHelper loggerHelper) {
+                            Utilities utilities, ToscaConfigParameters toscaConfiguration, LoggerHelper loggerHelper,
+                            PollingStrategy pollingStrategy, PartialResultsFetcher partialResultsFetcher) {
         this.toscaExecutionAPIHandler = toscaExecutionAPIHandler;
+        this.pollingStrategy = pollingStrategy;
+        this.partialResultsFetcher = partialResultsFetcher;
         this.toscaConfiguration = toscaConfiguration;
         this.utilities = utilities;
         this.loggerHelper = loggerHelper;
@@ -53,6 +60,7 @@ public class ExecutionManager {
         long startTime = System.currentTimeMillis();
         long endTime = startTime + toscaConfiguration.getExecutionWaitTimeOut() * 60000L;
         boolean continueCheckingStatus = true;
+        PollingSchedule pollingSchedule = pollingStrategy.start(toscaConfiguration.getStatusMinSleepTime(), toscaConfiguration.getStatusMaxSleepTime(), totalTestCases);
         try {
             while (continueCheckingStatus) {
                 ExecutionStatusEnum executionStatus = ExecutionStatusEnum.get(toscaExecutionAPIHandler.getEventExecutionStatus(executionId));
@@ -63,20 +71,40 @@ public class ExecutionManager {
                     throw new TimeoutException(String.format("[GetExecutionStatus] Process ends with an error: Timeout exceeded - Execution Id: %s - Timeout: %s", executionId, toscaConfiguration.getExecutionWaitTimeOut()));
                 }
                 statusLog.append(String.format("%sElapsed time [min]: %s", NEW_LINE, (System.currentTimeMillis() - startTime) / 1000 / 60));
-                appendPartialResults(executionId, totalTestCases, statusLog);
+                int completedTestCases = appendPartialResults(executionId, totalTestCases, statusLog);
+                long delay = 0;
+                if (continueCheckingStatus) {
+                    // A long delay never sleeps past the timeout, which is checked right after the next poll
+                    delay = Math.min(pollingSchedule.nextDelay(executionStatus, completedTestCases), Math.max(endTime - System.currentTimeMillis(), 0));
+                    appendEstimatedTimeRemaining(pollingSchedule, statusLog);
+                } else {
+                    pollingSchedule.finish(completedTestCases);
+                }
                 loggerHelper.logInfo(statusLog.toString());
                 statusLog.setLength(0);
-                utilities.sleepWithInterruptHandling(toscaConfiguration.getStatusSleepTime(), loggerHelper);
+                if (continueCheckingStatus) {
+                    loggerHelper.logDebug(String.format("[GetExecutionStatus] Next status check in %d ms", delay));
+                    utilities.sleepWithInterruptHandling(delay, loggerHelper);
+                }
             }
         } catch (Exception e) {
             throw e;
         }
     }
 
-    protected void appendPartialResults(String executionId, int totalTestCases, StringBuilder statusLog) throws Exception {
-        String xmlString = toscaExecutionAPIHandler.getPartialExecutionResults(executionId);
-        if (xmlString != null && !xmlString.isEmpty()) {
-            Map<String, Integer> partialResults = utilities.extractPartialTestResults(xmlString);
+    private void appendEstimatedTimeRemaining(PollingSchedule pollingSchedule, StringBuilder statusLog) {
+        long estimatedRemainingTime = pollingSchedule.getEstimatedRemainingTime();
+        if (estimatedRemainingTime >= 0) {
+            statusLog.append(String.format("%sEstimated time remaining [min]: %d", NEW_LINE, (estimatedRemainingTime + 59999) / 60000));
+        }
+    }
+
+    // Returns the number of test cases with results, or -1 when there are no partial results yet
+    protected int appendPartialResults(String executionId, int totalTestCases, StringBuilder statusLog) throws Exception {
+        Map<String, Integer> partialResults = partialResultsFetcher.getPartialResults(executionId);
+        int completedTestCases = -1;
+        if (!partialResults.isEmpty()) {
+            completedTestCases = partialResults.getOrDefault("Total Test Cases", -1);
             for (Map.Entry<String, Integer> entry : partialResults.entrySet().stream()
                     .sorted(Map.Entry.<String, Integer>comparingByKey().reversed())
                     .toList()) {
@@ -89,6 +117,7 @@ public class ExecutionManager {
         } else {
             statusLog.append(String.format("%sProgress: %s", NEW_LINE, "No data"));
         }
+        return completedTestCases;
     }
 
 }
@@ -3,14 +3,21 @@ package com.edptoscaqs.toscaservice.execution;
 import com.edptoscaqs.toscaservice.ToscaRestAPIHandler;
 import com.edptoscaqs.toscaservice.configuration.ToscaConfigParameters;
 import com.edptoscaqs.toscaservice.logging.LoggerHelper;
+import com.edptoscaqs.toscaservice.model.ExecutionListTopology;
+import com.edptoscaqs.toscaservice.model.TestEventTopology;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 import static com.edptoscaqs.toscaservice.configuration.Constants.*;
+import static com.edptoscaqs.toscaservice.utilities.AsyncTasks.runAsync;
+import static com.edptoscaqs.toscaservice.utilities.AsyncTasks.unwrap;
 
 @Service
 public class FreezeHandler {
@@ -21,17 +28,24 @@ public class FreezeHandler {
     private LoggerHelper loggerHelper;
 
     private final ToscaRestAPIHandler toscaRestAPIHandler;
+    private final TestEventTopologyProvider topologyProvider;
+    private final Executor toscaIoExecutor;
 
     private Map<String, String> executionListsOwningGroupsBeforeFreeze;
     private Map<String, String> testCasesOwningGroupsBeforeFreeze;
+    private TestEventTopology topology;
     private boolean isTestEventFrozenAlready;
     private int testCaseCounter;
 
     @Autowired
     public FreezeHandler(ToscaRestAPIHandler toscaRestAPIHandler,
                          ToscaConfigParameters toscaConfiguration,
-                         LoggerHelper loggerHelper) {
+                         LoggerHelper loggerHelper,
+                         TestEventTopologyProvider topologyProvider,
+                         @Qualifier("toscaIoExecutor") Executor toscaIoExecutor) {
         this.toscaRestAPIHandler = toscaRestAPIHandler;
+        this.topologyProvider = topologyProvider;
+        this.toscaIoExecutor = toscaIoExecutor;
         this.toscaConfiguration = toscaConfiguration;
         this.loggerHelper = loggerHelper;
     }
@@ -39,35 +53,44 @@ public class FreezeHandler {
     public void freezeTestEvent(boolean releaseExecution) throws Exception {
         loggerHelper.logDebug(String.format("[FreezeTestEvent] Process starts - Test Event Name: %s", toscaConfiguration.getTestEventName()));
         List<String> executionLists;
+        topology = null;
         testCaseCounter = 0;
         try {
             toscaRestAPIHandler.updateAll();
-            executionLists = toscaRestAPIHandler.listExecutionLists(toscaConfiguration.getTestEventName());
+            // The topology is reloaded after the UpdateAll and then shared with the counting and reporting phases
+            topology = topologyProvider.refresh();
+            executionLists = topology.getExecutionListIds();
             if (executionLists.isEmpty()) {
                 throw new IllegalArgumentException(String.format("[FreezeTestEvent] Process ends with an error: No execution lists have been found within test event %s", toscaConfiguration.getTestEventName()));
             }
-            for (String executionListId : executionLists) {
-                testCaseCounter += toscaRestAPIHandler.listTestCasesInExecutionList(executionListId).size();
-            }
+            testCaseCounter = topology.getTestCaseCount();
         } catch (Exception e) {
             throw e;
         }
-        isTestEventFrozenAlready = checkTestEventExistsAndIsNotYetFrozen(toscaConfiguration.getTestEventName());
+        isTestEventFrozenAlready = checkTestEventExistsAndIsNotYetFrozen(topology.getTestEventId());
         if (!isTestEventFrozenAlready && releaseExecution) {
             try {
-                String testEventId = toscaRestAPIHandler.getTestEventUniqueId(toscaConfiguration.getTestEventName());
+                String testEventId = topology.getTestEventId();
                 executionListsOwningGroupsBeforeFreeze = new HashMap<>();
-                for (String uniqueId : executionLists) {
-                    executionListsOwningGroupsBeforeFreeze.put(uniqueId, toscaRestAPIHandler.getObjectProperty(uniqueId, PROPERTY_OWNING_GROUP_NAME));
-                    freezeTestCases(uniqueId);
-                    changeOwningGroupName(uniqueId, toscaConfiguration.getEdpLockGroupName());
+                if (toscaConfiguration.getFreezeConcurrency() > 1) {
+                    freezeExecutionListsInParallel(toscaConfiguration.getFreezeConcurrency());
+                } else {
+                    for (String uniqueId : executionLists) {
+                        executionListsOwningGroupsBeforeFreeze.put(uniqueId, toscaRestAPIHandler.getObjectProperty(uniqueId, PROPERTY_OWNING_GROUP_NAME));
+                        freezeTestCases(uniqueId);
+                        changeOwningGroupName(uniqueId, toscaConfiguration.getEdpLockGroupName());
+                    }
                 }
                 changeOwningGroupName(testEventId, toscaConfiguration.getEdpLockGroupName());
                 toscaRestAPIHandler.checkInAll();
                 loggerHelper.logInfo("Test event has been successfully frozen.");
                 loggerHelper.logDebug(String.format("[FreezeTestEvent] Process ends successfully - Test Event Name: %s", toscaConfiguration.getTestEventName()));
             } catch (Exception e) {
-                toscaRestAPIHandler.revertAll();
+                try {
+                    toscaRestAPIHandler.revertAll();
+                } catch (Exception revertFailure) {
+                    e.addSuppressed(revertFailure);
+                }
                 throw e;
             }
         }
@@ -76,14 +99,16 @@ public class FreezeHandler {
         }
     }
 
-    private boolean checkTestEventExistsAndIsNotYetFrozen(String testEventName) throws Exception {
-        return Objects.equals(toscaRestAPIHandler.getObjectProperty(toscaRestAPIHandler.getTestEventUniqueId(testEventName), PROPERTY_OWNING_GROUP_NAME), toscaConfiguration.getEdpLockGroupName());
+    private boolean checkTestEventExistsAndIsNotYetFrozen(String testEventId) throws Exception {
+        return Objects.equals(toscaRestAPIHandler.getObjectProperty(testEventId, PROPERTY_OWNING_GROUP_NAME), toscaConfiguration.getEdpLockGroupName());
     }
 
     protected void freezeTestCases(String executionListId) {
         try {
             loggerHelper.logDebug(String.format("[FreezeTestEvent] Process starts - Execution List Id: %s", executionListId));
-            List<String> testCaseList = toscaRestAPIHandler.listTestCasesInExecutionList(executionListId);
+            List<String> testCaseList = topology != null && topology.containsExecutionList(executionListId)
+                    ? topology.getExecutionList(executionListId).getTestCaseIds()
+                    : toscaRestAPIHandler.listTestCasesInExecutionList(executionListId);
             if (testCaseList.isEmpty()) {
                 loggerHelper.logWarning(String.format("[FreezeTestEvent] Process ends with a warning: No test cases within the execution list - Execution List Id: %s", executionListId));
             }
@@ -97,6 +122,56 @@ public class FreezeHandler {
         }
     }
 
+    protected void freezeExecutionListsInParallel(int concurrency) throws Exception {
+        loggerHelper.logDebug(String.format("[FreezeTestEvent] Parallel freeze starts - Execution lists: %d - Test cases: %d - Concurrency: %d", topology.getExecutionListIds().size(), testCaseCounter, concurrency));
+        testCasesOwningGroupsBeforeFreeze = Collections.synchronizedMap(new HashMap<>());
+        List<String> testCaseList = new ArrayList<>();
+        for (ExecutionListTopology executionList : topology.getExecutionLists()) {
+            if (executionList.getTestCaseIds().isEmpty()) {
+                loggerHelper.logWarning(String.format("[FreezeTestEvent] Process ends with a warning: No test cases within the execution list - Execution List Id: %s", executionList.getUniqueId()));
+            }
+            testCaseList.addAll(executionList.getTestCaseIds());
+        }
+        // Test cases are locked before their execution lists, the same order as the serial freeze
+        freezeObjectsInParallel(testCaseList, testCasesOwningGroupsBeforeFreeze, concurrency);
+        Map<String, String> executionListsOwningGroups = Collections.synchronizedMap(new HashMap<>());
+        freezeObjectsInParallel(topology.getExecutionListIds(), executionListsOwningGroups, concurrency);
+        executionListsOwningGroupsBeforeFreeze.putAll(executionListsOwningGroups);
+        loggerHelper.logDebug("[FreezeTestEvent] Parallel freeze ends successfully");
+    }
+
+    private void freezeObjectsInParallel(List<String> objectIds, Map<String, String> owningGroupsBeforeFreeze, int concurrency) throws Exception {
+        Semaphore permits = new Semaphore(concurrency);
+        AtomicBoolean aborted = new AtomicBoolean(false);
+        Queue<Exception> failures = new ConcurrentLinkedQueue<>();
+        List<CompletableFuture<Void>> freezes = new ArrayList<>();
+        for (String uniqueId : objectIds) {
+            permits.acquire();
+            // Once an object fails no further objects are started; the ones in flight are allowed to finish before the rollback
+            if (aborted.get()) {
+                permits.release();
+                break;
+            }
+            freezes.add(runAsync(() -> {
+                owningGroupsBeforeFreeze.put(uniqueId, toscaRestAPIHandler.getObjectProperty(uniqueId, PROPERTY_OWNING_GROUP_NAME));
+                changeOwningGroupName(uniqueId, toscaConfiguration.getEdpLockGroupName());
+            }, toscaIoExecutor).whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    failures.add(unwrap(throwable));
+                    aborted.set(true);
+                }
+                permits.release();
+            }));
+        }
+        CompletableFuture.allOf(freezes.toArray(new CompletableFuture<?>[0])).handle((result, throwable) -> null).join();
+        if (!failures.isEmpty()) {
+            Exception failure = failures.poll();
+            failures.forEach(failure::addSuppressed);
+            loggerHelper.logError(String.format("[FreezeTestEvent] Parallel freeze ends with an error: %d object(s) failed - Started: %d of %d", failures.size() + 1, freezes.size(), objectIds.size()));
+            throw failure;
+        }
+    }
+
     protected void changeOwningGroupName(String uniqueId, String owningGroupName) {
         try {
             loggerHelper.logDebug(String.format("[ChangeOwningGroup] Process starts - Object Id: %s", uniqueId));
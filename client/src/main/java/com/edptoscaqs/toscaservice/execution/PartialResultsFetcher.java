@@ -0,0 +1,95 @@
+package com.edptoscaqs.toscaservice.execution;
+
+import com.edptoscaqs.toscaservice.ToscaExecutionAPIHandler;
+import com.edptoscaqs.toscaservice.configuration.ToscaConfigParameters;
+import com.edptoscaqs.toscaservice.logging.LoggerHelper;
+import com.edptoscaqs.toscaservice.logging.RunStatisticsProvider;
+import com.edptoscaqs.toscaservice.model.PartialExecutionResults;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+@Service
+public class PartialResultsFetcher implements RunStatisticsProvider {
+    @Autowired
+    private ToscaConfigParameters toscaConfiguration;
+
+    @Autowired
+    private LoggerHelper loggerHelper;
+
+    private final ToscaExecutionAPIHandler toscaExecutionAPIHandler;
+    private final LongSupplier clock;
+
+    private String executionId;
+    private String entityTag;
+    private long fetchedAt;
+    private Map<String, Integer> partialResults;
+
+    private int downloads;
+    private int notModified;
+    private int skipped;
+
+    @Autowired
+    public PartialResultsFetcher(ToscaExecutionAPIHandler toscaExecutionAPIHandler,
+                                 ToscaConfigParameters toscaConfiguration,
+                                 LoggerHelper loggerHelper) {
+        this(toscaExecutionAPIHandler, toscaConfiguration, loggerHelper, System::currentTimeMillis);
+    }
+
+    protected PartialResultsFetcher(ToscaExecutionAPIHandler toscaExecutionAPIHandler,
+                                    ToscaConfigParameters toscaConfiguration,
+                                    LoggerHelper loggerHelper,
+                                    LongSupplier clock) {
+        this.toscaExecutionAPIHandler = toscaExecutionAPIHandler;
+        this.toscaConfiguration = toscaConfiguration;
+        this.loggerHelper = loggerHelper;
+        this.clock = clock;
+    }
+
+    // Returns the partial results counts, or an empty map when there are no partial results yet.
+    // Within partialResultsInterval of the last fetch the previous counts are returned without a request.
+    public synchronized Map<String, Integer> getPartialResults(String executionId) throws Exception {
+        if (!Objects.equals(this.executionId, executionId)) {
+            reset(executionId);
+        }
+        long now = clock.getAsLong();
+        if (partialResults != null && now - fetchedAt < toscaConfiguration.getPartialResultsInterval()) {
+            skipped++;
+            return partialResults;
+        }
+        fetchedAt = now;
+        PartialExecutionResults response = toscaExecutionAPIHandler.getPartialTestResults(executionId, entityTag);
+        if (response == null) {
+            return partialResults != null ? partialResults : Map.of();
+        }
+        if (!response.isModified() && partialResults != null) {
+            notModified++;
+            return partialResults;
+        }
+        downloads++;
+        entityTag = response.getEntityTag();
+        partialResults = response.getTestResults() != null ? response.getTestResults() : Map.of();
+        return partialResults;
+    }
+
+    private void reset(String executionId) {
+        loggerHelper.logDebug(String.format("[PartialResults] Tracking partial results - Execution Id: %s - Interval: %d", executionId, toscaConfiguration.getPartialResultsInterval()));
+        this.executionId = executionId;
+        entityTag = null;
+        fetchedAt = 0;
+        partialResults = null;
+    }
+
+    @Override
+    public String getStatisticsName() {
+        return "Partial results";
+    }
+
+    @Override
+    public synchronized String getStatisticsSummary() {
+        return String.format("Downloads: %d - Not modified: %d - Skipped: %d", downloads, notModified, skipped);
+    }
+}
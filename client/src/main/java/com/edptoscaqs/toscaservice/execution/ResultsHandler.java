@@ -5,21 +5,42 @@ import com.edptoscaqs.toscaservice.ToscaRestAPIHandler;
 import com.edptoscaqs.toscaservice.configuration.ToscaConfigParameters;
 import com.edptoscaqs.toscaservice.factory.WriterFactory;
 import com.edptoscaqs.toscaservice.logging.LoggerHelper;
+import com.edptoscaqs.toscaservice.model.ExecutionListTopology;
+import com.edptoscaqs.toscaservice.model.TestEventTopology;
 import com.edptoscaqs.toscaservice.utilities.Utilities;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.edptoscaqs.toscaservice.configuration.Constants.*;
+import static com.edptoscaqs.toscaservice.utilities.AsyncTasks.join;
+import static com.edptoscaqs.toscaservice.utilities.AsyncTasks.runAsync;
+import static com.edptoscaqs.toscaservice.utilities.AsyncTasks.unwrap;
 
 @Service
 public class ResultsHandler {
+    private static final String DOWNLOAD_SUFFIX = ".download";
+    private static final long IMPORT_MIN_SLEEP_TIME = 1000;
+    private static final long IMPORT_MAX_SLEEP_TIME = 10000;
+
     @Autowired
     private ToscaConfigParameters toscaConfiguration;
 
@@ -30,6 +51,9 @@ public class ResultsHandler {
     private final ToscaRestAPIHandler toscaRestAPIHandler;
     private final WriterFactory writerFactory;
     private final Utilities utilities;
+    private final TestEventTopologyProvider topologyProvider;
+    private final Executor toscaIoExecutor;
+    private final Object workspaceLock = new Object();
 
     @Autowired
     public ResultsHandler(ToscaRestAPIHandler toscaRestAPIHandler,
@@ -37,24 +61,35 @@ public class ResultsHandler {
                           WriterFactory writerFactory,
                           ToscaConfigParameters toscaConfiguration,
                           Utilities utilities,
-                          LoggerHelper loggerHelper) {
+                          LoggerHelper loggerHelper,
+                          TestEventTopologyProvider topologyProvider,
+                          @Qualifier("toscaIoExecutor") Executor toscaIoExecutor) {
         this.toscaRestAPIHandler = toscaRestAPIHandler;
         this.toscaExecutionAPIHandler = toscaExecutionAPIHandler;
         this.writerFactory = writerFactory;
         this.toscaConfiguration = toscaConfiguration;
         this.utilities = utilities;
         this.loggerHelper = loggerHelper;
+        this.topologyProvider = topologyProvider;
+        this.toscaIoExecutor = toscaIoExecutor;
     }
 
     public boolean handleExecutionResults(String executionId) throws Exception {
         loggerHelper.logDebug(String.format("[XMLResults] Process starts - Test event: %s - Execution id: %s", toscaConfiguration.getTestEventName(), executionId));
-        try (FileWriter fileWriter = writerFactory.createFileWriter(toscaConfiguration.getOutputPath() + toscaConfiguration.getTestEventName() + "_result.xml");
+        String resultsPath = toscaConfiguration.getOutputPath() + toscaConfiguration.getTestEventName() + "_result.xml";
+        // The raw results are spooled to disk next to the output, so the HTTP body is never held in memory
+        Path downloadedResults = Paths.get(resultsPath + DOWNLOAD_SUFFIX);
+        try (FileWriter fileWriter = writerFactory.createFileWriter(resultsPath);
              BufferedWriter bufferedWriter = writerFactory.createBufferedWriter(fileWriter)) {
-            String executionResults = toscaExecutionAPIHandler.getExecutionResults(executionId);
-            String decodedXmlString = utilities.escapeXmlContent(executionResults, loggerHelper);
+            long downloadedBytes = toscaExecutionAPIHandler.downloadExecutionResults(executionId, downloadedResults);
             AtomicBoolean allTestsPassed = new AtomicBoolean(true);
-            loggerHelper.logDebug(String.format("[XMLResults] Saving results in %s", toscaConfiguration.getOutputPath() + toscaConfiguration.getTestEventName() + "_result.xml"));
-            bufferedWriter.write(decodedXmlString.replace("%%", "%"));
+            loggerHelper.logDebug(String.format("[XMLResults] Saving results in %s - Downloaded bytes: %d", resultsPath, downloadedBytes));
+            if (isParallelNormalization(downloadedBytes)) {
+                loggerHelper.logDebug(String.format("[XMLResults] Normalizing the results in parallel - Threshold: %d MB", toscaConfiguration.getParallelResultsThreshold()));
+                utilities.escapeXmlContentInParallel(downloadedResults, bufferedWriter, loggerHelper);
+            } else {
+                utilities.escapeXmlContent(downloadedResults, bufferedWriter, loggerHelper);
+            }
             bufferedWriter.flush();
             Map<String, Integer> resultsSummary = toscaExecutionAPIHandler.getExecutionResultsSummary(executionId);
             StringBuilder logText = new StringBuilder();
@@ -66,103 +101,234 @@ public class ResultsHandler {
                 }
             });
             loggerHelper.logInfo(logText.toString());
-            loggerHelper.logDebug(String.format("[XMLResults] Displaying results: %s", decodedXmlString));
             loggerHelper.logDebug(String.format("[XMLResults] Process ends successfully - Test event: %s - Execution id: %s", toscaConfiguration.getTestEventName(), executionId));
             return allTestsPassed.get();
         } catch (Exception e) {
             throw e;
+        } finally {
+            Files.deleteIfExists(downloadedResults);
         }
     }
 
+    // The parallel pass produces the same file; it only pays off for results of many megabytes
+    private boolean isParallelNormalization(long downloadedBytes) {
+        long threshold = toscaConfiguration.getParallelResultsThreshold();
+        return threshold > 0 && downloadedBytes >= threshold * 1024L * 1024L;
+    }
+
     public void savePDFReport(String executionId) throws Exception {
+        savePDFReport(executionId, null);
+    }
+
+    // With an attachment started during the execution, the reports wait for it instead of attaching the git parameters again
+    public void savePDFReport(String executionId, CompletableFuture<Void> gitParametersAttachment) throws Exception {
         loggerHelper.logDebug(String.format("[PDFReport] Process starts - Test event: %s", toscaConfiguration.getTestEventName()));
         File gitParametersFile;
+        if (gitParametersAttachment != null) {
+            join(gitParametersAttachment);
+        }
         toscaRestAPIHandler.updateAll();
-        List<String> executionLists = toscaRestAPIHandler.listExecutionLists(toscaConfiguration.getTestEventName());
-        long endTime;
+        // The topology loaded during the freeze is reused; it is only fetched here when the freeze did not run
+        TestEventTopology topology = topologyProvider.getTopology();
+        List<String> executionLists = topology.getExecutionListIds();
         if (executionLists.isEmpty()) {
             throw new IllegalArgumentException(String.format("[PDFReport] Process ends with an error: No execution lists in the test event %s", toscaConfiguration.getTestEventName()));
         }
-        gitParametersFile = new File(String.format("%s/git_parameters.txt", toscaConfiguration.getOutputPath()).trim());
-        for (String uniqueId : executionLists) {
-            String executionListName = toscaRestAPIHandler.getObjectProperty(uniqueId, "Name");
-            includeGitParametersIntoPDFReport(uniqueId, gitParametersFile);
-            endTime = System.currentTimeMillis() + toscaConfiguration.getReportCreationTimeOut() * 60000L;
-            do {
-                if (System.currentTimeMillis() > endTime) {
-                    throw new TimeoutException(String.format("[PDFReport] Process ends with an error: Timeout exceeded - Execution List Id: %s - Timeout: %s", uniqueId, toscaConfiguration.getReportCreationTimeOut()));
+        gitParametersFile = gitParametersAttachment == null ? getGitParametersFile() : null;
+        CompletableFuture<Void> resultImport = waitForResultImport(executionId);
+        try {
+            if (gitParametersFile != null && toscaConfiguration.isBatchGitParameters()) {
+                // All the lists are attached in one transaction up front, so the reports do not attach them again
+                synchronized (workspaceLock) {
+                    includeGitParametersIntoPDFReports(executionLists, gitParametersFile);
+                }
+                gitParametersFile = null;
+            }
+            if (toscaConfiguration.getReportConcurrency() > 1) {
+                saveExecutionListReportsInParallel(resultImport, topology, gitParametersFile, toscaConfiguration.getReportConcurrency());
+            } else {
+                for (String uniqueId : executionLists) {
+                    saveExecutionListReport(resultImport, topology.getExecutionList(uniqueId), gitParametersFile);
                 }
-                toscaRestAPIHandler.updateAll();
-                utilities.sleepWithInterruptHandling(5000, loggerHelper);
-            } while (!toscaExecutionAPIHandler.isResultImported(executionId));
-            try (FileOutputStream fileOutputStream = writerFactory.createFileOutputStream(toscaConfiguration.getOutputPath() + executionListName + "_report.pdf")) {
-                String rawPDF = toscaRestAPIHandler.getPdfReport(uniqueId);
-                byte[] pdfBytes = rawPDF.getBytes(StandardCharsets.ISO_8859_1);
-                fileOutputStream.write(pdfBytes);
-                loggerHelper.logDebug(String.format("[PDFReport] Execution list id: %s - Path: %s", uniqueId, toscaConfiguration.getOutputPath() + executionListName + "_report.pdf"));
-            } catch (Exception e) {
-                throw e;
             }
+        } finally {
+            // Stops the waiter when every list failed before the import completed
+            resultImport.cancel(false);
         }
         loggerHelper.logDebug(String.format("[PDFReport] Process ends successfully - Test event: %s", toscaConfiguration.getTestEventName()));
     }
 
-    public void includeGitParametersIntoPDFReport(String uniqueId, File gitParametersFile) throws Exception {
-        removeOldGitParameters(uniqueId);
-        addNewGitParameters(uniqueId, gitParametersFile);
+    // Runs the same attachment as the reports on a background task, holding the workspace until every list is done
+    public CompletableFuture<Void> attachGitParametersInBackground() {
+        return runAsync(() -> {
+            loggerHelper.logDebug(String.format("[GitParameters] Background attachment starts - Test event: %s", toscaConfiguration.getTestEventName()));
+            File gitParametersFile = getGitParametersFile();
+            List<String> executionListIds = topologyProvider.getTopology().getExecutionListIds();
+            synchronized (workspaceLock) {
+                if (toscaConfiguration.isBatchGitParameters()) {
+                    includeGitParametersIntoPDFReports(executionListIds, gitParametersFile);
+                } else {
+                    for (String uniqueId : executionListIds) {
+                        includeGitParametersIntoPDFReport(uniqueId, gitParametersFile);
+                    }
+                }
+            }
+            loggerHelper.logDebug(String.format("[GitParameters] Background attachment ends successfully - Test event: %s", toscaConfiguration.getTestEventName()));
+        }, toscaIoExecutor);
     }
 
-    private void removeOldGitParameters(String uniqueId) throws Exception  {
-        loggerHelper.logDebug(String.format("[RemoveOldGitParameters] Process starts - Execution List Id: %s",uniqueId));
-        try {
-            toscaRestAPIHandler.updateAll();
-            toscaRestAPIHandler.checkOutTree(uniqueId);
-            List<String> filesToDelete = toscaRestAPIHandler.getOwnedFile(uniqueId);
-            for (String fileId:filesToDelete) {
-                loggerHelper.logDebug(String.format("File id: %s", fileId));
-                toscaRestAPIHandler.deleteAttachment(fileId);
+    private File getGitParametersFile() {
+        return new File(String.format("%s/git_parameters.txt", toscaConfiguration.getOutputPath()).trim());
+    }
+
+    // A single waiter per execution: the execution lists share its future instead of each polling the import, and the
+    // workspace is updated once after the import instead of on every poll
+    protected CompletableFuture<Void> waitForResultImport(String executionId) {
+        CompletableFuture<Void> resultImport = new CompletableFuture<>();
+        long endTime = System.currentTimeMillis() + toscaConfiguration.getReportCreationTimeOut() * 60000L;
+        runAsync(() -> {
+            loggerHelper.logDebug(String.format("[ResultImport] Process starts - Execution id: %s", executionId));
+            long sleepTime = IMPORT_MIN_SLEEP_TIME;
+            while (!resultImport.isDone() && !toscaExecutionAPIHandler.isResultImported(executionId)) {
+                if (System.currentTimeMillis() > endTime) {
+                    throw new TimeoutException(String.format("[ResultImport] Process ends with an error: Timeout exceeded - Execution id: %s - Timeout: %s", executionId, toscaConfiguration.getReportCreationTimeOut()));
+                }
+                utilities.sleepWithInterruptHandling(sleepTime, loggerHelper);
+                sleepTime = Math.min(sleepTime * 2, IMPORT_MAX_SLEEP_TIME);
+            }
+            if (!resultImport.isDone()) {
+                synchronized (workspaceLock) {
+                    toscaRestAPIHandler.updateAll();
+                }
+                loggerHelper.logDebug(String.format("[ResultImport] Process ends successfully - Execution id: %s", executionId));
+                resultImport.complete(null);
             }
-            toscaRestAPIHandler.checkInAll();
-            loggerHelper.logDebug(String.format("[RemoveOldGitParameters] Process ends successfully - Execution List Id: %s",uniqueId));
+        }, toscaIoExecutor).whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                resultImport.completeExceptionally(unwrap(throwable));
+            }
+        });
+        return resultImport;
+    }
+
+    protected void saveExecutionListReportsInParallel(CompletableFuture<Void> resultImport, TestEventTopology topology, File gitParametersFile, int concurrency) throws Exception {
+        List<String> executionLists = topology.getExecutionListIds();
+        loggerHelper.logDebug(String.format("[PDFReport] Parallel reports start - Execution lists: %d - Concurrency: %d", executionLists.size(), concurrency));
+        Semaphore permits = new Semaphore(concurrency);
+        Queue<Exception> failures = new ConcurrentLinkedQueue<>();
+        List<CompletableFuture<Void>> reports = new ArrayList<>();
+        // The reports do not depend on each other, so a failed list does not stop the others from being saved
+        for (String uniqueId : executionLists) {
+            permits.acquire();
+            reports.add(runAsync(() -> saveExecutionListReport(resultImport, topology.getExecutionList(uniqueId), gitParametersFile), toscaIoExecutor)
+                    .whenComplete((result, throwable) -> {
+                        if (throwable != null) {
+                            Exception failure = unwrap(throwable);
+                            loggerHelper.logError(String.format("[PDFReport] Report failed - Execution list id: %s - Error: %s", uniqueId, failure.getMessage()));
+                            failures.add(failure);
+                        }
+                        permits.release();
+                    }));
         }
-        catch (Exception e) {
-            toscaRestAPIHandler.revertAll();
-            throw e;
+        CompletableFuture.allOf(reports.toArray(new CompletableFuture<?>[0])).handle((result, throwable) -> null).join();
+        if (!failures.isEmpty()) {
+            Exception failure = failures.poll();
+            failures.forEach(failure::addSuppressed);
+            loggerHelper.logError(String.format("[PDFReport] Parallel reports end with an error: %d of %d execution list(s) failed", failures.size() + 1, executionLists.size()));
+            throw failure;
         }
+        loggerHelper.logDebug("[PDFReport] Parallel reports end successfully");
     }
 
-    private void addNewGitParameters(String uniqueId, File gitParametersFile) throws Exception {
-        loggerHelper.logDebug(String.format("[AddNewGitParameters] Process starts - Execution List Id: %s",uniqueId));
+    // Check-outs, check-ins, reverts and UpdateAll act on the whole workspace, so the lists take turns for them;
+    // only the waits for the report and the downloads overlap. Without a file the git parameters are already attached
+    private void saveExecutionListReport(CompletableFuture<Void> resultImport, ExecutionListTopology executionList, File gitParametersFile) throws Exception {
+        String uniqueId = executionList.getUniqueId();
+        String executionListName = executionList.getName() != null ? executionList.getName() : toscaRestAPIHandler.getObjectProperty(uniqueId, "Name");
+        if (gitParametersFile != null) {
+            synchronized (workspaceLock) {
+                includeGitParametersIntoPDFReport(uniqueId, gitParametersFile);
+            }
+        }
+        long endTime = System.currentTimeMillis() + toscaConfiguration.getReportCreationTimeOut() * 60000L;
         try {
-            if (gitParametersFile != null && gitParametersFile.isFile() && gitParametersFile.length() > 0) {
-                loggerHelper.logDebug(String.format("[AddNewGitParameters] There is a file - Path: %s",gitParametersFile.getAbsolutePath()));
-                toscaRestAPIHandler.updateAll();
-                toscaRestAPIHandler.checkOutTree(uniqueId);
-                toscaRestAPIHandler.addAttachment(uniqueId, gitParametersFile);
-                toscaRestAPIHandler.checkInAll();
-                List<String> filesAdded = toscaRestAPIHandler.getOwnedFile(uniqueId);
-                if (filesAdded == null || filesAdded.isEmpty())
-                    throw new Exception("[AddNewGitParameters] Ends with an error: No file attached");
-                if (filesAdded.size() != 1)
-                    throw new Exception(String.format("[AddNewGitParameters] Ends with an error: Exists more than one file attached. Files count: %d", filesAdded.size()));
-                if (!toscaRestAPIHandler.getAttachment(filesAdded.get(0))) {
-                    throw new Exception("[AddNewGitParameters] Ends with an error: Cannot get the attachment");
+            resultImport.get(Math.max(endTime - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new TimeoutException(String.format("[PDFReport] Process ends with an error: Timeout exceeded - Execution List Id: %s - Timeout: %s", uniqueId, toscaConfiguration.getReportCreationTimeOut()));
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+        Path reportPath = Paths.get(toscaConfiguration.getOutputPath() + executionListName + "_report.pdf");
+        long reportSize = toscaRestAPIHandler.downloadPdfReport(uniqueId, reportPath);
+        loggerHelper.logDebug(String.format("[PDFReport] Execution list id: %s - Path: %s - Bytes: %d", uniqueId, reportPath, reportSize));
+    }
+
+    public void includeGitParametersIntoPDFReport(String uniqueId, File gitParametersFile) throws Exception {
+        includeGitParametersIntoPDFReports(List.of(uniqueId), gitParametersFile);
+    }
+
+    // The attachments of all the given execution lists are replaced in one check-out and check-in. A list whose only
+    // attached file already has the content of the new one, e.g. on a retried pipeline, is left out of the transaction
+    public void includeGitParametersIntoPDFReports(List<String> executionListIds, File gitParametersFile) throws Exception {
+        loggerHelper.logDebug(String.format("[ReplaceGitParameters] Process starts - Execution lists: %s", executionListIds));
+        toscaRestAPIHandler.updateAll();
+        List<String> changedExecutionLists = new ArrayList<>();
+        for (String uniqueId : executionListIds) {
+            if (isGitParametersFileAttached(toscaRestAPIHandler.getOwnedFile(uniqueId), gitParametersFile)) {
+                loggerHelper.logDebug(String.format("[ReplaceGitParameters] The attached file is unchanged - Execution List Id: %s", uniqueId));
+            } else {
+                changedExecutionLists.add(uniqueId);
+            }
+        }
+        if (changedExecutionLists.isEmpty()) {
+            loggerHelper.logDebug("[ReplaceGitParameters] Process skipped - No attachment to replace");
+            return;
+        }
+        boolean hasGitParameters = gitParametersFile != null && gitParametersFile.isFile() && gitParametersFile.length() > 0;
+        toscaRestAPIHandler.replaceAttachments(changedExecutionLists, hasGitParameters ? gitParametersFile : null);
+        if (hasGitParameters) {
+            try {
+                for (String uniqueId : changedExecutionLists) {
+                    checkGitParametersAttached(uniqueId);
                 }
-                StringBuilder logText = new StringBuilder();
-                logText.append(String.format("%sPDF REPORT PARAMETERS ADDED", NEW_LINE));
-                try (BufferedReader reader = new BufferedReader(new FileReader(gitParametersFile))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        logText.append(String.format("%s  %s", NEW_LINE, line));
-                    }
+            } catch (Exception e) {
+                try {
+                    toscaRestAPIHandler.revertAll();
+                } catch (Exception revertFailure) {
+                    e.addSuppressed(revertFailure);
                 }
-                loggerHelper.logInfo(logText.toString());
-                loggerHelper.logDebug("[AddNewGitParameters] Process ends successfully");
+                throw e;
             }
+            StringBuilder logText = new StringBuilder();
+            logText.append(String.format("%sPDF REPORT PARAMETERS ADDED", NEW_LINE));
+            try (BufferedReader reader = new BufferedReader(new FileReader(gitParametersFile))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    logText.append(String.format("%s  %s", NEW_LINE, line));
+                }
+            }
+            loggerHelper.logInfo(logText.toString());
         }
-        catch (Exception e) {
-            toscaRestAPIHandler.revertAll();
-            throw e;
+        loggerHelper.logDebug(String.format("[ReplaceGitParameters] Process ends successfully - Replaced: %d of %d", changedExecutionLists.size(), executionListIds.size()));
+    }
+
+    private boolean isGitParametersFileAttached(List<String> attachedFiles, File gitParametersFile) throws IOException {
+        if (attachedFiles == null || attachedFiles.size() != 1 || gitParametersFile == null || !gitParametersFile.isFile() || gitParametersFile.length() == 0) {
+            return false;
+        }
+        byte[] attachedContent = toscaRestAPIHandler.getAttachmentContent(attachedFiles.get(0));
+        return attachedContent != null && attachedContent.length == gitParametersFile.length()
+                && Arrays.equals(attachedContent, Files.readAllBytes(gitParametersFile.toPath()));
+    }
+
+    private void checkGitParametersAttached(String uniqueId) throws Exception {
+        List<String> filesAdded = toscaRestAPIHandler.getOwnedFile(uniqueId);
+        if (filesAdded == null || filesAdded.isEmpty())
+            throw new Exception("[AddNewGitParameters] Ends with an error: No file attached");
+        if (filesAdded.size() != 1)
+            throw new Exception(String.format("[AddNewGitParameters] Ends with an error: Exists more than one file attached. Files count: %d", filesAdded.size()));
+        if (!toscaRestAPIHandler.getAttachment(filesAdded.get(0))) {
+            throw new Exception("[AddNewGitParameters] Ends with an error: Cannot get the attachment");
         }
     }
 }
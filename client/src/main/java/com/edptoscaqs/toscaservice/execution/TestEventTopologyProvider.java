@@ -0,0 +1,160 @@
+package com.edptoscaqs.toscaservice.execution;
+
+import com.edptoscaqs.toscaservice.ToscaRestAPIHandler;
+import com.edptoscaqs.toscaservice.cache.TopologyDiskCache;
+import com.edptoscaqs.toscaservice.configuration.ToscaConfigParameters;
+import com.edptoscaqs.toscaservice.logging.LoggerHelper;
+import com.edptoscaqs.toscaservice.logging.RunStatisticsProvider;
+import com.edptoscaqs.toscaservice.model.ExecutionListTopology;
+import com.edptoscaqs.toscaservice.model.ObjectAttributes;
+import com.edptoscaqs.toscaservice.model.TestEventTopology;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.edptoscaqs.toscaservice.utilities.AsyncTasks.join;
+import static com.edptoscaqs.toscaservice.utilities.AsyncTasks.supplyAsync;
+
+@Service
+public class TestEventTopologyProvider implements RunStatisticsProvider {
+    @Autowired
+    private ToscaConfigParameters toscaConfiguration;
+
+    @Autowired
+    private LoggerHelper loggerHelper;
+
+    private final ToscaRestAPIHandler toscaRestAPIHandler;
+    private final Executor toscaIoExecutor;
+    private final TopologyDiskCache topologyDiskCache;
+    private final AtomicInteger topologyLoads = new AtomicInteger();
+    private final AtomicInteger revalidatedLoads = new AtomicInteger();
+    private final AtomicInteger reusedExecutionLists = new AtomicInteger();
+    private final AtomicInteger refetchedExecutionLists = new AtomicInteger();
+
+    private volatile TestEventTopology topology;
+
+    @Autowired
+    public TestEventTopologyProvider(ToscaRestAPIHandler toscaRestAPIHandler,
+                                     @Qualifier("toscaIoExecutor") Executor toscaIoExecutor,
+                                     TopologyDiskCache topologyDiskCache,
+                                     ToscaConfigParameters toscaConfiguration,
+                                     LoggerHelper loggerHelper) {
+        this.toscaRestAPIHandler = toscaRestAPIHandler;
+        this.toscaIoExecutor = toscaIoExecutor;
+        this.topologyDiskCache = topologyDiskCache;
+        this.toscaConfiguration = toscaConfiguration;
+        this.loggerHelper = loggerHelper;
+    }
+
+    public TestEventTopology getTopology() throws Exception {
+        TestEventTopology currentTopology = topology;
+        if (currentTopology == null || !Objects.equals(currentTopology.getTestEventName(), toscaConfiguration.getTestEventName())) {
+            return refresh();
+        }
+        return currentTopology;
+    }
+
+    // Loads the topology again, e.g. after an UpdateAll brought in changes from other workspaces
+    public synchronized TestEventTopology refresh() throws Exception {
+        String testEventName = toscaConfiguration.getTestEventName();
+        String workspaceKey = toscaConfiguration.getWorkspaceKey();
+        loggerHelper.logDebug(String.format("[LoadTopology] Process starts - Test Event Name: %s", testEventName));
+        TestEventTopology loadedTopology = null;
+        TestEventTopology cachedTopology = topologyDiskCache.read(workspaceKey, testEventName);
+        if (cachedTopology != null) {
+            loadedTopology = revalidate(cachedTopology);
+        }
+        if (loadedTopology == null) {
+            loadedTopology = load(testEventName);
+        }
+        topologyDiskCache.write(workspaceKey, loadedTopology);
+        topology = loadedTopology;
+        topologyLoads.incrementAndGet();
+        loggerHelper.logDebug(String.format("[LoadTopology] Process ends successfully - Test Event Name: %s - Execution lists: %d - Test cases: %d", testEventName, loadedTopology.getExecutionListIds().size(), loadedTopology.getTestCaseCount()));
+        return loadedTopology;
+    }
+
+    private TestEventTopology load(String testEventName) throws Exception {
+        CompletableFuture<String> testEventId = supplyAsync(() -> toscaRestAPIHandler.getTestEventUniqueId(testEventName), toscaIoExecutor);
+        CompletableFuture<List<String>> executionListIds = supplyAsync(() -> toscaRestAPIHandler.listExecutionLists(testEventName), toscaIoExecutor);
+        join(CompletableFuture.allOf(testEventId, executionListIds));
+
+        List<String> objectIds = new ArrayList<>(executionListIds.join());
+        objectIds.add(testEventId.join());
+        CompletableFuture<Map<String, ObjectAttributes>> objectAttributes = supplyAsync(() -> toscaRestAPIHandler.getAttributesByUniqueIds(objectIds), toscaIoExecutor);
+        Map<String, CompletableFuture<Map<String, ObjectAttributes>>> testCasesByExecutionList = new LinkedHashMap<>();
+        for (String executionListId : executionListIds.join()) {
+            testCasesByExecutionList.put(executionListId, supplyAsync(() -> toscaRestAPIHandler.getTestCaseAttributesInExecutionList(executionListId), toscaIoExecutor));
+        }
+        List<CompletableFuture<?>> pendingFetches = new ArrayList<>(testCasesByExecutionList.values());
+        pendingFetches.add(objectAttributes);
+        join(CompletableFuture.allOf(pendingFetches.toArray(new CompletableFuture<?>[0])));
+
+        List<ExecutionListTopology> executionLists = new ArrayList<>();
+        testCasesByExecutionList.forEach((executionListId, testCases) ->
+                executionLists.add(new ExecutionListTopology(attributesOf(objectAttributes.join(), executionListId), testCases.join())));
+        return new TestEventTopology(testEventName, attributesOf(objectAttributes.join(), testEventId.join()), executionLists, System.currentTimeMillis());
+    }
+
+    // A single search reads the current revisions of the cached objects; only the execution lists whose revision moved are fetched again.
+    // Returns null when the cached topology cannot be trusted, e.g. the test event changed or one of its execution lists is gone.
+    private TestEventTopology revalidate(TestEventTopology cachedTopology) throws Exception {
+        List<String> objectIds = new ArrayList<>(cachedTopology.getExecutionListIds());
+        objectIds.add(cachedTopology.getTestEventId());
+        Map<String, ObjectAttributes> currentAttributes = toscaRestAPIHandler.getAttributesByUniqueIds(objectIds);
+        ObjectAttributes testEventAttributes = currentAttributes.get(cachedTopology.getTestEventId());
+        if (testEventAttributes == null || !isSameRevision(cachedTopology.getTestEventAttributes(), testEventAttributes)) {
+            loggerHelper.logDebug(String.format("[LoadTopology] Cached topology is outdated - Test Event Id: %s", cachedTopology.getTestEventId()));
+            return null;
+        }
+        Map<String, CompletableFuture<Map<String, ObjectAttributes>>> testCasesByExecutionList = new LinkedHashMap<>();
+        for (ExecutionListTopology cachedExecutionList : cachedTopology.getExecutionLists()) {
+            ObjectAttributes executionListAttributes = currentAttributes.get(cachedExecutionList.getUniqueId());
+            if (executionListAttributes == null) {
+                return null;
+            }
+            if (isSameRevision(cachedExecutionList.getAttributes(), executionListAttributes)) {
+                testCasesByExecutionList.put(cachedExecutionList.getUniqueId(), CompletableFuture.completedFuture(cachedExecutionList.getTestCases()));
+                reusedExecutionLists.incrementAndGet();
+            } else {
+                testCasesByExecutionList.put(cachedExecutionList.getUniqueId(), supplyAsync(() -> toscaRestAPIHandler.getTestCaseAttributesInExecutionList(cachedExecutionList.getUniqueId()), toscaIoExecutor));
+                refetchedExecutionLists.incrementAndGet();
+            }
+        }
+        join(CompletableFuture.allOf(testCasesByExecutionList.values().toArray(new CompletableFuture<?>[0])));
+
+        List<ExecutionListTopology> executionLists = new ArrayList<>();
+        testCasesByExecutionList.forEach((executionListId, testCases) ->
+                executionLists.add(new ExecutionListTopology(currentAttributes.get(executionListId), testCases.join())));
+        revalidatedLoads.incrementAndGet();
+        return new TestEventTopology(cachedTopology.getTestEventName(), testEventAttributes, executionLists, System.currentTimeMillis());
+    }
+
+    private boolean isSameRevision(ObjectAttributes cachedAttributes, ObjectAttributes currentAttributes) {
+        return cachedAttributes.getRevision() != null && Objects.equals(cachedAttributes.getRevision(), currentAttributes.getRevision());
+    }
+
+    private ObjectAttributes attributesOf(Map<String, ObjectAttributes> objectAttributes, String uniqueId) {
+        ObjectAttributes attributes = objectAttributes.get(uniqueId);
+        return attributes != null ? attributes : ObjectAttributes.of(uniqueId, Map.of());
+    }
+
+    @Override
+    public String getStatisticsName() {
+        return "Test event topology";
+    }
+
+    @Override
+    public String getStatisticsSummary() {
+        TestEventTopology currentTopology = topology;
+        return String.format("Loads: %d - Revalidated from disk: %d - Execution lists reused: %d - Execution lists refetched: %d - Execution lists: %d - Test cases: %d",
+                topologyLoads.get(), revalidatedLoads.get(), reusedExecutionLists.get(), refetchedExecutionLists.get(),
+                currentTopology == null ? 0 : currentTopology.getExecutionListIds().size(),
+                currentTopology == null ? 0 : currentTopology.getTestCaseCount());
+    }
+}
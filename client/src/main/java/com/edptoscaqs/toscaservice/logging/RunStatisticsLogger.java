@@ -0,0 +1,34 @@
+package com.edptoscaqs.toscaservice.logging;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static com.edptoscaqs.toscaservice.configuration.Constants.*;
+
+@Component
+public class RunStatisticsLogger {
+
+    private final List<RunStatisticsProvider> statisticsProviders;
+    private final LoggerHelper loggerHelper;
+
+    @Autowired
+    public RunStatisticsLogger(List<RunStatisticsProvider> statisticsProviders, LoggerHelper loggerHelper) {
+        this.statisticsProviders = statisticsProviders;
+        this.loggerHelper = loggerHelper;
+    }
+
+    public void logRunStatistics() {
+        StringBuilder logText = new StringBuilder();
+        logText.append(String.format("%s[RunStatistics] Statistics of the run", NEW_LINE));
+        for (RunStatisticsProvider statisticsProvider : statisticsProviders) {
+            try {
+                logText.append(String.format("%s  - %s: %s", NEW_LINE, statisticsProvider.getStatisticsName(), statisticsProvider.getStatisticsSummary()));
+            } catch (Exception e) {
+                logText.append(String.format("%s  - %s: not available", NEW_LINE, statisticsProvider.getStatisticsName()));
+            }
+        }
+        loggerHelper.logDebug(logText.toString());
+    }
+}
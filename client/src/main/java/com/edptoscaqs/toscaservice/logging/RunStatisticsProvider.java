@@ -0,0 +1,6 @@
+package com.edptoscaqs.toscaservice.logging;
+
+public interface RunStatisticsProvider {
+    String getStatisticsName();
+    String getStatisticsSummary();
+}
@@ -0,0 +1,42 @@
+package com.edptoscaqs.toscaservice.model;
+
+import java.util.*;
+
+public final class ExecutionListTopology {
+
+    private final ObjectAttributes attributes;
+    private final Map<String, ObjectAttributes> testCases;
+
+    public ExecutionListTopology(ObjectAttributes attributes, Map<String, ObjectAttributes> testCases) {
+        this.attributes = attributes;
+        this.testCases = Collections.unmodifiableMap(new LinkedHashMap<>(testCases));
+    }
+
+    public String getUniqueId() {
+        return attributes.getUniqueId();
+    }
+
+    public String getName() {
+        return attributes.getName();
+    }
+
+    public String getOwningGroupName() {
+        return attributes.getOwningGroupName();
+    }
+
+    public String getRevision() {
+        return attributes.getRevision();
+    }
+
+    public ObjectAttributes getAttributes() {
+        return attributes;
+    }
+
+    public List<String> getTestCaseIds() {
+        return Collections.unmodifiableList(new ArrayList<>(testCases.keySet()));
+    }
+
+    public Map<String, ObjectAttributes> getTestCases() {
+        return testCases;
+    }
+}
@@ -0,0 +1,55 @@
+package com.edptoscaqs.toscaservice.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public final class ExecutionRecord {
+
+    private final long durationMillis;
+    private final int totalTestCases;
+    private final long recordedAt;
+    private final List<ProgressPoint> progress;
+
+    public ExecutionRecord(long durationMillis, int totalTestCases, long recordedAt, List<ProgressPoint> progress) {
+        this.durationMillis = durationMillis;
+        this.totalTestCases = totalTestCases;
+        this.recordedAt = recordedAt;
+        this.progress = Collections.unmodifiableList(new ArrayList<>(progress));
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public int getTotalTestCases() {
+        return totalTestCases;
+    }
+
+    public long getRecordedAt() {
+        return recordedAt;
+    }
+
+    // Partial results count over time, in the order the points were observed
+    public List<ProgressPoint> getProgress() {
+        return progress;
+    }
+
+    public static final class ProgressPoint {
+        private final long elapsedMillis;
+        private final int completedTestCases;
+
+        public ProgressPoint(long elapsedMillis, int completedTestCases) {
+            this.elapsedMillis = elapsedMillis;
+            this.completedTestCases = completedTestCases;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public int getCompletedTestCases() {
+            return completedTestCases;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.edptoscaqs.toscaservice.model;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.edptoscaqs.toscaservice.configuration.Constants.*;
+
+public final class ObjectAttributes {
+
+    private final String uniqueId;
+    private final Map<String, String> values;
+
+    private ObjectAttributes(String uniqueId, Map<String, String> values) {
+        this.uniqueId = uniqueId;
+        this.values = values;
+    }
+
+    public static ObjectAttributes of(String uniqueId, Map<String, String> values) {
+        return new ObjectAttributes(uniqueId, Collections.unmodifiableMap(new HashMap<>(values)));
+    }
+
+    // Converts the Commander "Attributes" list of Name/Value pairs, keeping the first value of a repeated name
+    public static ObjectAttributes fromAttributeList(String uniqueId, List<Map<String, String>> attributeList) {
+        Map<String, String> values = new HashMap<>();
+        for (Map<String, String> attribute : attributeList) {
+            if (attribute.containsKey("Name") && attribute.get("Value") != null) {
+                values.putIfAbsent(attribute.get("Name"), attribute.get("Value"));
+            }
+        }
+        return new ObjectAttributes(uniqueId, Collections.unmodifiableMap(values));
+    }
+
+    public String getUniqueId() {
+        return uniqueId;
+    }
+
+    public String get(String propertyName) {
+        return values.get(propertyName);
+    }
+
+    public String getName() {
+        return values.get("Name");
+    }
+
+    public String getOwningGroupName() {
+        return values.get(PROPERTY_OWNING_GROUP_NAME);
+    }
+
+    public String getCheckOutState() {
+        return values.get(PROPERTY_CHECKOUT_STATE);
+    }
+
+    public String getRevision() {
+        return values.get(PROPERTY_REVISION);
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    public Map<String, String> asMap() {
+        return values;
+    }
+}
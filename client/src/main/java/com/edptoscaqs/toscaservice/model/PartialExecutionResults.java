@@ -0,0 +1,37 @@
+package com.edptoscaqs.toscaservice.model;
+
+import java.util.Map;
+
+public final class PartialExecutionResults {
+
+    private final Map<String, Integer> testResults;
+    private final String entityTag;
+    private final boolean modified;
+
+    private PartialExecutionResults(Map<String, Integer> testResults, String entityTag, boolean modified) {
+        this.testResults = testResults;
+        this.entityTag = entityTag;
+        this.modified = modified;
+    }
+
+    public static PartialExecutionResults of(Map<String, Integer> testResults, String entityTag) {
+        return new PartialExecutionResults(testResults, entityTag, true);
+    }
+
+    // The server answered 304, the counts of the previous request are still current
+    public static PartialExecutionResults notModified(String entityTag) {
+        return new PartialExecutionResults(null, entityTag, false);
+    }
+
+    public Map<String, Integer> getTestResults() {
+        return testResults;
+    }
+
+    public String getEntityTag() {
+        return entityTag;
+    }
+
+    public boolean isModified() {
+        return modified;
+    }
+}
@@ -0,0 +1,56 @@
+package com.edptoscaqs.toscaservice.model;
+
+import java.util.*;
+
+public final class TestEventTopology {
+
+    private final String testEventName;
+    private final ObjectAttributes testEventAttributes;
+    private final Map<String, ExecutionListTopology> executionLists;
+    private final long loadedAt;
+
+    public TestEventTopology(String testEventName, ObjectAttributes testEventAttributes, List<ExecutionListTopology> executionLists, long loadedAt) {
+        this.testEventName = testEventName;
+        this.testEventAttributes = testEventAttributes;
+        Map<String, ExecutionListTopology> executionListsById = new LinkedHashMap<>();
+        executionLists.forEach(executionList -> executionListsById.put(executionList.getUniqueId(), executionList));
+        this.executionLists = Collections.unmodifiableMap(executionListsById);
+        this.loadedAt = loadedAt;
+    }
+
+    public String getTestEventName() {
+        return testEventName;
+    }
+
+    public String getTestEventId() {
+        return testEventAttributes.getUniqueId();
+    }
+
+    public ObjectAttributes getTestEventAttributes() {
+        return testEventAttributes;
+    }
+
+    public List<String> getExecutionListIds() {
+        return Collections.unmodifiableList(new ArrayList<>(executionLists.keySet()));
+    }
+
+    public Collection<ExecutionListTopology> getExecutionLists() {
+        return executionLists.values();
+    }
+
+    public boolean containsExecutionList(String executionListId) {
+        return executionLists.containsKey(executionListId);
+    }
+
+    public ExecutionListTopology getExecutionList(String executionListId) {
+        return executionLists.get(executionListId);
+    }
+
+    public int getTestCaseCount() {
+        return executionLists.values().stream().mapToInt(executionList -> executionList.getTestCases().size()).sum();
+    }
+
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+}
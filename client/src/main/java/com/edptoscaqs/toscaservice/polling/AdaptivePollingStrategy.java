@@ -0,0 +1,62 @@
+package com.edptoscaqs.toscaservice.polling;
+
+import com.edptoscaqs.toscaservice.enums.ExecutionStatusEnum;
+import org.springframework.stereotype.Component;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+@Component
+public class AdaptivePollingStrategy implements PollingStrategy {
+
+    // Once this share of the test cases has results the end is near, so the interval goes back to the minimum
+    protected static final double NEAR_COMPLETION_RATIO = 0.9;
+    protected static final double BACKOFF_FACTOR = 2.0;
+
+    private final Supplier<Random> randomSupplier;
+
+    public AdaptivePollingStrategy() {
+        this(ThreadLocalRandom::current);
+    }
+
+    protected AdaptivePollingStrategy(Supplier<Random> randomSupplier) {
+        this.randomSupplier = randomSupplier;
+    }
+
+    @Override
+    public PollingSchedule start(long minInterval, long maxInterval, int totalTestCases) {
+        long min = Math.max(minInterval, 0);
+        return new AdaptiveSchedule(min, Math.max(maxInterval, min), totalTestCases);
+    }
+
+    private class AdaptiveSchedule implements PollingSchedule {
+        private final long minInterval;
+        private final long maxInterval;
+        private final int totalTestCases;
+        private double currentInterval;
+        private boolean firstPoll = true;
+
+        AdaptiveSchedule(long minInterval, long maxInterval, int totalTestCases) {
+            this.minInterval = minInterval;
+            this.maxInterval = maxInterval;
+            this.totalTestCases = totalTestCases;
+            this.currentInterval = minInterval;
+        }
+
+        @Override
+        public long nextDelay(ExecutionStatusEnum status, int completedTestCases) {
+            if (firstPoll || status != ExecutionStatusEnum.IN_PROGRESS || isNearCompletion(completedTestCases)) {
+                currentInterval = minInterval;
+            } else {
+                currentInterval = Math.min(Math.max(currentInterval, 1) * BACKOFF_FACTOR, maxInterval);
+            }
+            firstPoll = false;
+            return PollingIntervals.withJitter((long) currentInterval, minInterval, maxInterval, randomSupplier.get());
+        }
+
+        private boolean isNearCompletion(int completedTestCases) {
+            return totalTestCases > 0 && completedTestCases >= totalTestCases * NEAR_COMPLETION_RATIO;
+        }
+    }
+}
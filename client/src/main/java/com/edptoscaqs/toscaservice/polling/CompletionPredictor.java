@@ -0,0 +1,67 @@
+package com.edptoscaqs.toscaservice.polling;
+
+import com.edptoscaqs.toscaservice.model.ExecutionRecord;
+import com.edptoscaqs.toscaservice.model.ExecutionRecord.ProgressPoint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class CompletionPredictor {
+
+    private final List<ExecutionRecord> executionRecords;
+
+    public CompletionPredictor(List<ExecutionRecord> executionRecords) {
+        List<ExecutionRecord> usableRecords = new ArrayList<>();
+        executionRecords.stream().filter(executionRecord -> executionRecord.getDurationMillis() > 0).forEach(usableRecords::add);
+        this.executionRecords = Collections.unmodifiableList(usableRecords);
+    }
+
+    public boolean hasHistory() {
+        return !executionRecords.isEmpty();
+    }
+
+    // Median over the recorded runs of the time they still needed at the same point, or -1 without history.
+    // Runs with a different number of test cases are scaled linearly.
+    public long predictRemainingTime(long elapsedMillis, int completedTestCases, int totalTestCases) {
+        if (!hasHistory()) {
+            return -1;
+        }
+        List<Long> remainingTimes = new ArrayList<>();
+        for (ExecutionRecord executionRecord : executionRecords) {
+            double scale = totalTestCases > 0 && executionRecord.getTotalTestCases() > 0
+                    ? (double) totalTestCases / executionRecord.getTotalTestCases() : 1.0;
+            long expectedDuration = (long) (executionRecord.getDurationMillis() * scale);
+            long reachedAt = completedTestCases > 0 && totalTestCases > 0
+                    ? timeToReach(executionRecord, (double) completedTestCases / totalTestCases)
+                    : -1;
+            long remainingTime = reachedAt >= 0
+                    ? expectedDuration - (long) (reachedAt * scale)
+                    : expectedDuration - elapsedMillis;
+            remainingTimes.add(Math.max(remainingTime, 0));
+        }
+        Collections.sort(remainingTimes);
+        return remainingTimes.get(remainingTimes.size() / 2);
+    }
+
+    // Time at which the recorded run reached the given share of its test cases, interpolated between two polls
+    private long timeToReach(ExecutionRecord executionRecord, double completedRatio) {
+        if (executionRecord.getTotalTestCases() <= 0 || executionRecord.getProgress().isEmpty()) {
+            return -1;
+        }
+        long previousElapsed = 0;
+        double previousRatio = 0;
+        for (ProgressPoint point : executionRecord.getProgress()) {
+            double ratio = (double) point.getCompletedTestCases() / executionRecord.getTotalTestCases();
+            if (ratio >= completedRatio) {
+                if (ratio == previousRatio) {
+                    return point.getElapsedMillis();
+                }
+                return previousElapsed + (long) ((point.getElapsedMillis() - previousElapsed) * (completedRatio - previousRatio) / (ratio - previousRatio));
+            }
+            previousElapsed = point.getElapsedMillis();
+            previousRatio = ratio;
+        }
+        return -1;
+    }
+}
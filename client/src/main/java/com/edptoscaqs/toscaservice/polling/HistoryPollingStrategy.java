@@ -0,0 +1,117 @@
+package com.edptoscaqs.toscaservice.polling;
+
+import com.edptoscaqs.toscaservice.cache.ExecutionHistoryStore;
+import com.edptoscaqs.toscaservice.configuration.ToscaConfigParameters;
+import com.edptoscaqs.toscaservice.enums.ExecutionStatusEnum;
+import com.edptoscaqs.toscaservice.model.ExecutionRecord;
+import com.edptoscaqs.toscaservice.model.ExecutionRecord.ProgressPoint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+@Primary
+@Component
+public class HistoryPollingStrategy implements PollingStrategy {
+
+    private final ExecutionHistoryStore executionHistoryStore;
+    private final ToscaConfigParameters toscaConfiguration;
+    private final PollingStrategy fallbackStrategy;
+    private final LongSupplier clock;
+    private final Supplier<Random> randomSupplier;
+
+    @Autowired
+    public HistoryPollingStrategy(ExecutionHistoryStore executionHistoryStore,
+                                  ToscaConfigParameters toscaConfiguration,
+                                  AdaptivePollingStrategy fallbackStrategy) {
+        this(executionHistoryStore, toscaConfiguration, fallbackStrategy, System::currentTimeMillis, ThreadLocalRandom::current);
+    }
+
+    protected HistoryPollingStrategy(ExecutionHistoryStore executionHistoryStore,
+                                     ToscaConfigParameters toscaConfiguration,
+                                     PollingStrategy fallbackStrategy,
+                                     LongSupplier clock,
+                                     Supplier<Random> randomSupplier) {
+        this.executionHistoryStore = executionHistoryStore;
+        this.toscaConfiguration = toscaConfiguration;
+        this.fallbackStrategy = fallbackStrategy;
+        this.clock = clock;
+        this.randomSupplier = randomSupplier;
+    }
+
+    @Override
+    public PollingSchedule start(long minInterval, long maxInterval, int totalTestCases) {
+        String workspaceKey = toscaConfiguration.getWorkspaceKey();
+        String testEventName = toscaConfiguration.getTestEventName();
+        CompletionPredictor completionPredictor = new CompletionPredictor(executionHistoryStore.getRecords(workspaceKey, testEventName));
+        long min = Math.max(minInterval, 0);
+        return new HistorySchedule(workspaceKey, testEventName, completionPredictor,
+                fallbackStrategy.start(minInterval, maxInterval, totalTestCases), min, Math.max(maxInterval, min), totalTestCases);
+    }
+
+    // Polls at half of the predicted remaining time: sparse at the start, denser towards the expected end.
+    // Without history the fallback schedule decides, while the progress of this run is still recorded for the next ones.
+    private class HistorySchedule implements PollingSchedule {
+        private final String workspaceKey;
+        private final String testEventName;
+        private final CompletionPredictor completionPredictor;
+        private final PollingSchedule fallbackSchedule;
+        private final long minInterval;
+        private final long maxInterval;
+        private final int totalTestCases;
+        private final long startedAt;
+        private final List<ProgressPoint> progress = new ArrayList<>();
+        private long estimatedRemainingTime = -1;
+
+        HistorySchedule(String workspaceKey, String testEventName, CompletionPredictor completionPredictor,
+                        PollingSchedule fallbackSchedule, long minInterval, long maxInterval, int totalTestCases) {
+            this.workspaceKey = workspaceKey;
+            this.testEventName = testEventName;
+            this.completionPredictor = completionPredictor;
+            this.fallbackSchedule = fallbackSchedule;
+            this.minInterval = minInterval;
+            this.maxInterval = maxInterval;
+            this.totalTestCases = totalTestCases;
+            this.startedAt = clock.getAsLong();
+        }
+
+        @Override
+        public long nextDelay(ExecutionStatusEnum status, int completedTestCases) {
+            long elapsed = clock.getAsLong() - startedAt;
+            recordProgress(elapsed, completedTestCases);
+            estimatedRemainingTime = completionPredictor.predictRemainingTime(elapsed, completedTestCases, totalTestCases);
+            if (estimatedRemainingTime < 0) {
+                return fallbackSchedule.nextDelay(status, completedTestCases);
+            }
+            if (status != ExecutionStatusEnum.IN_PROGRESS) {
+                return minInterval;
+            }
+            return PollingIntervals.withJitter(PollingIntervals.clamp(estimatedRemainingTime / 2, minInterval, maxInterval), minInterval, maxInterval, randomSupplier.get());
+        }
+
+        @Override
+        public long getEstimatedRemainingTime() {
+            return estimatedRemainingTime;
+        }
+
+        @Override
+        public void finish(int completedTestCases) {
+            long duration = clock.getAsLong() - startedAt;
+            recordProgress(duration, completedTestCases);
+            executionHistoryStore.record(workspaceKey, testEventName, new ExecutionRecord(duration, totalTestCases, clock.getAsLong(), progress));
+        }
+
+        private void recordProgress(long elapsed, int completedTestCases) {
+            // Only changes are kept, which is enough to interpolate the completion curve
+            if (completedTestCases >= 0 && (progress.isEmpty() || progress.get(progress.size() - 1).getCompletedTestCases() != completedTestCases)) {
+                progress.add(new ProgressPoint(elapsed, completedTestCases));
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.edptoscaqs.toscaservice.polling;
+
+import java.util.Random;
+
+public final class PollingIntervals {
+
+    private static final long JITTER_DIVISOR = 4;
+
+    private PollingIntervals() {
+    }
+
+    // Spreads the delay by a quarter of the interval within the bounds, so pipelines started together drift apart
+    public static long withJitter(long interval, long minInterval, long maxInterval, Random random) {
+        if (maxInterval == minInterval) {
+            return interval;
+        }
+        long spread = interval / JITTER_DIVISOR;
+        long delay = interval - spread + (long) (random.nextDouble() * (2 * spread + 1));
+        return clamp(delay, minInterval, maxInterval);
+    }
+
+    public static long clamp(long interval, long minInterval, long maxInterval) {
+        return Math.max(minInterval, Math.min(interval, maxInterval));
+    }
+}
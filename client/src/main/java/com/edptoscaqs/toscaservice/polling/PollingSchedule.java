@@ -0,0 +1,16 @@
+package com.edptoscaqs.toscaservice.polling;
+
+import com.edptoscaqs.toscaservice.enums.ExecutionStatusEnum;
+
+public interface PollingSchedule {
+    // completedTestCases is negative when no partial results were available for this poll
+    long nextDelay(ExecutionStatusEnum status, int completedTestCases);
+
+    // Milliseconds until the execution is expected to finish, or -1 when there is nothing to base an estimate on
+    default long getEstimatedRemainingTime() {
+        return -1;
+    }
+
+    default void finish(int completedTestCases) {
+    }
+}
@@ -0,0 +1,5 @@
+package com.edptoscaqs.toscaservice.polling;
+
+public interface PollingStrategy {
+    PollingSchedule start(long minInterval, long maxInterval, int totalTestCases);
+}
@@ -0,0 +1,471 @@
+package com.edptoscaqs.toscaservice.utilities;
+
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.SequenceInputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Rewrites a results document with XmlContentRewriter, in parallel: runs of sibling <testcase> elements are cut out of
+// the file, rewritten as chunks on a fork-join pool and written back in document order between the parts around them,
+// which are rewritten on the calling thread. Without a DTD the content of an element is parsed the same way wherever it
+// appears, so the output is byte for byte the output of the sequential pass, and the document is well-formed only when
+// every chunk and the rest of it are.
+class ParallelXmlContentRewriter {
+
+    private static final long MIN_CHUNK_SIZE = 256 * 1024L;
+    private static final long MAX_CHUNK_SIZE = 8 * 1024 * 1024L;
+    private static final String SPLIT_ELEMENT = "testcase";
+    private static final byte[] CHUNK_MARKER = ("<?" + XmlContentRewriter.CHUNK_MARKER + "?>").getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CHUNK_START = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><chunk>".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CHUNK_END = "</chunk>".getBytes(StandardCharsets.US_ASCII);
+
+    private final ForkJoinPool pool;
+    private final FileChannel channel;
+    private final List<long[]> chunks;
+    private final Writer writer;
+    private final Deque<PendingChunk> pendingChunks = new ArrayDeque<>();
+    private int nextChunk;
+
+    private ParallelXmlContentRewriter(ForkJoinPool pool, FileChannel channel, List<long[]> chunks, Writer writer) {
+        this.pool = pool;
+        this.channel = channel;
+        this.chunks = chunks;
+        this.writer = writer;
+    }
+
+    // Same contract as XmlContentRewriter.rewrite; documents that cannot be split, or a pool with a single worker,
+    // rewrite sequentially
+    static boolean rewrite(ForkJoinPool pool, Path xmlFile, Writer writer)
+            throws ParserConfigurationException, SAXException, IOException {
+        if (pool.getParallelism() < 2) {
+            try (InputStream xmlContent = Files.newInputStream(xmlFile)) {
+                return XmlContentRewriter.rewrite(new InputSource(xmlContent), writer);
+            }
+        }
+        long chunkSize = Files.size(xmlFile) / (pool.getParallelism() * 4L);
+        return rewrite(pool, xmlFile, writer, Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, chunkSize)));
+    }
+
+    static boolean rewrite(ForkJoinPool pool, Path xmlFile, Writer writer, long chunkSize)
+            throws ParserConfigurationException, SAXException, IOException {
+        List<long[]> chunks;
+        try (InputStream xmlContent = Files.newInputStream(xmlFile)) {
+            chunks = new ChunkScanner(xmlContent, chunkSize).scan();
+        }
+        if (chunks.isEmpty()) {
+            try (InputStream xmlContent = Files.newInputStream(xmlFile)) {
+                return XmlContentRewriter.rewrite(new InputSource(xmlContent), writer);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(xmlFile, StandardOpenOption.READ)) {
+            return new ParallelXmlContentRewriter(pool, channel, chunks, writer).rewrite();
+        }
+    }
+
+    private boolean rewrite() throws ParserConfigurationException, SAXException, IOException {
+        try {
+            if (!XmlContentRewriter.rewriteSkeleton(new InputSource(skeleton()), new SkeletonWriter(), this::submitChunk)) {
+                return false;
+            }
+            while (!pendingChunks.isEmpty()) {
+                writePendingChunk();
+            }
+            return true;
+        } finally {
+            pendingChunks.forEach(pendingChunk -> pendingChunk.output.cancel(true));
+        }
+    }
+
+    // The file with every chunk replaced by a marker processing instruction
+    private InputStream skeleton() throws IOException {
+        List<InputStream> parts = new ArrayList<>();
+        long position = 0;
+        for (long[] chunk : chunks) {
+            parts.add(new RegionInputStream(channel, position, chunk[0]));
+            parts.add(new ByteArrayInputStream(CHUNK_MARKER));
+            position = chunk[1];
+        }
+        parts.add(new RegionInputStream(channel, position, channel.size()));
+        return new SequenceInputStream(Collections.enumeration(parts));
+    }
+
+    // The chunk is started as soon as the skeleton reaches it; the skeleton only runs ahead of the written output
+    // by twice the parallelism of the pool, so the chunks held in memory are bounded
+    private void submitChunk(Map<String, String> namespaceBindings) throws SAXException, IOException {
+        long[] chunk = chunks.get(nextChunk++);
+        pendingChunks.addLast(new PendingChunk(AsyncTasks.supplyAsync(() -> rewriteChunk(chunk, namespaceBindings), pool)));
+        while (pendingChunks.size() > pool.getParallelism() * 2) {
+            writePendingChunk();
+        }
+    }
+
+    private String rewriteChunk(long[] chunk, Map<String, String> namespaceBindings) throws ParserConfigurationException, SAXException, IOException {
+        InputStream wrappedChunk = new SequenceInputStream(Collections.enumeration(List.of(
+                new ByteArrayInputStream(CHUNK_START),
+                new RegionInputStream(channel, chunk[0], chunk[1]),
+                new ByteArrayInputStream(CHUNK_END))));
+        StringWriter output = new StringWriter();
+        XmlContentRewriter.rewriteFragment(new InputSource(wrappedChunk), namespaceBindings, output);
+        return output.toString();
+    }
+
+    private void writePendingChunk() throws SAXException, IOException {
+        PendingChunk pendingChunk = pendingChunks.removeFirst();
+        writer.write(join(pendingChunk.output));
+        writer.append(pendingChunk.following);
+    }
+
+    private static String join(CompletableFuture<String> task) throws SAXException, IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while rewriting the XML content");
+        } catch (ExecutionException e) {
+            Exception cause = AsyncTasks.unwrap(e);
+            if (cause instanceof SAXException) {
+                throw (SAXException) cause;
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new SAXException(cause);
+        }
+    }
+
+    private static class PendingChunk {
+        private final CompletableFuture<String> output;
+        // The skeleton output between this chunk and the next one
+        private final StringBuilder following = new StringBuilder();
+
+        private PendingChunk(CompletableFuture<String> output) {
+            this.output = output;
+        }
+    }
+
+    // Skeleton output goes straight to the writer unless a chunk before it is still pending
+    private class SkeletonWriter extends Writer {
+        @Override
+        public void write(char[] text, int start, int length) throws IOException {
+            if (pendingChunks.isEmpty()) {
+                writer.write(text, start, length);
+            } else {
+                pendingChunks.peekLast().following.append(text, start, length);
+            }
+        }
+
+        @Override
+        public void write(String text, int start, int length) throws IOException {
+            if (pendingChunks.isEmpty()) {
+                writer.write(text, start, length);
+            } else {
+                pendingChunks.peekLast().following.append(text, start, start + length);
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    // Positional reads, so the chunks of one channel can be read by several threads
+    private static class RegionInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        private RegionInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            int read = channel.read(ByteBuffer.wrap(buffer, offset, (int) Math.min(length, end - position)), position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+    }
+
+    // Finds the chunks with a lexical scan of the bytes: the markup is ASCII, so UTF-8 needs no decoding. Runs of
+    // sibling <testcase> elements below the root, with the text, comments and processing instructions between them,
+    // are closed once they reach the chunk size. Nothing is split when the document is not UTF-8, has a DTD or does
+    // not look well-formed; the sequential pass reports the error then.
+    private static class ChunkScanner {
+        private static final Pattern VERSION = Pattern.compile("version\\s*=\\s*[\"']([^\"']*)[\"']");
+        private static final Pattern ENCODING = Pattern.compile("encoding\\s*=\\s*[\"']([^\"']*)[\"']");
+
+        private final InputStream input;
+        private final long chunkSize;
+        private final byte[] buffer = new byte[64 * 1024];
+        private final Deque<String> openElements = new ArrayDeque<>();
+        private final List<long[]> chunks = new ArrayList<>();
+        private int index;
+        private int limit;
+        private long bufferPosition;
+        private int splitElementDepth = -1;
+        private long runStart = -1;
+        private long runEnd = -1;
+
+        private ChunkScanner(InputStream input, long chunkSize) {
+            this.input = input;
+            this.chunkSize = chunkSize;
+        }
+
+        private List<long[]> scan() throws IOException {
+            if (!isUtf8Declaration()) {
+                return Collections.emptyList();
+            }
+            for (int c = next(); c != -1; c = next()) {
+                if (c != '<') {
+                    continue;
+                }
+                long markupStart = position() - 1;
+                c = next();
+                boolean scanned;
+                if (c == '!') {
+                    scanned = skipCommentOrCData();
+                } else if (c == '?') {
+                    scanned = skipProcessingInstruction();
+                } else if (c == '/') {
+                    scanned = scanEndTag();
+                } else {
+                    scanned = scanStartTag(c, markupStart);
+                }
+                if (!scanned) {
+                    return Collections.emptyList();
+                }
+            }
+            return openElements.isEmpty() ? chunks : Collections.emptyList();
+        }
+
+        private boolean isUtf8Declaration() throws IOException {
+            fill();
+            if (limit >= 3 && (buffer[0] & 0xFF) == 0xEF && (buffer[1] & 0xFF) == 0xBB && (buffer[2] & 0xFF) == 0xBF) {
+                index = 3;
+            }
+            String start = new String(buffer, index, Math.min(limit - index, 6), StandardCharsets.ISO_8859_1);
+            if (!start.startsWith("<?xml") || start.length() < 6 || !Character.isWhitespace(start.charAt(5))) {
+                return true;
+            }
+            StringBuilder declaration = new StringBuilder();
+            for (int c = next(); c != -1; c = next()) {
+                declaration.append((char) c);
+                if (c == '>' && declaration.charAt(declaration.length() - 2) == '?') {
+                    Matcher version = VERSION.matcher(declaration);
+                    Matcher encoding = ENCODING.matcher(declaration);
+                    return version.find() && "1.0".equals(version.group(1))
+                            && (!encoding.find() || "UTF-8".equalsIgnoreCase(encoding.group(1)));
+                }
+            }
+            return false;
+        }
+
+        // DOCTYPE declarations are not split
+        private boolean skipCommentOrCData() throws IOException {
+            int c = next();
+            if (c == '-') {
+                return next() == '-' && skipPast("-->");
+            }
+            if (c == '[') {
+                for (char expected : "CDATA[".toCharArray()) {
+                    if (next() != expected) {
+                        return false;
+                    }
+                }
+                return skipPast("]]>");
+            }
+            return false;
+        }
+
+        // A document that already contains the marker cannot be split
+        private boolean skipProcessingInstruction() throws IOException {
+            StringBuilder target = new StringBuilder();
+            int c = next();
+            while (c != -1 && c != '?' && !isWhitespace(c)) {
+                target.append((char) c);
+                c = next();
+            }
+            if (XmlContentRewriter.CHUNK_MARKER.equals(target.toString())) {
+                return false;
+            }
+            return c != -1 && skipPast("?>", c);
+        }
+
+        private boolean scanStartTag(int c, long markupStart) throws IOException {
+            StringBuilder name = new StringBuilder();
+            while (c != -1 && c != '>' && c != '/' && !isWhitespace(c)) {
+                name.append((char) c);
+                c = next();
+            }
+            while (c != '>') {
+                if (c == '"' || c == '\'') {
+                    int quote = c;
+                    do {
+                        c = next();
+                    } while (c != quote && c != -1);
+                } else if (c == '/') {
+                    if (next() != '>') {
+                        return false;
+                    }
+                    startElement(name.toString(), markupStart, true);
+                    return true;
+                }
+                if (c == -1) {
+                    return false;
+                }
+                c = next();
+            }
+            startElement(name.toString(), markupStart, false);
+            return true;
+        }
+
+        private boolean scanEndTag() throws IOException {
+            StringBuilder name = new StringBuilder();
+            int c = next();
+            while (c != -1 && c != '>' && !isWhitespace(c)) {
+                name.append((char) c);
+                c = next();
+            }
+            while (isWhitespace(c)) {
+                c = next();
+            }
+            if (c != '>' || openElements.isEmpty() || !openElements.pop().contentEquals(name)) {
+                return false;
+            }
+            if (splitElementDepth == openElements.size()) {
+                splitElementDepth = -1;
+                endSplitElement();
+            } else if (splitElementDepth < 0) {
+                closeRun();
+            }
+            return true;
+        }
+
+        private void startElement(String name, long markupStart, boolean empty) {
+            if (splitElementDepth < 0) {
+                if (!openElements.isEmpty() && SPLIT_ELEMENT.equals(name)) {
+                    if (runStart < 0) {
+                        runStart = markupStart;
+                    }
+                    if (empty) {
+                        endSplitElement();
+                    } else {
+                        splitElementDepth = openElements.size();
+                    }
+                } else {
+                    closeRun();
+                }
+            }
+            if (!empty) {
+                openElements.push(name);
+            }
+        }
+
+        private void endSplitElement() {
+            runEnd = position();
+            if (runEnd - runStart >= chunkSize) {
+                closeRun();
+            }
+        }
+
+        private void closeRun() {
+            if (runStart >= 0 && runEnd > runStart) {
+                chunks.add(new long[]{runStart, runEnd});
+            }
+            runStart = -1;
+            runEnd = -1;
+        }
+
+        private boolean skipPast(String terminator) throws IOException {
+            return skipPast(terminator, 0);
+        }
+
+        // Compares the last bytes read, the first of which may already have been consumed, with the terminator
+        private boolean skipPast(String terminator, int previous) throws IOException {
+            int mask = terminator.length() == 3 ? 0xFFFFFF : 0xFFFF;
+            int expected = 0;
+            for (char c : terminator.toCharArray()) {
+                expected = expected << 8 | c;
+            }
+            int window = previous;
+            for (int c = next(); c != -1; c = next()) {
+                window = (window << 8 | c) & mask;
+                if (window == expected) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean isWhitespace(int c) {
+            return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+        }
+
+        private long position() {
+            return bufferPosition + index;
+        }
+
+        private int next() throws IOException {
+            if (index == limit && !fill()) {
+                return -1;
+            }
+            return buffer[index++] & 0xFF;
+        }
+
+        private boolean fill() throws IOException {
+            bufferPosition += limit;
+            index = 0;
+            limit = 0;
+            int read = input.readNBytes(buffer, 0, buffer.length);
+            if (read <= 0) {
+                return false;
+            }
+            limit = read;
+            return true;
+        }
+    }
+}
@@ -7,7 +7,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.http.HttpHeaders;
 import org.w3c.dom.*;
-import org.w3c.dom.ls.DOMImplementationLS;
 import org.w3c.dom.ls.LSOutput;
 import org.w3c.dom.ls.LSSerializer;
 import org.xml.sax.InputSource;
@@ -15,14 +14,17 @@ import org.xml.sax.SAXException;
 import org.apache.commons.text.StringEscapeUtils;
 
 import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.io.*;
 import java.io.StringReader;
@@ -33,6 +35,8 @@ import static com.edptoscaqs.toscaservice.configuration.Constants.*;
 @Component
 public class Utilities {
 
+    private static final String ESCAPED_SUFFIX = ".escaped";
+
     private final WriterFactory writerFactory;
 
     public Utilities(WriterFactory writerFactory) {
@@ -121,22 +125,40 @@ public class Utilities {
     }
 
     public Map<String, Integer> extractPartialTestResults(String xmlContent) {
-        try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document document = builder.parse(new ByteArrayInputStream(xmlContent.getBytes(StandardCharsets.UTF_8)));
-
-            NodeList testsuiteNodes = document.getElementsByTagName("testsuite");
+        return extractPartialTestResults(new ByteArrayInputStream(xmlContent.getBytes(StandardCharsets.UTF_8)));
+    }
 
-            Element testsuiteElement = (Element) testsuiteNodes.item(0);
-            int totalTests = Integer.parseInt(testsuiteElement.getAttribute("tests"));
-            int failedTests = Integer.parseInt(testsuiteElement.getAttribute("failures"));
-            int skippedTests = testsuiteElement.getAttribute("skipped").isEmpty() ? 0 : Integer.parseInt(testsuiteElement.getAttribute("skipped"));
+    // Only the document up to the first testsuite start element is read, so the cost does not grow with the results
+    public Map<String, Integer> extractPartialTestResults(InputStream xmlContent) {
+        XMLStreamReader reader = null;
+        try {
+            reader = XmlFactories.xmlInputFactory().createXMLStreamReader(xmlContent);
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && "testsuite".equals(reader.getLocalName())) {
+                    int totalTests = Integer.parseInt(reader.getAttributeValue(null, "tests"));
+                    int failedTests = Integer.parseInt(reader.getAttributeValue(null, "failures"));
+                    String skipped = reader.getAttributeValue(null, "skipped");
+                    int skippedTests = skipped == null || skipped.isEmpty() ? 0 : Integer.parseInt(skipped);
 
-            return Map.of("Total Test Cases", totalTests, "Failed Tests", failedTests, "Skipped Tests", skippedTests);
+                    return Map.of("Total Test Cases", totalTests, "Failed Tests", failedTests, "Skipped Tests", skippedTests);
+                }
+            }
         } catch (Exception e) {
             e.printStackTrace();
-            return Collections.emptyMap();
+        } finally {
+            closeQuietly(reader);
+        }
+        return Collections.emptyMap();
+    }
+
+    private static void closeQuietly(XMLStreamReader reader) {
+        if (reader == null) {
+            return;
+        }
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            // Nothing left to read
         }
     }
 
@@ -160,20 +182,10 @@ public class Utilities {
 
     public String escapeXmlContent(String xmlString, LoggerHelper loggerHelper){
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document document = builder.parse(new InputSource(new StringReader(xmlString)));
-            String result;
-            traverseAndEscape(document.getDocumentElement());
-            document.normalizeDocument();
-            result = documentToString(document);
-            result = result.replace("&amp;apos;", "'")
-                    .replace("&amp;quot;", "'")
-                    .replace("&amp;lt;", "&lt;")
-                    .replace("&amp;gt;", "&gt;")
-                    .replace("&amp;amp;", "&amp;")
-                    .replace("&#13;", "\r")
-                    .replace("&#10;", "\n");
+            StringWriter stringWriter = new StringWriter();
+            String result = XmlContentRewriter.rewrite(new InputSource(new StringReader(xmlString)), stringWriter)
+                    ? stringWriter.toString()
+                    : escapeXmlContentWithDocument(new InputSource(new StringReader(xmlString)));
             loggerHelper.logInfo("[XMLResults] XML content is well-formed");
             return result;
         } catch (ParserConfigurationException | SAXException | IOException e) {
@@ -182,6 +194,71 @@ public class Utilities {
         }
     }
 
+    // Reads the results from a file instead of a String; a document that is not well-formed is copied unchanged.
+    // The escaped document is spooled next to the input, because the error can be found after most of it was written.
+    public void escapeXmlContent(Path xmlFile, Writer writer, LoggerHelper loggerHelper) throws IOException {
+        escapeXmlContent(xmlFile, writer, false, loggerHelper);
+    }
+
+    // Same output as escapeXmlContent, with the test cases rewritten in chunks on the common fork-join pool
+    public void escapeXmlContentInParallel(Path xmlFile, Writer writer, LoggerHelper loggerHelper) throws IOException {
+        escapeXmlContent(xmlFile, writer, true, loggerHelper);
+    }
+
+    private void escapeXmlContent(Path xmlFile, Writer writer, boolean parallel, LoggerHelper loggerHelper) throws IOException {
+        Path escapedFile = Files.createTempFile(xmlFile.toAbsolutePath().getParent(), xmlFile.getFileName().toString(), ESCAPED_SUFFIX);
+        try {
+            Path result = escapedFile;
+            try (Writer escapedWriter = Files.newBufferedWriter(escapedFile, StandardCharsets.UTF_8)) {
+                if (!rewriteXmlContent(xmlFile, escapedWriter, parallel)) {
+                    try (InputStream documentContent = Files.newInputStream(xmlFile)) {
+                        escapedWriter.write(escapeXmlContentWithDocument(new InputSource(documentContent)));
+                    }
+                }
+                loggerHelper.logInfo("[XMLResults] XML content is well-formed");
+            } catch (ParserConfigurationException | SAXException e) {
+                loggerHelper.logWarning("[XMLResults] The XML is not well-formed and could not be corrected. It may not be interpreted correctly.");
+                result = xmlFile;
+            }
+            try (Reader reader = Files.newBufferedReader(result, StandardCharsets.UTF_8)) {
+                reader.transferTo(writer);
+            }
+        } finally {
+            Files.deleteIfExists(escapedFile);
+        }
+    }
+
+    private boolean rewriteXmlContent(Path xmlFile, Writer writer, boolean parallel) throws ParserConfigurationException, SAXException, IOException {
+        if (parallel) {
+            return ParallelXmlContentRewriter.rewrite(ForkJoinPool.commonPool(), xmlFile, writer);
+        }
+        try (InputStream xmlContent = Files.newInputStream(xmlFile)) {
+            return XmlContentRewriter.rewrite(new InputSource(xmlContent), writer);
+        }
+    }
+
+    // The original DOM round trip. XmlContentRewriter reproduces its output in a single pass; it is still used
+    // for documents with a DTD or another XML version and as the reference of the equivalence tests.
+    String escapeXmlContentWithDocument(InputSource xmlContent) throws ParserConfigurationException, SAXException, IOException {
+        DocumentBuilder builder = XmlFactories.acquireDocumentBuilder();
+        Document document;
+        try {
+            document = builder.parse(xmlContent);
+        } finally {
+            XmlFactories.release(builder);
+        }
+        traverseAndEscape(document.getDocumentElement());
+        document.normalizeDocument();
+        return documentToString(document)
+                .replace("&amp;apos;", "'")
+                .replace("&amp;quot;", "'")
+                .replace("&amp;lt;", "&lt;")
+                .replace("&amp;gt;", "&gt;")
+                .replace("&amp;amp;", "&amp;")
+                .replace("&#13;", "\r")
+                .replace("&#10;", "\n");
+    }
+
     protected void traverseAndEscape(Node node) {
         if (node.getNodeType() == Node.ELEMENT_NODE) {
             Element element = (Element) node;
@@ -209,9 +286,7 @@ public class Utilities {
     protected String documentToString(Document document) {
         try {
             // Set the encoding to UTF-8
-            DOMImplementationLS domImplementation = (DOMImplementationLS) document.getImplementation();
-            LSSerializer lsSerializer = domImplementation.createLSSerializer();
-            LSOutput lsOutput = domImplementation.createLSOutput();
+            LSOutput lsOutput = XmlFactories.createOutput();
             lsOutput.setEncoding("UTF-8");
 
             // Add the required namespaces to the root element
@@ -219,12 +294,15 @@ public class Utilities {
             root.setAttribute("xmlns:xsi", "http://www.w3.org/2001/XMLSchema-instance");
             root.setAttribute("xmlns:xsd", "http://www.w3.org/2001/XMLSchema");
 
-            // Configure the serializer to not format the output
-            lsSerializer.getDomConfig().setParameter("format-pretty-print", false);
-
+            // The serializer is configured to not format the output
+            LSSerializer lsSerializer = XmlFactories.acquireSerializer();
             StringWriter stringWriter = new StringWriter();
             lsOutput.setCharacterStream(stringWriter);
-            lsSerializer.write(document, lsOutput);
+            try {
+                lsSerializer.write(document, lsOutput);
+            } finally {
+                XmlFactories.release(lsSerializer);
+            }
 
             // Insert a newline character between the XML declaration and the root element
             String result = stringWriter.toString().replaceFirst("\\?>", "?>\n");
@@ -0,0 +1,453 @@
+package com.edptoscaqs.toscaservice.utilities;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.ext.DefaultHandler2;
+import org.xml.sax.ext.Locator2;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Single pass equivalent of the DOM round trip in Utilities: escapeXml11 on every text node and attribute,
+// LSSerializer output and the chained String.replace calls. Text and attribute characters are written in
+// their final form, so only the SAX event being processed is held in memory.
+class XmlContentRewriter extends DefaultHandler2 {
+
+    static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n";
+    // Target of the processing instruction that stands for a chunk in the skeleton of ParallelXmlContentRewriter
+    static final String CHUNK_MARKER = "edptoscaqs-chunk";
+
+    private static final String LEXICAL_HANDLER = "http://xml.org/sax/properties/lexical-handler";
+    private static final String XSI_NAMESPACE = "http://www.w3.org/2001/XMLSchema-instance";
+    private static final String XSD_NAMESPACE = "http://www.w3.org/2001/XMLSchema";
+    private static final char[] CDATA_OPEN = "<![CDATA[".toCharArray();
+    private static final char[] CDATA_CLOSE = "]]>".toCharArray();
+    private static final char[] COMMENT_OPEN = "<!--".toCharArray();
+    private static final char[] COMMENT_CLOSE = "-->".toCharArray();
+    // The serializer writes comments, processing instructions and CDATA sections as they are, so the
+    // replacements of the DOM path still apply to them. Every target starts with its only '&'.
+    private static final char[][] RAW_TARGETS = {
+            "&amp;apos;".toCharArray(), "&amp;quot;".toCharArray(), "&amp;lt;".toCharArray(), "&amp;gt;".toCharArray(),
+            "&amp;amp;".toCharArray(), "&#13;".toCharArray(), "&#10;".toCharArray()
+    };
+    private static final char[][] RAW_REPLACEMENTS = {
+            "'".toCharArray(), "'".toCharArray(), "&lt;".toCharArray(), "&gt;".toCharArray(),
+            "&amp;".toCharArray(), "\r".toCharArray(), "\n".toCharArray()
+    };
+    private static final Comparator<String[]> BY_ATTRIBUTE_NAME = Comparator.comparing(attribute -> attribute[0]);
+
+    private final Writer writer;
+    private final ChunkListener chunkListener;
+    private final boolean fragment;
+    private final StringWriter prolog = new StringWriter();
+    private final List<String[]> attributes = new ArrayList<>();
+    private final Map<String, Deque<String>> namespaceBindings = new HashMap<>();
+    private final Deque<NamespaceDeclaration> namespaceDeclarations = new ArrayDeque<>();
+    private final int[] rawMatched = new int[RAW_TARGETS.length];
+    private Writer output = prolog;
+    private Locator locator;
+    private int depth;
+    private boolean startTagOpen;
+    private boolean inCData;
+    private boolean cdataStart;
+    private boolean cdataOpen;
+    private char highSurrogate;
+
+    private XmlContentRewriter(Writer writer, ChunkListener chunkListener, Map<String, String> fragmentBindings) {
+        this.writer = writer;
+        this.chunkListener = chunkListener;
+        this.fragment = fragmentBindings != null;
+        if (fragment) {
+            output = writer;
+            fragmentBindings.forEach((prefix, uri) -> namespaceBindings.computeIfAbsent(prefix, key -> new ArrayDeque<>()).push(uri));
+        }
+    }
+
+    // Returns false, before anything is written, when the document declares a DTD or is not XML 1.0;
+    // those are left to the DOM path, which expands the DTD and serializes the declaration itself
+    static boolean rewrite(InputSource xmlContent, Writer writer) throws ParserConfigurationException, SAXException, IOException {
+        return parse(xmlContent, new XmlContentRewriter(writer, null, null));
+    }
+
+    // Rewrites a document in which chunks were replaced by CHUNK_MARKER processing instructions. The listener is
+    // called at every marker, after everything before the chunk was written, with the namespace bindings in scope.
+    static boolean rewriteSkeleton(InputSource xmlContent, Writer writer, ChunkListener chunkListener)
+            throws ParserConfigurationException, SAXException, IOException {
+        return parse(xmlContent, new XmlContentRewriter(writer, chunkListener, null));
+    }
+
+    // Rewrites the content of the root element only, as it is written when it appears where the bindings are in scope
+    static void rewriteFragment(InputSource wrappedContent, Map<String, String> namespaceBindings, Writer writer)
+            throws ParserConfigurationException, SAXException, IOException {
+        parse(wrappedContent, new XmlContentRewriter(writer, null, namespaceBindings));
+    }
+
+    private static boolean parse(InputSource xmlContent, XmlContentRewriter rewriter) throws ParserConfigurationException, SAXException, IOException {
+        SAXParser parser = XmlFactories.acquireSaxParser();
+        try {
+            parser.setProperty(LEXICAL_HANDLER, rewriter);
+            parser.parse(xmlContent, rewriter);
+        } catch (UnsupportedDocumentException e) {
+            return false;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            XmlFactories.release(parser);
+        }
+        return true;
+    }
+
+    @Override
+    public void setDocumentLocator(Locator locator) {
+        this.locator = locator;
+    }
+
+    @Override
+    public void startDTD(String name, String publicId, String systemId) throws SAXException {
+        throw new UnsupportedDocumentException();
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes elementAttributes) throws SAXException {
+        if (fragment && depth == 0) {
+            depth++;
+            return;
+        }
+        if (depth == 0) {
+            if (locator instanceof Locator2 && !"1.0".equals(((Locator2) locator).getXMLVersion())) {
+                throw new UnsupportedDocumentException();
+            }
+            // Comments and processing instructions before the root element are held until the checks are over
+            output = writer;
+            write(XML_DECLARATION);
+            write(prolog.toString());
+        }
+        closeStartTag();
+        attributes.clear();
+        for (int i = 0; i < elementAttributes.getLength(); i++) {
+            String name = elementAttributes.getQName(i);
+            if (depth == 0 && ("xmlns:xsi".equals(name) || "xmlns:xsd".equals(name))) {
+                continue;
+            }
+            attributes.add(new String[]{name, elementAttributes.getValue(i)});
+        }
+        if (depth == 0) {
+            attributes.add(new String[]{"xmlns:xsi", XSI_NAMESPACE});
+            attributes.add(new String[]{"xmlns:xsd", XSD_NAMESPACE});
+        }
+        // The DOM keeps attributes ordered by name
+        attributes.sort(BY_ATTRIBUTE_NAME);
+        write("<");
+        write(qName);
+        for (String[] attribute : attributes) {
+            if (attribute[0].startsWith("xmlns") && !isWrittenNamespaceDeclaration(attribute[0], attribute[1])) {
+                continue;
+            }
+            write(" ");
+            write(attribute[0]);
+            write("=\"");
+            writeAttributeValue(attribute[1]);
+            write("\"");
+        }
+        startTagOpen = true;
+        depth++;
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) {
+        depth--;
+        if (fragment && depth == 0) {
+            return;
+        }
+        while (!namespaceDeclarations.isEmpty() && namespaceDeclarations.peek().depth == depth) {
+            namespaceBindings.get(namespaceDeclarations.pop().prefix).pop();
+        }
+        if (startTagOpen) {
+            write("/>");
+            startTagOpen = false;
+            return;
+        }
+        write("</");
+        write(qName);
+        write(">");
+    }
+
+    @Override
+    public void characters(char[] text, int start, int length) {
+        if (length == 0) {
+            return;
+        }
+        closeStartTag();
+        if (inCData) {
+            writeCData(text, start, length);
+        } else {
+            writeText(text, start, length);
+        }
+    }
+
+    @Override
+    public void ignorableWhitespace(char[] text, int start, int length) {
+        characters(text, start, length);
+    }
+
+    @Override
+    public void startCDATA() {
+        inCData = true;
+        cdataStart = true;
+        cdataOpen = false;
+    }
+
+    @Override
+    public void endCDATA() {
+        if (cdataOpen) {
+            writeRaw(CDATA_CLOSE, 0, CDATA_CLOSE.length);
+        }
+        endRaw();
+        inCData = false;
+    }
+
+    @Override
+    public void comment(char[] text, int start, int length) {
+        closeStartTag();
+        writeRaw(COMMENT_OPEN, 0, COMMENT_OPEN.length);
+        writeRaw(text, start, length);
+        writeRaw(COMMENT_CLOSE, 0, COMMENT_CLOSE.length);
+        endRaw();
+    }
+
+    @Override
+    public void processingInstruction(String target, String data) throws SAXException {
+        closeStartTag();
+        if (chunkListener != null && CHUNK_MARKER.equals(target)) {
+            Map<String, String> bindingsInScope = new HashMap<>();
+            namespaceBindings.forEach((prefix, bindings) -> {
+                if (!bindings.isEmpty()) {
+                    bindingsInScope.put(prefix, bindings.peek());
+                }
+            });
+            try {
+                chunkListener.chunk(bindingsInScope);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return;
+        }
+        String instruction = data == null || data.isEmpty() ? "<?" + target + "?>" : "<?" + target + " " + data + "?>";
+        writeRaw(instruction.toCharArray(), 0, instruction.length());
+        endRaw();
+    }
+
+    // The serializer only writes a prefix declaration that changes the binding in scope; default namespace
+    // declarations, "xml" prefixes and empty URIs are never written
+    private boolean isWrittenNamespaceDeclaration(String name, String uri) {
+        if (!name.startsWith("xmlns:")) {
+            return !"xmlns".equals(name);
+        }
+        String prefix = name.substring("xmlns:".length());
+        if (prefix.startsWith("xml")) {
+            return false;
+        }
+        Deque<String> bindings = namespaceBindings.computeIfAbsent(prefix, key -> new ArrayDeque<>());
+        if (uri.equals(bindings.peek())) {
+            return false;
+        }
+        bindings.push(uri);
+        namespaceDeclarations.push(new NamespaceDeclaration(prefix, depth));
+        return !uri.isEmpty();
+    }
+
+    private void closeStartTag() {
+        if (startTagOpen) {
+            write(">");
+            startTagOpen = false;
+        }
+    }
+
+    private void writeText(char[] text, int start, int length) {
+        int end = start + length;
+        int clean = start;
+        for (int i = start; i < end; i++) {
+            char c = text[i];
+            if (c < 0x7F ? c != '&' && c != '<' && c != '>' && c != '"' && c != '\'' : c > 0x9F && !Character.isSurrogate(c)) {
+                continue;
+            }
+            write(text, clean, i - clean);
+            clean = i + 1;
+            writeEscaped(c);
+        }
+        write(text, clean, end - clean);
+    }
+
+    private void writeAttributeValue(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\t') {
+                write("&#9;");
+            } else if (c == 0x85) {
+                // Only text nodes get a character reference for the next line character
+                write(value, i, 1);
+            } else {
+                writeEscaped(c);
+            }
+        }
+    }
+
+    // The final form of a character after escapeXml11, the serializer and the replacements
+    private void writeEscaped(char c) {
+        if (highSurrogate != 0) {
+            write("&#" + Character.toCodePoint(highSurrogate, c) + ";");
+            highSurrogate = 0;
+            return;
+        }
+        switch (c) {
+            case '&':
+                write("&amp;");
+                break;
+            case '<':
+                write("&lt;");
+                break;
+            case '>':
+                write("&gt;");
+                break;
+            case '"':
+            case '\'':
+                write("'");
+                break;
+            case 0x85:
+                write("&#133;");
+                break;
+            default:
+                if (Character.isHighSurrogate(c)) {
+                    // Completed by the next character, which can arrive with the next chunk
+                    highSurrogate = c;
+                } else if (c >= 0x7F && c <= 0x9F) {
+                    write("&amp;#" + (int) c + ";");
+                } else {
+                    write(String.valueOf(c));
+                }
+                break;
+        }
+    }
+
+    // Line feeds and supplementary characters at the start of a section are written before it is opened
+    private void writeCData(char[] text, int start, int length) {
+        int end = start + length;
+        int clean = start;
+        for (int i = start; i < end && !cdataOpen; i++) {
+            char c = text[i];
+            if (!Character.isSurrogate(c) && (cdataStart || c != '\n')) {
+                writeRaw(text, clean, i - clean);
+                writeRaw(CDATA_OPEN, 0, CDATA_OPEN.length);
+                cdataOpen = true;
+                clean = i;
+            }
+            cdataStart = false;
+        }
+        writeRaw(text, clean, end - clean);
+    }
+
+    // Streaming form of the chained String.replace calls: each stage matches its target left to right
+    // without overlaps and hands everything else to the next stage
+    private void writeRaw(char[] text, int start, int length) {
+        writeRaw(0, text, start, length);
+    }
+
+    private void writeRaw(int stage, char[] text, int start, int length) {
+        if (stage == RAW_TARGETS.length) {
+            write(text, start, length);
+            return;
+        }
+        char[] target = RAW_TARGETS[stage];
+        int end = start + length;
+        int clean = start;
+        for (int i = start; i < end; i++) {
+            char c = text[i];
+            if (rawMatched[stage] > 0 && c == target[rawMatched[stage]]) {
+                clean = i + 1;
+                if (++rawMatched[stage] == target.length) {
+                    rawMatched[stage] = 0;
+                    writeRaw(stage + 1, RAW_REPLACEMENTS[stage], 0, RAW_REPLACEMENTS[stage].length);
+                }
+                continue;
+            }
+            if (rawMatched[stage] > 0) {
+                // The target has no other '&', so a new match can only start at this character
+                writeRaw(stage + 1, target, 0, rawMatched[stage]);
+                rawMatched[stage] = 0;
+            }
+            if (c == '&') {
+                writeRaw(stage + 1, text, clean, i - clean);
+                rawMatched[stage] = 1;
+                clean = i + 1;
+            }
+        }
+        if (rawMatched[stage] == 0) {
+            writeRaw(stage + 1, text, clean, end - clean);
+        }
+    }
+
+    // A target cannot span markup, so a partial match is written as it is once the content ends
+    private void endRaw() {
+        for (int stage = 0; stage < RAW_TARGETS.length; stage++) {
+            if (rawMatched[stage] > 0) {
+                int matched = rawMatched[stage];
+                rawMatched[stage] = 0;
+                writeRaw(stage + 1, RAW_TARGETS[stage], 0, matched);
+            }
+        }
+    }
+
+    private void write(String text) {
+        write(text, 0, text.length());
+    }
+
+    private void write(String text, int start, int length) {
+        try {
+            output.write(text, start, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(char[] text, int start, int length) {
+        if (length == 0) {
+            return;
+        }
+        try {
+            output.write(text, start, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    interface ChunkListener {
+        void chunk(Map<String, String> namespaceBindings) throws SAXException, IOException;
+    }
+
+    private static class NamespaceDeclaration {
+        private final String prefix;
+        private final int depth;
+
+        private NamespaceDeclaration(String prefix, int depth) {
+            this.prefix = prefix;
+            this.depth = depth;
+        }
+    }
+
+    private static class UnsupportedDocumentException extends SAXException {
+        private static final long serialVersionUID = 1L;
+    }
+}
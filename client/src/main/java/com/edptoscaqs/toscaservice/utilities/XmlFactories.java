@@ -0,0 +1,139 @@
+package com.edptoscaqs.toscaservice.utilities;
+
+import org.w3c.dom.ls.DOMImplementationLS;
+import org.w3c.dom.ls.LSOutput;
+import org.w3c.dom.ls.LSSerializer;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLInputFactory;
+
+// The XML factories of every XML path, looked up and configured once. Factories are thread safe, parsers, builders and
+// serializers are not: each thread keeps the one it used last and takes it back, reset, on its next call. A nested call
+// on the same thread finds none and gets a new one. External entities and DTDs are never loaded; internal DTD subsets
+// are still read by the DOM path, which is the one that expands their entities.
+final class XmlFactories {
+
+    private static final String EXTERNAL_GENERAL_ENTITIES = "http://xml.org/sax/features/external-general-entities";
+    private static final String EXTERNAL_PARAMETER_ENTITIES = "http://xml.org/sax/features/external-parameter-entities";
+    private static final String LOAD_EXTERNAL_DTD = "http://apache.org/xml/features/nonvalidating/load-external-dtd";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+    private static final SAXParserFactory SAX_PARSER_FACTORY = createSaxParserFactory();
+    private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = createDocumentBuilderFactory();
+    private static final DOMImplementationLS DOM_IMPLEMENTATION = createDomImplementation();
+    private static final ThreadLocal<SAXParser> SAX_PARSERS = new ThreadLocal<>();
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDERS = new ThreadLocal<>();
+    private static final ThreadLocal<LSSerializer> SERIALIZERS = new ThreadLocal<>();
+
+    private XmlFactories() {
+    }
+
+    // The partial results are read without any DTD
+    static XMLInputFactory xmlInputFactory() {
+        return XML_INPUT_FACTORY;
+    }
+
+    static SAXParser acquireSaxParser() throws ParserConfigurationException, SAXException {
+        SAXParser parser = SAX_PARSERS.get();
+        if (parser == null) {
+            return SAX_PARSER_FACTORY.newSAXParser();
+        }
+        SAX_PARSERS.remove();
+        parser.reset();
+        return parser;
+    }
+
+    static void release(SAXParser parser) {
+        SAX_PARSERS.set(parser);
+    }
+
+    static DocumentBuilder acquireDocumentBuilder() throws ParserConfigurationException {
+        DocumentBuilder builder = DOCUMENT_BUILDERS.get();
+        if (builder == null) {
+            return DOCUMENT_BUILDER_FACTORY.newDocumentBuilder();
+        }
+        DOCUMENT_BUILDERS.remove();
+        builder.reset();
+        return builder;
+    }
+
+    static void release(DocumentBuilder builder) {
+        DOCUMENT_BUILDERS.set(builder);
+    }
+
+    // Serializers write without formatting
+    static LSSerializer acquireSerializer() {
+        LSSerializer serializer = SERIALIZERS.get();
+        if (serializer == null) {
+            serializer = DOM_IMPLEMENTATION.createLSSerializer();
+            serializer.getDomConfig().setParameter("format-pretty-print", false);
+            return serializer;
+        }
+        SERIALIZERS.remove();
+        return serializer;
+    }
+
+    static void release(LSSerializer serializer) {
+        SERIALIZERS.set(serializer);
+    }
+
+    static LSOutput createOutput() {
+        return DOM_IMPLEMENTATION.createLSOutput();
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return inputFactory;
+    }
+
+    // Namespace unaware, as the rewriter reproduces the output of the namespace unaware DOM path
+    private static SAXParserFactory createSaxParserFactory() {
+        try {
+            SAXParserFactory parserFactory = SAXParserFactory.newInstance();
+            parserFactory.setNamespaceAware(false);
+            parserFactory.setValidating(false);
+            parserFactory.setXIncludeAware(false);
+            parserFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            parserFactory.setFeature(EXTERNAL_GENERAL_ENTITIES, false);
+            parserFactory.setFeature(EXTERNAL_PARAMETER_ENTITIES, false);
+            parserFactory.setFeature(LOAD_EXTERNAL_DTD, false);
+            return parserFactory;
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IllegalStateException("The SAX parser factory does not support the required features", e);
+        }
+    }
+
+    private static DocumentBuilderFactory createDocumentBuilderFactory() {
+        try {
+            DocumentBuilderFactory builderFactory = DocumentBuilderFactory.newInstance();
+            builderFactory.setNamespaceAware(false);
+            builderFactory.setValidating(false);
+            builderFactory.setXIncludeAware(false);
+            builderFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            builderFactory.setFeature(EXTERNAL_GENERAL_ENTITIES, false);
+            builderFactory.setFeature(EXTERNAL_PARAMETER_ENTITIES, false);
+            builderFactory.setFeature(LOAD_EXTERNAL_DTD, false);
+            builderFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+            builderFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+            return builderFactory;
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("The document builder factory does not support the required features", e);
+        }
+    }
+
+    private static DOMImplementationLS createDomImplementation() {
+        try {
+            return (DOMImplementationLS) DOCUMENT_BUILDER_FACTORY.newDocumentBuilder().getDOMImplementation();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("The document builder factory cannot create builders", e);
+        }
+    }
+}
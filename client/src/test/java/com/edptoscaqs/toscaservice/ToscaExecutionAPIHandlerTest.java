@@ -1,23 +1,38 @@
 package com.edptoscaqs.toscaservice;
 
+import com.edptoscaqs.toscaservice.authentication.AccessTokenManager;
+import com.edptoscaqs.toscaservice.authentication.ToscaAuthenticationProvider;
 import com.edptoscaqs.toscaservice.configuration.ToscaConfigParameters;
+import com.edptoscaqs.toscaservice.endpoint.EndpointCatalog;
 import com.edptoscaqs.toscaservice.logging.LoggerHelper;
+import com.edptoscaqs.toscaservice.model.PartialExecutionResults;
 import com.edptoscaqs.toscaservice.utilities.Utilities;
 import net.minidev.json.JSONObject;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
 import org.springframework.http.*;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
@@ -25,6 +40,8 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 public class ToscaExecutionAPIHandlerTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
     @Mock
     private RestTemplate restTemplate;
     @Mock
@@ -35,6 +52,12 @@ public class ToscaExecutionAPIHandlerTest {
     private LoggerHelper loggerHelper;
     @Mock
     private Utilities utilities;
+    @Spy
+    private AccessTokenManager accessTokenManager = new AccessTokenManager();
+    @Spy
+    private ToscaAuthenticationProvider authenticationProvider = new ToscaAuthenticationProvider();
+    @Spy
+    private EndpointCatalog endpointCatalog = new EndpointCatalog();
 
     @Before
     public void init(){
@@ -372,6 +395,58 @@ public class ToscaExecutionAPIHandlerTest {
         assertThat(status).isEqualTo(expectedStatus);
     }
 
+    @Test
+    public void testGetEventExecutionDataReusesCachedAccessToken() throws Exception {
+        // Arrange
+        String executionId = "12345";
+        Map<String, Object> responseBodyToken = new HashMap<>();
+        responseBodyToken.put("access_token", "test_access_token");
+        responseBodyToken.put("expires_in", 3600);
+        ResponseEntity<Map> responseEntityToken = ResponseEntity.ok(responseBodyToken);
+        when(restTemplate.exchange(
+                "https://" + toscaConfiguration.getToscaServerGateway() + ":" + toscaConfiguration.getToscaServerPort() + "/tua/connect/token",
+                HttpMethod.POST,
+                createRequestEntityAccessToken(),
+                Map.class
+        )).thenReturn(responseEntityToken);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Map.class)))
+                .thenReturn(new ResponseEntity<>(Collections.singletonMap("status", "InProgress"), HttpStatus.OK));
+
+        // Act
+        toscaExecutionAPIHandler.getEventExecutionStatus(executionId);
+        toscaExecutionAPIHandler.getEventExecutionStatus(executionId);
+
+        // Assert
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Map.class));
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Map.class));
+    }
+
+    @Test
+    public void testGetEventExecutionDataRetriesOnceWhenUnauthorized() throws Exception {
+        // Arrange
+        String executionId = "12345";
+        Map<String, String> responseBodyToken = new HashMap<>();
+        responseBodyToken.put("access_token", "test_access_token");
+        ResponseEntity<Map> responseEntityToken = ResponseEntity.ok(responseBodyToken);
+        when(restTemplate.exchange(
+                "https://" + toscaConfiguration.getToscaServerGateway() + ":" + toscaConfiguration.getToscaServerPort() + "/tua/connect/token",
+                HttpMethod.POST,
+                createRequestEntityAccessToken(),
+                Map.class
+        )).thenReturn(responseEntityToken);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Map.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.UNAUTHORIZED, "Unauthorized", new HttpHeaders(), new byte[0], null))
+                .thenReturn(new ResponseEntity<>(Collections.singletonMap("status", "InProgress"), HttpStatus.OK));
+
+        // Act
+        String status = toscaExecutionAPIHandler.getEventExecutionStatus(executionId);
+
+        // Assert
+        assertThat(status).isEqualTo("InProgress");
+        verify(accessTokenManager, times(1)).invalidate("test_access_token");
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Map.class));
+    }
+
     @Test
     public void testGetEventExecutionDataRestClientException() {
         // Arrange
@@ -628,6 +703,48 @@ public class ToscaExecutionAPIHandlerTest {
                 .isInstanceOf(Exception.class);
     }
 
+    @Test
+    public void testDownloadExecutionResultsThenBodyCopiedToFile() throws Exception {
+        // Arrange
+        String executionId = "1234";
+        Path target = temporaryFolder.getRoot().toPath().resolve("results.xml");
+        stubAccessToken("test_access_token");
+        MockClientHttpRequest request = new MockClientHttpRequest();
+        MockClientHttpResponse response = new MockClientHttpResponse("<testsuites/>".getBytes(), HttpStatus.OK);
+        stubExecutionResultsStream(executionId, request, response);
+
+        // Act
+        long size = toscaExecutionAPIHandler.downloadExecutionResults(executionId, target);
+
+        // Assert
+        assertThat(size).isEqualTo(13);
+        assertThat(Files.readString(target)).isEqualTo("<testsuites/>");
+        assertThat(request.getHeaders().getFirst("Authorization")).isEqualTo("Bearer test_access_token");
+        verify(utilities, never()).extractDataFromEntity(any());
+    }
+
+    @Test
+    public void testDownloadExecutionResultsWhenEmptyBodyThenException() throws Exception {
+        // Arrange
+        String executionId = "1234";
+        Path target = temporaryFolder.getRoot().toPath().resolve("results.xml");
+        stubAccessToken("test_access_token");
+        stubExecutionResultsStream(executionId, new MockClientHttpRequest(), new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+
+        // Act & Assert
+        assertThatThrownBy(() -> toscaExecutionAPIHandler.downloadExecutionResults(executionId, target))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("[DownloadExecutionResults] Process ends with an error: Response body is empty - Execution Id: 1234");
+    }
+
+    private void stubExecutionResultsStream(String executionId, MockClientHttpRequest request, MockClientHttpResponse response) {
+        URI url = URI.create("https://" + toscaConfiguration.getToscaServerGateway() + ":" + toscaConfiguration.getToscaServerPort() + "/automationobjectservice/api/Execution/" + executionId + "/Results");
+        when(restTemplate.execute(eq(url), eq(HttpMethod.GET), any(RequestCallback.class), any(ResponseExtractor.class))).thenAnswer(invocation -> {
+            ((RequestCallback) invocation.getArguments()[2]).doWithRequest(request);
+            return ((ResponseExtractor<?>) invocation.getArguments()[3]).extractData(response);
+        });
+    }
+
     @Test
     public void testGetExecutionResultsSummarySuccess() throws Exception {
         // Arrange
@@ -885,6 +1002,81 @@ public class ToscaExecutionAPIHandlerTest {
         assertThat(result).isEqualTo("");
     }
 
+    @Test
+    public void testGetPartialTestResultsThenCountsReadFromResponseStream() throws Exception {
+        // Arrange
+        String executionId = "1234";
+        stubAccessToken("test_access_token");
+        MockClientHttpRequest request = new MockClientHttpRequest();
+        MockClientHttpResponse response = new MockClientHttpResponse("<testsuites/>".getBytes(), HttpStatus.OK);
+        response.getHeaders().setETag("\"v2\"");
+        stubPartialResultsStream(executionId, request, response);
+        when(utilities.extractPartialTestResults(any(InputStream.class))).thenReturn(Map.of("Total Test Cases", 3));
+
+        // Act
+        PartialExecutionResults result = toscaExecutionAPIHandler.getPartialTestResults(executionId, null);
+
+        // Assert
+        assertThat(result.isModified()).isTrue();
+        assertThat(result.getTestResults()).containsEntry("Total Test Cases", 3);
+        assertThat(result.getEntityTag()).isEqualTo("\"v2\"");
+        assertThat(request.getHeaders().getFirst("Authorization")).isEqualTo("Bearer test_access_token");
+        assertThat(request.getHeaders().getIfNoneMatch()).isEmpty();
+        verify(utilities, never()).extractDataFromEntity(any());
+    }
+
+    @Test
+    public void testGetPartialTestResultsWithEntityTagWhenNotModifiedThenNoParsing() throws Exception {
+        // Arrange
+        String executionId = "1234";
+        stubAccessToken("test_access_token");
+        MockClientHttpRequest request = new MockClientHttpRequest();
+        MockClientHttpResponse response = new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED);
+        stubPartialResultsStream(executionId, request, response);
+
+        // Act
+        PartialExecutionResults result = toscaExecutionAPIHandler.getPartialTestResults(executionId, "\"v1\"");
+
+        // Assert
+        assertThat(result.isModified()).isFalse();
+        assertThat(result.getEntityTag()).isEqualTo("\"v1\"");
+        assertThat(request.getHeaders().getIfNoneMatch()).containsExactly("\"v1\"");
+        verify(utilities, never()).extractPartialTestResults(any(InputStream.class));
+    }
+
+    @Test
+    public void testGetPartialTestResultsWhenRequestFailsThenNull() throws Exception {
+        // Arrange
+        stubAccessToken("test_access_token");
+        when(restTemplate.execute(any(URI.class), eq(HttpMethod.GET), any(RequestCallback.class), any(ResponseExtractor.class)))
+                .thenThrow(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        // Act
+        PartialExecutionResults result = toscaExecutionAPIHandler.getPartialTestResults("1234", null);
+
+        // Assert
+        assertThat(result).isNull();
+    }
+
+    private void stubAccessToken(String accessToken) {
+        Map<String, String> responseBodyToken = new HashMap<>();
+        responseBodyToken.put("access_token", accessToken);
+        when(restTemplate.exchange(
+                "https://" + toscaConfiguration.getToscaServerGateway() + ":" + toscaConfiguration.getToscaServerPort() + "/tua/connect/token",
+                HttpMethod.POST,
+                createRequestEntityAccessToken(),
+                Map.class
+        )).thenReturn(ResponseEntity.ok(responseBodyToken));
+    }
+
+    private void stubPartialResultsStream(String executionId, MockClientHttpRequest request, MockClientHttpResponse response) {
+        URI url = URI.create("https://" + toscaConfiguration.getToscaServerGateway() + ":" + toscaConfiguration.getToscaServerPort() + "/automationobjectservice/api/Execution/" + executionId + "/Results?partial=true");
+        when(restTemplate.execute(eq(url), eq(HttpMethod.GET), any(RequestCallback.class), any(ResponseExtractor.class))).thenAnswer(invocation -> {
+            ((RequestCallback) invocation.getArguments()[2]).doWithRequest(request);
+            return ((ResponseExtractor<?>) invocation.getArguments()[3]).extractData(response);
+        });
+    }
+
     @Test
     public void testGetPartialExecutionResultsFailedToGetAccessToken() {
         // Arrange
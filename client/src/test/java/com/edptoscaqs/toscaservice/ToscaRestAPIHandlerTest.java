@@ -1,17 +1,30 @@
 package com.edptoscaqs.toscaservice;
 
+import com.edptoscaqs.toscaservice.authentication.AuthenticationProvider;
+import com.edptoscaqs.toscaservice.cache.CacheDirectory;
+import com.edptoscaqs.toscaservice.cache.ObjectAttributeCache;
+import com.edptoscaqs.toscaservice.cache.OwningGroupCache;
 import com.edptoscaqs.toscaservice.configuration.ToscaConfigParameters;
+import com.edptoscaqs.toscaservice.endpoint.EndpointCatalog;
 import com.edptoscaqs.toscaservice.logging.LoggerHelper;
+import com.edptoscaqs.toscaservice.model.ObjectAttributes;
 import com.edptoscaqs.toscaservice.utilities.Utilities;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.File;
@@ -20,6 +33,7 @@ import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
@@ -28,6 +42,8 @@ import static org.mockito.Mockito.*;
 import static com.edptoscaqs.toscaservice.configuration.Constants.*;
 
 public class ToscaRestAPIHandlerTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
     @Mock
     private RestTemplate restTemplate;
     @Mock
@@ -38,6 +54,14 @@ public class ToscaRestAPIHandlerTest {
     private ToscaRestAPIHandler toscaRestAPIHandler;
     @Mock
     private LoggerHelper loggerHelper;
+    @Mock
+    private AuthenticationProvider authenticationProvider;
+    @Spy
+    private EndpointCatalog endpointCatalog = new EndpointCatalog();
+    @Spy
+    private ObjectAttributeCache attributeCache = new ObjectAttributeCache();
+    @Spy
+    private OwningGroupCache owningGroupCache = new OwningGroupCache(new CacheDirectory());
 
     @Before
     public void init(){
@@ -45,9 +69,12 @@ public class ToscaRestAPIHandlerTest {
         when(toscaConfiguration.getToscaServerGateway()).thenReturn("ServerGateway");
         when(toscaConfiguration.getToscaServerPort()).thenReturn(123);
         when(toscaConfiguration.getNonAOSWorkspace()).thenReturn("SampleWorkspace");
+        when(toscaConfiguration.getWorkspaceKey()).thenReturn("ServerGateway:123/SampleWorkspace");
         when(toscaConfiguration.getToscaClientId()).thenReturn("ToscaClientId");
         when(toscaConfiguration.getToscaClientSecret()).thenReturn("ToscaClientSecret");
         when(utilities.setClientAuthenticationHttpHeaders(anyString(), anyString())).thenReturn(new HttpHeaders());
+        when(authenticationProvider.getCommanderHeaders()).thenReturn(new HttpHeaders());
+        when(authenticationProvider.getCommanderRequestEntity()).thenReturn(new HttpEntity<>(new HttpHeaders()));
         doNothing().when(utilities).writeGitParametersFile(any(), anyString(), any(LoggerHelper.class));
         doNothing().when(loggerHelper).logInfo(anyString());
         doNothing().when(loggerHelper).logWarning(anyString());
@@ -159,17 +186,41 @@ public class ToscaRestAPIHandlerTest {
         verify(restTemplate).exchange(any(String.class), eq(HttpMethod.GET), eq(new HttpEntity<>(headers)), eq(String.class));
     }
 
+    @Test
+    public void testChangeObjectOwningGroupTwiceThenOwningGroupResolvedOnce() {
+        // Arrange
+        HttpHeaders headers = utilities.setClientAuthenticationHttpHeaders(toscaConfiguration.getToscaClientId(), toscaConfiguration.getToscaClientSecret());
+        ResponseEntity<List<Map<String, Object>>> owningGroupUniqueIdResponse = ResponseEntity.ok(Collections.singletonList(Map.of(UNIQUE_ID, "groupId")));
+        when(toscaConfiguration.getEdpLockGroupName()).thenReturn("EDP_Lock_Group");
+        when(restTemplate.exchange(any(String.class), eq(HttpMethod.GET), eq(new HttpEntity<>(headers)), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("Success"));
+        when(restTemplate.exchange(any(String.class), eq(HttpMethod.GET), eq(new HttpEntity<>(headers)), any(ParameterizedTypeReference.class)))
+                .thenReturn(owningGroupUniqueIdResponse);
+
+        // Act
+        toscaRestAPIHandler.changeObjectOwningGroup("123");
+        toscaRestAPIHandler.changeObjectOwningGroup("456");
+
+        // Assert
+        verify(restTemplate, times(1)).exchange(contains("TCUserGroup"), eq(HttpMethod.GET), eq(new HttpEntity<>(headers)), any(ParameterizedTypeReference.class));
+        verify(restTemplate).exchange(eq("https://ServerGateway:123/rest/toscacommander/SampleWorkspace/object/groupId/task/AssignOwner?objToDrop=456"), eq(HttpMethod.GET), eq(new HttpEntity<>(headers)), eq(String.class));
+    }
+
     @Test
     public void testChangeObjectOwningGroupFailWhenRestClientError(){
         // Arrange
         String objectID = "123";
         HttpHeaders headers = utilities.setClientAuthenticationHttpHeaders(toscaConfiguration.getToscaClientId(), toscaConfiguration.getToscaClientSecret());
+        when(toscaConfiguration.getEdpLockGroupName()).thenReturn("EDP_Lock_Group");
+        when(restTemplate.exchange(any(String.class), eq(HttpMethod.GET), eq(new HttpEntity<>(headers)), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(Collections.singletonList(Map.of(UNIQUE_ID, "groupId"))));
         when(restTemplate.exchange(any(String.class), eq(HttpMethod.GET), eq(new HttpEntity<>(headers)), eq(String.class)))
                 .thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
 
         // Act & Assert
         assertThatThrownBy(() -> toscaRestAPIHandler.changeObjectOwningGroup(objectID))
                 .isInstanceOf(Exception.class);
+        verify(owningGroupCache, times(1)).invalidate("ServerGateway:123/SampleWorkspace", "EDP_Lock_Group");
     }
 
     @Test
@@ -358,6 +409,60 @@ public class ToscaRestAPIHandlerTest {
         assertThat(owningGroupName).isEqualTo(expectedOwningGroupName);
     }
 
+    @Test
+    public void testGetObjectPropertyTwiceThenAttributesFetchedOnce() {
+        // Arrange
+        String uniqueId = UNIQUE_ID;
+        Map<String, Object> responseBody = new HashMap<>();
+        List<Map<String, String>> attributes = new ArrayList<>();
+        attributes.add(Map.of("Name", PROPERTY_OWNING_GROUP_NAME, "Value", "EDP_Lock_Group"));
+        attributes.add(Map.of("Name", PROPERTY_CHECKOUT_STATE, "Value", CHECKED_IN_STATUS));
+        responseBody.put("Attributes", attributes);
+        ResponseEntity<Map> responseEntity = new ResponseEntity<>(responseBody, HttpStatus.OK);
+        HttpHeaders headers = utilities.setClientAuthenticationHttpHeaders(toscaConfiguration.getToscaClientId(), toscaConfiguration.getToscaClientSecret());
+        HttpEntity<String> entity = new HttpEntity<>(headers);
+        when(restTemplate.exchange(any(String.class), eq(HttpMethod.GET), eq(entity), eq(Map.class))).thenReturn(responseEntity);
+
+        // Act
+        String owningGroupName = toscaRestAPIHandler.getObjectProperty(uniqueId, PROPERTY_OWNING_GROUP_NAME);
+        String checkOutState = toscaRestAPIHandler.getObjectProperty(uniqueId, PROPERTY_CHECKOUT_STATE);
+
+        // Assert
+        assertThat(owningGroupName).isEqualTo("EDP_Lock_Group");
+        assertThat(checkOutState).isEqualTo(CHECKED_IN_STATUS);
+        verify(restTemplate, times(1)).exchange(any(String.class), eq(HttpMethod.GET), eq(entity), eq(Map.class));
+        assertThat(attributeCache.getHitCount()).isEqualTo(1);
+        assertThat(attributeCache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testGetObjectPropertyAfterChangeObjectOwningGroupThenAttributesFetchedAgain() {
+        // Arrange
+        String uniqueId = "123";
+        Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put("Attributes", List.of(Map.of("Name", PROPERTY_OWNING_GROUP_NAME, "Value", OWNING_GROUP_ALL_USERS)));
+        ResponseEntity<Map> responseEntity = new ResponseEntity<>(responseBody, HttpStatus.OK);
+        Map<String, Object> changedResponseBody = new HashMap<>();
+        changedResponseBody.put("Attributes", List.of(Map.of("Name", PROPERTY_OWNING_GROUP_NAME, "Value", "EDP_Lock_Group")));
+        ResponseEntity<Map> changedResponseEntity = new ResponseEntity<>(changedResponseBody, HttpStatus.OK);
+        ResponseEntity<List<Map<String, Object>>> owningGroupUniqueIdResponse = ResponseEntity.ok(Collections.singletonList(Map.of(UNIQUE_ID, UNIQUE_ID)));
+        HttpHeaders headers = utilities.setClientAuthenticationHttpHeaders(toscaConfiguration.getToscaClientId(), toscaConfiguration.getToscaClientSecret());
+        HttpEntity<String> entity = new HttpEntity<>(headers);
+        when(restTemplate.exchange(any(String.class), eq(HttpMethod.GET), eq(entity), eq(Map.class))).thenReturn(responseEntity).thenReturn(changedResponseEntity);
+        when(restTemplate.exchange(any(String.class), eq(HttpMethod.GET), eq(entity), eq(String.class))).thenReturn(ResponseEntity.ok("Success"));
+        when(restTemplate.exchange(any(String.class), eq(HttpMethod.GET), eq(entity), any(ParameterizedTypeReference.class))).thenReturn(owningGroupUniqueIdResponse);
+
+        // Act
+        String owningGroupBefore = toscaRestAPIHandler.getObjectProperty(uniqueId, PROPERTY_OWNING_GROUP_NAME);
+        toscaRestAPIHandler.changeObjectOwningGroup(uniqueId);
+        String owningGroupAfter = toscaRestAPIHandler.getObjectProperty(uniqueId, PROPERTY_OWNING_GROUP_NAME);
+
+        // Assert
+        assertThat(owningGroupBefore).isEqualTo(OWNING_GROUP_ALL_USERS);
+        assertThat(owningGroupAfter).isEqualTo("EDP_Lock_Group");
+        verify(restTemplate, times(2)).exchange(any(String.class), eq(HttpMethod.GET), eq(entity), eq(Map.class));
+    }
+
     @Test
     public void testGetObjectPropertyNullPointerException() {
         // Arrange
@@ -450,6 +555,63 @@ public class ToscaRestAPIHandlerTest {
         assertThat(result).containsExactly("id1", "id2");
     }
 
+    @Test
+    public void testGetTestCaseAttributesInExecutionListThenAttributesCached() {
+        // Arrange
+        List<Map<String, Object>> responseBody = new ArrayList<>();
+        responseBody.add(Map.of(UNIQUE_ID, "testCase1", "Attributes", List.of(Map.of("Name", PROPERTY_CHECKOUT_STATE, "Value", CHECKED_IN_STATUS), Map.of("Name", PROPERTY_OWNING_GROUP_NAME, "Value", OWNING_GROUP_ALL_USERS))));
+        responseBody.add(Map.of(UNIQUE_ID, "testCase2", "Attributes", List.of(Map.of("Name", PROPERTY_CHECKOUT_STATE, "Value", "CheckedOut"))));
+        ResponseEntity<List<Map<String, Object>>> responseEntity = ResponseEntity.ok(responseBody);
+        HttpHeaders headers = utilities.setClientAuthenticationHttpHeaders(toscaConfiguration.getToscaClientId(), toscaConfiguration.getToscaClientSecret());
+        HttpEntity<String> entity = new HttpEntity<>(headers);
+        when(restTemplate.exchange(any(String.class), eq(HttpMethod.GET), eq(entity), any(ParameterizedTypeReference.class))).thenReturn(responseEntity);
+
+        // Act
+        Map<String, ObjectAttributes> testCaseAttributes = toscaRestAPIHandler.getTestCaseAttributesInExecutionList("executionList1");
+        String owningGroupName = toscaRestAPIHandler.getObjectProperty("testCase1", PROPERTY_OWNING_GROUP_NAME);
+
+        // Assert
+        assertThat(testCaseAttributes.keySet()).containsExactly("testCase1", "testCase2");
+        assertThat(testCaseAttributes.get("testCase2").getCheckOutState()).isEqualTo("CheckedOut");
+        assertThat(owningGroupName).isEqualTo(OWNING_GROUP_ALL_USERS);
+        verify(restTemplate, never()).exchange(any(String.class), eq(HttpMethod.GET), eq(entity), eq(Map.class));
+    }
+
+    @Test
+    public void testGetTestCaseAttributesInExecutionListWhenNoObjectsReturnedThenException() {
+        // Arrange
+        ResponseEntity<List<Map<String, Object>>> responseEntity = ResponseEntity.ok(new ArrayList<>());
+        HttpHeaders headers = utilities.setClientAuthenticationHttpHeaders(toscaConfiguration.getToscaClientId(), toscaConfiguration.getToscaClientSecret());
+        when(restTemplate.exchange(any(String.class), eq(HttpMethod.GET), eq(new HttpEntity<>(headers)), any(ParameterizedTypeReference.class))).thenReturn(responseEntity);
+
+        // Act & Assert
+        assertThatThrownBy(() -> toscaRestAPIHandler.getTestCaseAttributesInExecutionList("executionList1"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testGetAttributesByUniqueIdsThenSearchedInPages() {
+        // Arrange
+        List<String> uniqueIds = new ArrayList<>();
+        for (int i = 0; i < SEARCH_PAGE_SIZE * 2 + 1; i++) {
+            uniqueIds.add("object" + i);
+        }
+        List<Map<String, Object>> responseBody = new ArrayList<>();
+        responseBody.add(Map.of(UNIQUE_ID, "object0", "Attributes", List.of(Map.of("Name", "Name", "Value", "First object"))));
+        ResponseEntity<List<Map<String, Object>>> responseEntity = ResponseEntity.ok(responseBody);
+        HttpHeaders headers = utilities.setClientAuthenticationHttpHeaders(toscaConfiguration.getToscaClientId(), toscaConfiguration.getToscaClientSecret());
+        HttpEntity<String> entity = new HttpEntity<>(headers);
+        when(restTemplate.exchange(any(String.class), eq(HttpMethod.GET), eq(entity), any(ParameterizedTypeReference.class))).thenReturn(responseEntity);
+
+        // Act
+        Map<String, ObjectAttributes> objectAttributes = toscaRestAPIHandler.getAttributesByUniqueIds(uniqueIds);
+
+        // Assert
+        verify(restTemplate, times(3)).exchange(any(String.class), eq(HttpMethod.GET), eq(entity), any(ParameterizedTypeReference.class));
+        verify(restTemplate, times(1)).exchange(contains("UniqueId==\"object0\" OR UniqueId==\"object1\""), eq(HttpMethod.GET), eq(entity), any(ParameterizedTypeReference.class));
+        assertThat(objectAttributes.get("object0").getName()).isEqualTo("First object");
+    }
+
     @Test
     public void testListTestCasesInExecutionListRestClientException(){
         // Arrange
@@ -821,6 +983,58 @@ public class ToscaRestAPIHandlerTest {
                 .hasStackTraceContaining("500 INTERNAL_SERVER_ERROR");
     }
 
+    @Test
+    public void testDownloadPdfReportThenBinaryContentWrittenAtomically() throws Exception {
+        // Arrange
+        byte[] pdf = new byte[3 * 1024 * 1024 + 17];
+        new Random(7).nextBytes(pdf);
+        Path target = temporaryFolder.getRoot().toPath().resolve("List_report.pdf");
+        stubPdfReportStream(new MockClientHttpResponse(pdf, HttpStatus.OK));
+
+        // Act
+        long size = toscaRestAPIHandler.downloadPdfReport("1234", target);
+
+        // Assert
+        assertThat(size).isEqualTo(pdf.length);
+        assertThat(Files.readAllBytes(target)).isEqualTo(pdf);
+        assertThat(temporaryFolder.getRoot().list()).containsExactly("List_report.pdf");
+    }
+
+    @Test
+    public void testDownloadPdfReportWhenEmptyResponseBodyThenExceptionAndNoFile() throws Exception {
+        // Arrange
+        Path target = temporaryFolder.getRoot().toPath().resolve("List_report.pdf");
+        stubPdfReportStream(new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+
+        // Act & Assert
+        assertThatThrownBy(() -> toscaRestAPIHandler.downloadPdfReport("1234", target))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("[DownloadPDFReport] Process ends with an error: Response body is empty - Object id: 1234");
+        assertThat(temporaryFolder.getRoot().list()).isEmpty();
+    }
+
+    @Test
+    public void testDownloadPdfReportWhenHttpServerExceptionThenPreviousReportKept() throws Exception {
+        // Arrange
+        Path target = temporaryFolder.getRoot().toPath().resolve("List_report.pdf");
+        Files.write(target, "previous report".getBytes());
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(RequestCallback.class), any(ResponseExtractor.class)))
+                .thenThrow(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        // Act & Assert
+        assertThatThrownBy(() -> toscaRestAPIHandler.downloadPdfReport("1234", target))
+                .isInstanceOf(HttpServerErrorException.class);
+        assertThat(Files.readAllBytes(target)).isEqualTo("previous report".getBytes());
+        assertThat(temporaryFolder.getRoot().list()).containsExactly("List_report.pdf");
+    }
+
+    private void stubPdfReportStream(MockClientHttpResponse response) {
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(RequestCallback.class), any(ResponseExtractor.class))).thenAnswer(invocation -> {
+            ((RequestCallback) invocation.getArguments()[2]).doWithRequest(new MockClientHttpRequest());
+            return ((ResponseExtractor<?>) invocation.getArguments()[3]).extractData(response);
+        });
+    }
+
     @Test
     public void testGetPDFReportWhenHttpClientExceptionThenException() {
         // Arrange
@@ -890,6 +1104,139 @@ public class ToscaRestAPIHandlerTest {
                 .isInstanceOf(Exception.class);
     }
 
+    @Test
+    public void testReplaceAttachmentsSuccess() throws Exception {
+        // Arrange
+        File attachment = temporaryFolder.newFile("git_parameters.txt");
+        ToscaRestAPIHandler handler = spy(toscaRestAPIHandler);
+        doNothing().when(handler).checkOutTree(anyString());
+        doReturn(List.of("file1")).when(handler).getOwnedFile("executionList1");
+        doReturn(List.of("file2", "file3")).when(handler).getOwnedFile("executionList2");
+        doNothing().when(handler).deleteAttachment(anyString());
+        doNothing().when(handler).addAttachment(anyString(), any(File.class));
+        doNothing().when(handler).checkInAll();
+
+        // Act
+        handler.replaceAttachments(List.of("executionList1", "executionList2"), attachment);
+
+        // Assert
+        verify(handler).checkOutTree("executionList1");
+        verify(handler).checkOutTree("executionList2");
+        verify(handler).deleteAttachment("file1");
+        verify(handler).deleteAttachment("file2");
+        verify(handler).deleteAttachment("file3");
+        verify(handler).addAttachment("executionList1", attachment);
+        verify(handler).addAttachment("executionList2", attachment);
+        verify(handler, times(1)).checkInAll();
+        verify(handler, never()).revertAll();
+    }
+
+    @Test
+    public void testReplaceAttachmentsWithoutAttachmentThenOnlyRemoved() throws Exception {
+        // Arrange
+        ToscaRestAPIHandler handler = spy(toscaRestAPIHandler);
+        doNothing().when(handler).checkOutTree(anyString());
+        doReturn(List.of("file1")).when(handler).getOwnedFile(anyString());
+        doNothing().when(handler).deleteAttachment(anyString());
+        doNothing().when(handler).checkInAll();
+
+        // Act
+        handler.replaceAttachments(List.of("executionList1"), null);
+
+        // Assert
+        verify(handler).deleteAttachment("file1");
+        verify(handler, never()).addAttachment(anyString(), any(File.class));
+        verify(handler, times(1)).checkInAll();
+    }
+
+    @Test
+    public void testReplaceAttachmentsWhenDeleteFailsThenRevertAll() throws Exception {
+        // Arrange
+        File attachment = temporaryFolder.newFile("git_parameters.txt");
+        ToscaRestAPIHandler handler = spy(toscaRestAPIHandler);
+        doNothing().when(handler).checkOutTree(anyString());
+        doReturn(List.of("file1")).when(handler).getOwnedFile(anyString());
+        doThrow(new Exception("Delete failed")).when(handler).deleteAttachment("file1");
+        doNothing().when(handler).revertAll();
+
+        // Act & Assert
+        assertThatThrownBy(() -> handler.replaceAttachments(List.of("executionList1", "executionList2"), attachment))
+                .isInstanceOf(Exception.class)
+                .hasMessage("Delete failed");
+        verify(handler, times(1)).revertAll();
+        verify(handler, never()).checkOutTree("executionList2");
+        verify(handler, never()).checkInAll();
+    }
+
+    @Test
+    public void testReplaceAttachmentsWhenAddFailsThenRevertAll() throws Exception {
+        // Arrange
+        File attachment = temporaryFolder.newFile("git_parameters.txt");
+        ToscaRestAPIHandler handler = spy(toscaRestAPIHandler);
+        doNothing().when(handler).checkOutTree(anyString());
+        doReturn(List.of()).when(handler).getOwnedFile(anyString());
+        doThrow(new Exception("Add failed")).when(handler).addAttachment("executionList1", attachment);
+        doNothing().when(handler).revertAll();
+
+        // Act & Assert
+        assertThatThrownBy(() -> handler.replaceAttachments(List.of("executionList1"), attachment))
+                .isInstanceOf(Exception.class)
+                .hasMessage("Add failed");
+        verify(handler, times(1)).revertAll();
+        verify(handler, never()).checkInAll();
+    }
+
+    @Test
+    public void testReplaceAttachmentsWhenRevertAllFailsThenOriginalExceptionKept() throws Exception {
+        // Arrange
+        File attachment = temporaryFolder.newFile("git_parameters.txt");
+        ToscaRestAPIHandler handler = spy(toscaRestAPIHandler);
+        HttpClientErrorException revertFailure = new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+        doNothing().when(handler).checkOutTree(anyString());
+        doReturn(List.of("file1")).when(handler).getOwnedFile(anyString());
+        doThrow(new Exception("Delete failed")).when(handler).deleteAttachment("file1");
+        doThrow(revertFailure).when(handler).revertAll();
+
+        // Act
+        Throwable thrown = catchThrowable(() -> handler.replaceAttachments(List.of("executionList1"), attachment));
+
+        // Assert
+        assertThat(thrown).isExactlyInstanceOf(Exception.class).hasMessage("Delete failed");
+        assertThat(thrown.getSuppressed()).containsExactly(revertFailure);
+        verify(handler, never()).checkInAll();
+    }
+
+    @Test
+    public void testGetAttachmentContentSuccess() {
+        // Arrange
+        String uniqueId = "1234";
+        byte[] responseBody = "branch: main".getBytes();
+        HttpHeaders headers = utilities.setClientAuthenticationHttpHeaders(toscaConfiguration.getToscaClientId(), toscaConfiguration.getToscaClientSecret());
+        HttpEntity<String> entity = new HttpEntity<>(headers);
+        when(restTemplate.exchange(any(String.class), eq(HttpMethod.GET), eq(entity), eq(byte[].class))).thenReturn(ResponseEntity.ok(responseBody));
+
+        // Act
+        byte[] content = toscaRestAPIHandler.getAttachmentContent(uniqueId);
+
+        // Assert
+        assertThat(content).isEqualTo(responseBody);
+    }
+
+    @Test
+    public void testGetAttachmentContentWhenEmptyResponseBodyThenEmptyContent() {
+        // Arrange
+        String uniqueId = "1234";
+        HttpHeaders headers = utilities.setClientAuthenticationHttpHeaders(toscaConfiguration.getToscaClientId(), toscaConfiguration.getToscaClientSecret());
+        HttpEntity<String> entity = new HttpEntity<>(headers);
+        when(restTemplate.exchange(any(String.class), eq(HttpMethod.GET), eq(entity), eq(byte[].class))).thenReturn(ResponseEntity.ok().build());
+
+        // Act
+        byte[] content = toscaRestAPIHandler.getAttachmentContent(uniqueId);
+
+        // Assert
+        assertThat(content).isEmpty();
+    }
+
     @Test
     public void testDeleteAttachmentSuccess() throws Exception {
         // Arrange
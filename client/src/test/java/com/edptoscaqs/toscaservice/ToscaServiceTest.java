@@ -6,17 +6,20 @@ import com.edptoscaqs.toscaservice.execution.ExecutionManager;
 import com.edptoscaqs.toscaservice.execution.FreezeHandler;
 import com.edptoscaqs.toscaservice.execution.ResultsHandler;
 import com.edptoscaqs.toscaservice.logging.LoggerHelper;
+import com.edptoscaqs.toscaservice.logging.RunStatisticsLogger;
 import com.edptoscaqs.toscaservice.utilities.Utilities;
 import net.minidev.json.JSONObject;
 import org.junit.Before;
 
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -36,6 +39,8 @@ public class ToscaServiceTest {
     private Utilities utilities;
     @Mock
     private LoggerHelper loggerHelper;
+    @Mock
+    private RunStatisticsLogger runStatisticsLogger;
     @InjectMocks
     private ToscaService toscaService;
 
@@ -95,6 +100,37 @@ public class ToscaServiceTest {
         assertThat(failedTestCases).isFalse();
     }
 
+    @Test
+    public void testExecuteTestCasesWhenPipelineGitParametersThenAttachedDuringExecution() throws Exception {
+        // Arrange
+        String executionId = "123";
+        Map<String, String> gitParameters = Map.of("gitParam1", "value1");
+        Map<String, String> eventParameters = new HashMap<>();
+        Map<String, String> characteristics = new HashMap<>();
+        CompletableFuture<Void> gitParametersAttachment = CompletableFuture.completedFuture(null);
+
+        JSONObject executionResponse = new JSONObject();
+        executionResponse.put("ExecutionId", executionId);
+        executionResponse.put("CreatedAt", "2023-10-01T10:00:00Z");
+
+        when(toscaConfiguration.isPipelineGitParameters()).thenReturn(true);
+        when(executionManager.triggerExecution(eventParameters, characteristics)).thenReturn(executionResponse);
+        when(resultsHandler.attachGitParametersInBackground()).thenReturn(gitParametersAttachment);
+        when(resultsHandler.handleExecutionResults(executionId)).thenReturn(true);
+
+        // Act
+        boolean allTestsPassed = toscaService.executeTestCases("SampleProject", "SampleTestEvent", gitParameters, eventParameters, characteristics, true, "all", "outputPath");
+
+        // Assert
+        InOrder inOrder = inOrder(executionManager, resultsHandler);
+        inOrder.verify(executionManager).triggerExecution(eventParameters, characteristics);
+        inOrder.verify(resultsHandler).attachGitParametersInBackground();
+        inOrder.verify(executionManager).getExecutionStatus(executionId, 0);
+        inOrder.verify(resultsHandler).savePDFReport(executionId, gitParametersAttachment);
+        verify(resultsHandler, never()).savePDFReport(executionId);
+        assertThat(allTestsPassed).isTrue();
+    }
+
     @Test
     public void testExecuteTestCasesWithFreezeTestEventException() throws Exception {
         // Arrange
@@ -0,0 +1,97 @@
+package com.edptoscaqs.toscaservice.authentication;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AccessTokenManagerTest {
+    private AccessTokenManager accessTokenManager;
+    private AtomicInteger tokenRequests;
+
+    @Before
+    public void init() {
+        accessTokenManager = new AccessTokenManager();
+        tokenRequests = new AtomicInteger();
+    }
+
+    @Test
+    public void testValidTokenIsServedFromCache() throws Exception {
+        // Arrange
+        AccessTokenSupplier tokenSupplier = () -> {
+            tokenRequests.incrementAndGet();
+            return new AccessToken("token", 3600000, System.currentTimeMillis());
+        };
+
+        // Act
+        String firstToken = accessTokenManager.getAccessToken(tokenSupplier);
+        String secondToken = accessTokenManager.getAccessToken(tokenSupplier);
+
+        // Assert
+        assertThat(firstToken).isEqualTo("token");
+        assertThat(secondToken).isEqualTo("token");
+        assertThat(tokenRequests.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testTokenCloseToExpiryIsRefreshed() throws Exception {
+        // Arrange
+        AccessTokenSupplier tokenSupplier = () -> new AccessToken("token" + tokenRequests.incrementAndGet(), 3600000, System.currentTimeMillis() - 3590000);
+
+        // Act
+        String firstToken = accessTokenManager.getAccessToken(tokenSupplier);
+        String secondToken = accessTokenManager.getAccessToken(tokenSupplier);
+
+        // Assert
+        assertThat(firstToken).isEqualTo("token1");
+        assertThat(secondToken).isEqualTo("token2");
+    }
+
+    @Test
+    public void testInvalidatedTokenIsRequestedAgain() throws Exception {
+        // Arrange
+        AccessTokenSupplier tokenSupplier = () -> new AccessToken("token" + tokenRequests.incrementAndGet(), 3600000, System.currentTimeMillis());
+
+        // Act
+        accessTokenManager.getAccessToken(tokenSupplier);
+        accessTokenManager.invalidate("token1");
+        String token = accessTokenManager.getAccessToken(tokenSupplier);
+
+        // Assert
+        assertThat(token).isEqualTo("token2");
+        assertThat(accessTokenManager.getStatisticsSummary()).isEqualTo("Token requests: 2 - Cache hits: 0");
+    }
+
+    @Test
+    public void testInvalidateWithOutdatedTokenThenRefreshedTokenKept() throws Exception {
+        // Arrange
+        AccessTokenSupplier tokenSupplier = () -> new AccessToken("token" + tokenRequests.incrementAndGet(), 3600000, System.currentTimeMillis());
+        accessTokenManager.getAccessToken(tokenSupplier);
+        accessTokenManager.invalidate("token1");
+        accessTokenManager.getAccessToken(tokenSupplier);
+
+        // Act
+        accessTokenManager.invalidate("token1");
+        String token = accessTokenManager.getAccessToken(tokenSupplier);
+
+        // Assert
+        assertThat(token).isEqualTo("token2");
+        assertThat(accessTokenManager.getStatisticsSummary()).isEqualTo("Token requests: 2 - Cache hits: 1");
+    }
+
+    @Test
+    public void testTokenRequestFailureIsPropagated() {
+        // Arrange
+        AccessTokenSupplier tokenSupplier = () -> {
+            throw new IllegalStateException("Token endpoint not available");
+        };
+
+        // Act & Assert
+        assertThatThrownBy(() -> accessTokenManager.getAccessToken(tokenSupplier))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Token endpoint not available");
+    }
+}
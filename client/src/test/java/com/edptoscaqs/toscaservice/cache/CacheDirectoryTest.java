@@ -0,0 +1,114 @@
+package com.edptoscaqs.toscaservice.cache;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CacheDirectoryTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private CacheDirectory cacheDirectory;
+
+    @Before
+    public void init() {
+        cacheDirectory = new CacheDirectory();
+        cacheDirectory.directory = temporaryFolder.getRoot().getAbsolutePath();
+    }
+
+    @Test
+    public void testWriteJsonAtomicallyThenReadBackAndNoTemporaryFileLeft() throws Exception {
+        // Act
+        boolean written = cacheDirectory.writeJsonAtomically("sample", "server:443/Workspace", SampleValue.of("first", 1, 2));
+        SampleValue value = cacheDirectory.readJson("sample", "server:443/Workspace", SampleValue.class);
+
+        // Assert
+        assertThat(written).isTrue();
+        assertThat(value.name).isEqualTo("first");
+        assertThat(value.numbers).containsExactly(1, 2);
+        try (var cacheFiles = Files.list(temporaryFolder.getRoot().toPath())) {
+            assertThat(cacheFiles.toList()).containsExactly(cacheDirectory.getCacheFile("sample", "server:443/Workspace"));
+        }
+    }
+
+    @Test
+    public void testWriteJsonAtomicallyWhenEntryExistsThenReplaced() {
+        // Arrange
+        cacheDirectory.writeJsonAtomically("sample", "server:443/Workspace", SampleValue.of("first"));
+
+        // Act
+        cacheDirectory.writeJsonAtomically("sample", "server:443/Workspace", SampleValue.of("second"));
+
+        // Assert
+        assertThat(cacheDirectory.readJson("sample", "server:443/Workspace", SampleValue.class).name).isEqualTo("second");
+    }
+
+    @Test
+    public void testReadJsonWhenFileHoldsOtherKeyThenMiss() throws Exception {
+        // Arrange
+        cacheDirectory.writeJsonAtomically("sample", "server:443/Workspace", SampleValue.of("first"));
+        // Simulates a hash collision: the file of one key holds the entry of another
+        Files.copy(cacheDirectory.getCacheFile("sample", "server:443/Workspace"), cacheDirectory.getCacheFile("sample", "server:443/OtherWorkspace"));
+
+        // Act & Assert
+        assertThat(cacheDirectory.readJson("sample", "server:443/OtherWorkspace", SampleValue.class)).isNull();
+        assertThat(cacheDirectory.readJson("other", "server:443/Workspace", SampleValue.class)).isNull();
+    }
+
+    @Test
+    public void testReadJsonWhenCacheFileIsCorruptThenMiss() throws Exception {
+        // Arrange
+        cacheDirectory.writeJsonAtomically("sample", "server:443/Workspace", SampleValue.of("first"));
+        Path cacheFile = cacheDirectory.getCacheFile("sample", "server:443/Workspace");
+        Files.write(cacheFile, "{ not json".getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        assertThat(cacheDirectory.readJson("sample", "server:443/Workspace", SampleValue.class)).isNull();
+    }
+
+    @Test
+    public void testDeleteThenMiss() {
+        // Arrange
+        cacheDirectory.writeJsonAtomically("sample", "server:443/Workspace", SampleValue.of("first"));
+
+        // Act
+        cacheDirectory.delete("sample", "server:443/Workspace");
+
+        // Assert
+        assertThat(cacheDirectory.readJson("sample", "server:443/Workspace", SampleValue.class)).isNull();
+    }
+
+    @Test
+    public void testWithoutDirectoryThenNothingStored() {
+        // Arrange
+        CacheDirectory disabledCacheDirectory = new CacheDirectory();
+
+        // Act
+        boolean written = disabledCacheDirectory.writeJsonAtomically("sample", "server:443/Workspace", SampleValue.of("first"));
+
+        // Assert
+        assertThat(disabledCacheDirectory.isEnabled()).isFalse();
+        assertThat(written).isFalse();
+        assertThat(disabledCacheDirectory.readJson("sample", "server:443/Workspace", SampleValue.class)).isNull();
+    }
+
+    public static class SampleValue {
+        public String name;
+        public List<Integer> numbers;
+
+        static SampleValue of(String name, Integer... numbers) {
+            SampleValue sampleValue = new SampleValue();
+            sampleValue.name = name;
+            sampleValue.numbers = List.of(numbers);
+            return sampleValue;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.edptoscaqs.toscaservice.cache;
+
+import com.edptoscaqs.toscaservice.model.ExecutionRecord;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ExecutionHistoryStoreTest {
+    private static final String KEY = "server:443/Workspace/SampleTestEvent";
+
+    @Mock
+    private CacheDirectory cacheDirectory;
+
+    private ExecutionHistoryStore executionHistoryStore;
+
+    @Before
+    public void init() {
+        MockitoAnnotations.initMocks(this);
+        executionHistoryStore = new ExecutionHistoryStore(cacheDirectory);
+    }
+
+    @Test
+    public void testGetRecordsThenStoredRunsLoadedOnce() {
+        // Arrange
+        ExecutionHistoryStore.CachedHistory cachedHistory = new ExecutionHistoryStore.CachedHistory();
+        cachedHistory.runs.add(ExecutionHistoryStore.CachedRun.of(
+                new ExecutionRecord(90000, 10, 1L, List.of(new ExecutionRecord.ProgressPoint(30000, 4), new ExecutionRecord.ProgressPoint(90000, 10)))));
+        when(cacheDirectory.readJson(ExecutionHistoryStore.CACHE_CATEGORY, KEY, ExecutionHistoryStore.CachedHistory.class)).thenReturn(cachedHistory);
+
+        // Act
+        List<ExecutionRecord> executionRecords = executionHistoryStore.getRecords("server:443/Workspace", "SampleTestEvent");
+        executionHistoryStore.getRecords("server:443/Workspace", "SampleTestEvent");
+
+        // Assert
+        assertThat(executionRecords).hasSize(1);
+        assertThat(executionRecords.get(0).getDurationMillis()).isEqualTo(90000);
+        assertThat(executionRecords.get(0).getTotalTestCases()).isEqualTo(10);
+        assertThat(executionRecords.get(0).getProgress()).extracting(ExecutionRecord.ProgressPoint::getCompletedTestCases).containsExactly(4, 10);
+        assertThat(executionHistoryStore.getRecords("server:443/Workspace", "OtherTestEvent")).isEmpty();
+        verify(cacheDirectory, times(1)).readJson(ExecutionHistoryStore.CACHE_CATEGORY, KEY, ExecutionHistoryStore.CachedHistory.class);
+    }
+
+    @Test
+    public void testRecordWhenMaxRunsExceededThenOldestDropped() {
+        // Arrange
+        executionHistoryStore.maxRuns = 2;
+        ArgumentCaptor<ExecutionHistoryStore.CachedHistory> written = ArgumentCaptor.forClass(ExecutionHistoryStore.CachedHistory.class);
+
+        // Act
+        for (int run = 1; run <= 3; run++) {
+            executionHistoryStore.record("server:443/Workspace", "SampleTestEvent", new ExecutionRecord(run * 1000L, 10, run, List.of()));
+        }
+
+        // Assert
+        assertThat(executionHistoryStore.getRecords("server:443/Workspace", "SampleTestEvent"))
+                .extracting(ExecutionRecord::getDurationMillis).containsExactly(2000L, 3000L);
+        verify(cacheDirectory, times(3)).writeJsonAtomically(eq(ExecutionHistoryStore.CACHE_CATEGORY), eq(KEY), written.capture());
+        assertThat(written.getValue().runs).extracting(cachedRun -> cachedRun.durationMillis).containsExactly(2000L, 3000L);
+    }
+}
@@ -0,0 +1,83 @@
+package com.edptoscaqs.toscaservice.cache;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ObjectAttributeCacheTest {
+    private ObjectAttributeCache attributeCache;
+    private AtomicInteger loadCounter;
+    private Function<String, Map<String, String>> loader;
+
+    @Before
+    public void init() {
+        attributeCache = new ObjectAttributeCache();
+        loadCounter = new AtomicInteger();
+        loader = uniqueId -> Map.of("Name", uniqueId + "_" + loadCounter.incrementAndGet());
+    }
+
+    @Test
+    public void testGetAttributesWhenCachedThenLoaderNotCalled() {
+        // Act
+        Map<String, String> first = attributeCache.getAttributes("1234", loader);
+        Map<String, String> second = attributeCache.getAttributes("1234", loader);
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        assertThat(loadCounter.get()).isEqualTo(1);
+        assertThat(attributeCache.getStatisticsSummary()).isEqualTo("Hits: 1 - Misses: 1 - Invalidations: 0 - Cached objects: 1");
+    }
+
+    @Test
+    public void testInvalidateOnlyEvictsThatObject() {
+        // Arrange
+        attributeCache.getAttributes("1234", loader);
+        attributeCache.getAttributes("5678", loader);
+
+        // Act
+        attributeCache.invalidate("1234");
+        Map<String, String> reloaded = attributeCache.getAttributes("1234", loader);
+        attributeCache.getAttributes("5678", loader);
+
+        // Assert
+        assertThat(reloaded.get("Name")).isEqualTo("1234_3");
+        assertThat(loadCounter.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void testInvalidateAllEvictsEveryObject() {
+        // Arrange
+        attributeCache.getAttributes("1234", loader);
+        attributeCache.getAttributes("5678", loader);
+
+        // Act
+        attributeCache.invalidateAll();
+        attributeCache.getAttributes("1234", loader);
+        attributeCache.getAttributes("5678", loader);
+
+        // Assert
+        assertThat(loadCounter.get()).isEqualTo(4);
+        assertThat(attributeCache.getHitCount()).isZero();
+    }
+
+    @Test
+    public void testLoadOverlappingInvalidationIsNotCached() {
+        // Arrange
+        Function<String, Map<String, String>> overlappingLoader = uniqueId -> {
+            attributeCache.invalidate(uniqueId);
+            return loader.apply(uniqueId);
+        };
+
+        // Act
+        attributeCache.getAttributes("1234", overlappingLoader);
+        attributeCache.getAttributes("1234", loader);
+
+        // Assert
+        assertThat(loadCounter.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,154 @@
+package com.edptoscaqs.toscaservice.cache;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+public class OwningGroupCacheTest {
+    private static final String KEY = "server:443/Workspace/EDP_Lock_Group";
+
+    @Mock
+    private CacheDirectory cacheDirectory;
+
+    private AtomicInteger resolveCounter;
+    private Function<String, String> resolver;
+    private OwningGroupCache owningGroupCache;
+
+    @Before
+    public void init() {
+        MockitoAnnotations.initMocks(this);
+        resolveCounter = new AtomicInteger();
+        resolver = owningGroupName -> owningGroupName + "_id" + resolveCounter.incrementAndGet();
+        when(cacheDirectory.isEnabled()).thenReturn(true);
+        owningGroupCache = new OwningGroupCache(cacheDirectory);
+        owningGroupCache.timeToLive = 60000;
+    }
+
+    @Test
+    public void testGetOwningGroupIdWithoutDiskCacheThenResolvedOncePerWorkspace() {
+        // Arrange
+        OwningGroupCache memoryOnlyCache = new OwningGroupCache(new CacheDirectory());
+
+        // Act
+        String first = memoryOnlyCache.getOwningGroupId("server:443/Workspace", "EDP_Lock_Group", resolver);
+        String second = memoryOnlyCache.getOwningGroupId("server:443/Workspace", "EDP_Lock_Group", resolver);
+        String otherWorkspace = memoryOnlyCache.getOwningGroupId("server:443/OtherWorkspace", "EDP_Lock_Group", resolver);
+
+        // Assert
+        assertThat(second).isEqualTo(first);
+        assertThat(otherWorkspace).isEqualTo("EDP_Lock_Group_id2");
+        assertThat(resolveCounter.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testGetOwningGroupIdWhenDiskEntryIsFreshThenNotResolved() {
+        // Arrange
+        when(cacheDirectory.readJson(OwningGroupCache.CACHE_CATEGORY, KEY, OwningGroupCache.CachedOwningGroup.class))
+                .thenReturn(OwningGroupCache.CachedOwningGroup.of("storedId", System.currentTimeMillis()));
+
+        // Act
+        String owningGroupId = owningGroupCache.getOwningGroupId("server:443/Workspace", "EDP_Lock_Group", resolver);
+
+        // Assert
+        assertThat(owningGroupId).isEqualTo("storedId");
+        assertThat(resolveCounter.get()).isEqualTo(0);
+        assertThat(owningGroupCache.getStatisticsSummary()).startsWith("Hits: 0 - Disk hits: 1 - Misses: 0");
+    }
+
+    @Test
+    public void testGetOwningGroupIdWhenDiskEntryExpiredThenResolvedAndWritten() {
+        // Arrange
+        when(cacheDirectory.readJson(OwningGroupCache.CACHE_CATEGORY, KEY, OwningGroupCache.CachedOwningGroup.class))
+                .thenReturn(OwningGroupCache.CachedOwningGroup.of("oldId", 0));
+
+        // Act
+        String owningGroupId = owningGroupCache.getOwningGroupId("server:443/Workspace", "EDP_Lock_Group", resolver);
+
+        // Assert
+        assertThat(owningGroupId).isEqualTo("EDP_Lock_Group_id1");
+        verify(cacheDirectory, times(1)).writeJsonAtomically(eq(OwningGroupCache.CACHE_CATEGORY), eq(KEY), any(OwningGroupCache.CachedOwningGroup.class));
+    }
+
+    @Test
+    public void testGetOwningGroupIdConcurrentlyOnColdCacheThenResolvedAndWrittenOnce() throws Exception {
+        // Arrange
+        int callers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        Function<String, String> slowResolver = owningGroupName -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return resolver.apply(owningGroupName);
+        };
+        ExecutorService executorService = Executors.newFixedThreadPool(callers);
+        List<Future<String>> futures = new ArrayList<>();
+        List<String> owningGroupIds = new ArrayList<>();
+
+        // Act
+        try {
+            for (int i = 0; i < callers; i++) {
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    return owningGroupCache.getOwningGroupId("server:443/Workspace", "EDP_Lock_Group", slowResolver);
+                }));
+            }
+            start.countDown();
+            for (Future<String> future : futures) {
+                owningGroupIds.add(future.get());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        // Assert
+        assertThat(owningGroupIds).hasSize(callers).containsOnly("EDP_Lock_Group_id1");
+        assertThat(resolveCounter.get()).isEqualTo(1);
+        verify(cacheDirectory, times(1)).readJson(OwningGroupCache.CACHE_CATEGORY, KEY, OwningGroupCache.CachedOwningGroup.class);
+        verify(cacheDirectory, times(1)).writeJsonAtomically(eq(OwningGroupCache.CACHE_CATEGORY), eq(KEY), any(OwningGroupCache.CachedOwningGroup.class));
+    }
+
+    @Test
+    public void testInvalidateThenResolvedAgain() {
+        // Arrange
+        owningGroupCache.getOwningGroupId("server:443/Workspace", "EDP_Lock_Group", resolver);
+
+        // Act
+        owningGroupCache.invalidate("server:443/Workspace", "EDP_Lock_Group");
+        String owningGroupId = owningGroupCache.getOwningGroupId("server:443/Workspace", "EDP_Lock_Group", resolver);
+
+        // Assert
+        assertThat(owningGroupId).isEqualTo("EDP_Lock_Group_id2");
+        verify(cacheDirectory, times(1)).delete(OwningGroupCache.CACHE_CATEGORY, KEY);
+    }
+
+    @Test
+    public void testGetOwningGroupIdWithoutTimeToLiveThenDiskNotUsed() {
+        // Arrange
+        owningGroupCache.timeToLive = 0;
+
+        // Act
+        owningGroupCache.getOwningGroupId("server:443/Workspace", "EDP_Lock_Group", resolver);
+
+        // Assert
+        verify(cacheDirectory, never()).readJson(anyString(), anyString(), any(Class.class));
+        verify(cacheDirectory, never()).writeJsonAtomically(anyString(), anyString(), any());
+    }
+}
@@ -0,0 +1,65 @@
+package com.edptoscaqs.toscaservice.cache;
+
+import com.edptoscaqs.toscaservice.model.ExecutionListTopology;
+import com.edptoscaqs.toscaservice.model.ObjectAttributes;
+import com.edptoscaqs.toscaservice.model.TestEventTopology;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static com.edptoscaqs.toscaservice.configuration.Constants.*;
+
+public class TopologyDiskCacheTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testWriteThenTopologyReadBackWithStableAttributesOnly() {
+        // Arrange
+        CacheDirectory cacheDirectory = new CacheDirectory();
+        cacheDirectory.directory = temporaryFolder.getRoot().getAbsolutePath();
+        TopologyDiskCache topologyDiskCache = new TopologyDiskCache(cacheDirectory);
+
+        // Act
+        topologyDiskCache.write("server:443/Workspace", createTopology());
+        TestEventTopology topology = topologyDiskCache.read("server:443/Workspace", "SampleTestEvent");
+
+        // Assert
+        assertThat(topology).isNotNull();
+        assertThat(topology.getTestEventId()).isEqualTo("1234");
+        assertThat(topology.getTestEventAttributes().getRevision()).isEqualTo("3");
+        assertThat(topology.getExecutionListIds()).containsExactly("executionList1");
+        assertThat(topology.getExecutionList("executionList1").getName()).isEqualTo("List one");
+        assertThat(topology.getExecutionList("executionList1").getTestCaseIds()).containsExactly("testCase2", "testCase1");
+        assertThat(topology.getExecutionList("executionList1").getTestCases().get("testCase1").getCheckOutState()).isNull();
+        assertThat(topologyDiskCache.read("server:443/OtherWorkspace", "SampleTestEvent")).isNull();
+        assertThat(topologyDiskCache.getStatisticsSummary()).startsWith("Reads: 1 - Misses: 1 - Writes: 1");
+    }
+
+    @Test
+    public void testWriteWithoutCacheDirectoryThenNothingStored() {
+        // Arrange
+        TopologyDiskCache topologyDiskCache = new TopologyDiskCache(new CacheDirectory());
+
+        // Act
+        topologyDiskCache.write("server:443/Workspace", createTopology());
+
+        // Assert
+        assertThat(topologyDiskCache.isDiskCacheEnabled()).isFalse();
+        assertThat(topologyDiskCache.read("server:443/Workspace", "SampleTestEvent")).isNull();
+        assertThat(topologyDiskCache.getStatisticsSummary()).isEqualTo("Reads: 0 - Misses: 0 - Writes: 0 - Disk cache: disabled");
+    }
+
+    private TestEventTopology createTopology() {
+        Map<String, ObjectAttributes> testCases = new LinkedHashMap<>();
+        testCases.put("testCase2", ObjectAttributes.of("testCase2", Map.of("Name", "Second")));
+        testCases.put("testCase1", ObjectAttributes.of("testCase1", Map.of("Name", "First", PROPERTY_CHECKOUT_STATE, CHECKED_IN_STATUS)));
+        ExecutionListTopology executionList = new ExecutionListTopology(ObjectAttributes.of("executionList1", Map.of("Name", "List one", PROPERTY_REVISION, "7")), testCases);
+        return new TestEventTopology("SampleTestEvent", ObjectAttributes.of("1234", Map.of(PROPERTY_REVISION, "3")), List.of(executionList), 0L);
+    }
+}
@@ -0,0 +1,103 @@
+package com.edptoscaqs.toscaservice.endpoint;
+
+import com.edptoscaqs.toscaservice.configuration.ToscaConfigParameters;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+public class EndpointCatalogTest {
+    @Mock
+    private ToscaConfigParameters toscaConfiguration;
+
+    private EndpointCatalog endpointCatalog;
+
+    @Before
+    public void init() {
+        MockitoAnnotations.initMocks(this);
+        when(toscaConfiguration.getToscaServerGateway()).thenReturn("ServerGateway");
+        when(toscaConfiguration.getToscaServerPort()).thenReturn(123);
+        when(toscaConfiguration.getNonAOSWorkspace()).thenReturn("SampleWorkspace");
+        endpointCatalog = new EndpointCatalog();
+    }
+
+    @Test
+    public void testCommanderEndpointsMatchUriComponentsBuilder() {
+        // Arrange
+        WorkspaceEndpoints endpoints = endpointCatalog.getEndpoints(toscaConfiguration);
+
+        // Act & Assert
+        assertThat(endpoints.expand(ToscaEndpoint.CHECK_OUT_URL, "1234"))
+                .isEqualTo(expandWithBuilder(ToscaEndpoint.CHECK_OUT_URL, "1234"));
+        assertThat(endpoints.expand(ToscaEndpoint.CHANGE_OWNING_GROUP_URL, "group", "1234"))
+                .isEqualTo(expandWithBuilder(ToscaEndpoint.CHANGE_OWNING_GROUP_URL, "group", "1234"));
+        assertThat(endpoints.expand(ToscaEndpoint.EXECUTION_LISTS_URL, "Sample Test Event"))
+                .isEqualTo(expandWithBuilder(ToscaEndpoint.EXECUTION_LISTS_URL, "Sample Test Event"));
+        assertThat(endpoints.expand(ToscaEndpoint.PDF_REPORT_URL, "1234", "ToscaIntegrationReport", "report.pdf"))
+                .isEqualTo(expandWithBuilder(ToscaEndpoint.PDF_REPORT_URL, "1234", "ToscaIntegrationReport", "report.pdf"));
+        assertThat(endpoints.expand(ToscaEndpoint.CHECK_IN_URL))
+                .isEqualTo(UriComponentsBuilder
+                        .fromHttpUrl("https://{gateway}:{port}/rest/toscacommander/{workspace}/task/CheckInAll")
+                        .queryParam("checkInComment", "freeze changes")
+                        .buildAndExpand("ServerGateway", 123, "SampleWorkspace")
+                        .toUriString());
+    }
+
+    @Test
+    public void testExecutionEndpointsMatchUriComponentsBuilder() {
+        // Arrange
+        WorkspaceEndpoints endpoints = endpointCatalog.getEndpoints(toscaConfiguration);
+
+        // Act
+        String statusUrl = endpoints.expand(ToscaEndpoint.STATUS_URL, "5678");
+        String partialResultsUrl = endpoints.expand(ToscaEndpoint.PARTIAL_RESULTS_URL, "5678");
+
+        // Assert
+        assertThat(statusUrl).isEqualTo("https://ServerGateway:123/automationobjectservice/api/Execution/5678/Status");
+        assertThat(partialResultsUrl).isEqualTo(UriComponentsBuilder
+                .fromHttpUrl(ToscaEndpoint.PARTIAL_RESULTS_URL.getTemplate())
+                .buildAndExpand("ServerGateway", 123, "5678")
+                .toUriString());
+    }
+
+    @Test
+    public void testEndpointsAreCompiledOncePerWorkspace() {
+        // Act
+        WorkspaceEndpoints firstEndpoints = endpointCatalog.getEndpoints(toscaConfiguration);
+        WorkspaceEndpoints secondEndpoints = endpointCatalog.getEndpoints(toscaConfiguration);
+        when(toscaConfiguration.getNonAOSWorkspace()).thenReturn("OtherWorkspace");
+        WorkspaceEndpoints otherEndpoints = endpointCatalog.getEndpoints(toscaConfiguration);
+
+        // Assert
+        assertThat(secondEndpoints).isSameAs(firstEndpoints);
+        assertThat(otherEndpoints).isNotSameAs(firstEndpoints);
+        assertThat(otherEndpoints.expand(ToscaEndpoint.UPDATE_ALL_URL)).isEqualTo("https://ServerGateway:123/rest/toscacommander/OtherWorkspace/task/UpdateAll");
+    }
+
+    @Test
+    public void testExpandWithWrongNumberOfVariablesThenIllegalArgument() {
+        // Arrange
+        CompiledUriTemplate template = CompiledUriTemplate.compile(ToscaEndpoint.GET_OBJECT_URL.getTemplate(), Map.of("gateway", "ServerGateway", "port", 123, "workspace", "SampleWorkspace"));
+
+        // Act & Assert
+        assertThat(template.getVariableNames()).containsExactly("uniqueId");
+        assertThatThrownBy(template::expand)
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private String expandWithBuilder(ToscaEndpoint endpoint, Object... variables) {
+        Object[] allVariables = new Object[variables.length + 3];
+        allVariables[0] = "ServerGateway";
+        allVariables[1] = 123;
+        allVariables[2] = "SampleWorkspace";
+        System.arraycopy(variables, 0, allVariables, 3, variables.length);
+        return UriComponentsBuilder.fromHttpUrl(endpoint.getTemplate()).buildAndExpand(allVariables).toUriString();
+    }
+}
@@ -3,13 +3,15 @@ package com.edptoscaqs.toscaservice.execution;
 import com.edptoscaqs.toscaservice.ToscaExecutionAPIHandler;
 import com.edptoscaqs.toscaservice.configuration.ToscaConfigParameters;
 import com.edptoscaqs.toscaservice.logging.LoggerHelper;
+import com.edptoscaqs.toscaservice.model.PartialExecutionResults;
+import com.edptoscaqs.toscaservice.polling.AdaptivePollingStrategy;
 import com.edptoscaqs.toscaservice.utilities.Utilities;
 import net.minidev.json.JSONObject;
 import org.junit.Before;
 import org.junit.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -27,7 +29,8 @@ public class ExecutionManagerTest {
     private ToscaConfigParameters toscaConfiguration;
     @Mock
     private Utilities utilities;
-    @InjectMocks
+    @Spy
+    private AdaptivePollingStrategy pollingStrategy = new AdaptivePollingStrategy();
     private ExecutionManager executionManager;
     @Mock
     private LoggerHelper loggerHelper;
@@ -35,6 +38,8 @@ public class ExecutionManagerTest {
     @Before
     public void init() {
         MockitoAnnotations.initMocks(this);
+        PartialResultsFetcher partialResultsFetcher = new PartialResultsFetcher(toscaExecutionAPIHandler, toscaConfiguration, loggerHelper);
+        executionManager = new ExecutionManager(toscaExecutionAPIHandler, utilities, toscaConfiguration, loggerHelper, pollingStrategy, partialResultsFetcher);
         doNothing().when(loggerHelper).logInfo(anyString());
         doNothing().when(loggerHelper).logWarning(anyString());
         doNothing().when(loggerHelper).logError(anyString());
@@ -97,6 +102,21 @@ public class ExecutionManagerTest {
         verify(loggerHelper).logDebug("[HandleStatus] Process ends successfully - All test cases completed successfully.");
     }
 
+    @Test
+    public void testGetExecutionStatusInProgressThenSleepsOnlyWhilePolling() throws Exception {
+        // Arrange
+        when(toscaConfiguration.getStatusMinSleepTime()).thenReturn(1000L);
+        when(toscaConfiguration.getStatusMaxSleepTime()).thenReturn(1000L);
+        when(toscaExecutionAPIHandler.getEventExecutionStatus(anyString())).thenReturn("InProgress").thenReturn("InProgress").thenReturn("Completed");
+
+        // Act
+        executionManager.getExecutionStatus("testExecutionId", 1);
+
+        // Assert
+        verify(toscaExecutionAPIHandler, times(3)).getEventExecutionStatus("testExecutionId");
+        verify(utilities, times(2)).sleepWithInterruptHandling(eq(1000L), any(LoggerHelper.class));
+    }
+
     @Test
     public void testGetExecutionStatusError() throws Exception {
         // Arrange
@@ -175,14 +195,12 @@ public class ExecutionManagerTest {
         String executionId = "testExecutionId";
         int totalTestCases = 10;
         StringBuilder statusLog = new StringBuilder();
-        String xmlString = "<results><TotalTestCases>5</TotalTestCases><Passed>3</Passed><Failed>2</Failed></results>";
         Map<String, Integer> partialResults = new HashMap<>();
         partialResults.put("Total Test Cases", 5);
         partialResults.put("Passed", 3);
         partialResults.put("Failed", 2);
 
-        when(toscaExecutionAPIHandler.getPartialExecutionResults(executionId)).thenReturn(xmlString);
-        when(utilities.extractPartialTestResults(xmlString)).thenReturn(partialResults);
+        when(toscaExecutionAPIHandler.getPartialTestResults(executionId, null)).thenReturn(PartialExecutionResults.of(partialResults, null));
 
         // Act
         executionManager.appendPartialResults(executionId, totalTestCases, statusLog);
@@ -199,9 +217,8 @@ public class ExecutionManagerTest {
         String executionId = "testExecutionId";
         int totalTestCases = 10;
         StringBuilder statusLog = new StringBuilder();
-        String xmlString = "";
 
-        when(toscaExecutionAPIHandler.getPartialExecutionResults(executionId)).thenReturn(xmlString);
+        when(toscaExecutionAPIHandler.getPartialTestResults(executionId, null)).thenReturn(PartialExecutionResults.of(Map.of(), null));
 
         // Act
         executionManager.appendPartialResults(executionId, totalTestCases, statusLog);
@@ -216,9 +233,8 @@ public class ExecutionManagerTest {
         String executionId = "testExecutionId";
         int totalTestCases = 10;
         StringBuilder statusLog = new StringBuilder();
-        String xmlString = null;
 
-        when(toscaExecutionAPIHandler.getPartialExecutionResults(executionId)).thenReturn(xmlString);
+        when(toscaExecutionAPIHandler.getPartialTestResults(executionId, null)).thenReturn(PartialExecutionResults.of(null, null));
 
         // Act
         executionManager.appendPartialResults(executionId, totalTestCases, statusLog);
@@ -1,20 +1,26 @@
 package com.edptoscaqs.toscaservice.execution;
 
 import com.edptoscaqs.toscaservice.ToscaRestAPIHandler;
+import com.edptoscaqs.toscaservice.cache.CacheDirectory;
+import com.edptoscaqs.toscaservice.cache.TopologyDiskCache;
 import com.edptoscaqs.toscaservice.configuration.ToscaConfigParameters;
 import com.edptoscaqs.toscaservice.logging.LoggerHelper;
+import com.edptoscaqs.toscaservice.model.ObjectAttributes;
 import org.junit.Before;
 import org.junit.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.client.HttpClientErrorException;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.when;
@@ -27,12 +33,14 @@ public class FreezeHandlerTest {
     private ToscaConfigParameters toscaConfiguration;
     @Mock
     private LoggerHelper loggerHelper;
-    @InjectMocks
+    private TestEventTopologyProvider topologyProvider;
     private FreezeHandler freezeHandler;
    
     @Before
     public void init() {
         MockitoAnnotations.initMocks(this);
+        topologyProvider = new TestEventTopologyProvider(toscaRestAPIHandler, Runnable::run, new TopologyDiskCache(new CacheDirectory()), toscaConfiguration, loggerHelper);
+        freezeHandler = new FreezeHandler(toscaRestAPIHandler, toscaConfiguration, loggerHelper, topologyProvider, Runnable::run);
         doNothing().when(loggerHelper).logInfo(anyString());
         doNothing().when(loggerHelper).logWarning(anyString());
         doNothing().when(loggerHelper).logError(anyString());
@@ -55,7 +63,7 @@ public class FreezeHandlerTest {
         when(toscaRestAPIHandler.listExecutionLists(toscaConfiguration.getTestEventName())).thenReturn(executionLists);
         when(toscaRestAPIHandler.getTestEventUniqueId(toscaConfiguration.getTestEventName())).thenReturn(testEventUniqueId);
         when(toscaRestAPIHandler.getObjectProperty(anyString(), eq(PROPERTY_OWNING_GROUP_NAME))).thenReturn(OWNING_GROUP_ALL_USERS).thenReturn(edpLockGroup);
-        when(toscaRestAPIHandler.listTestCasesInExecutionList(anyString())).thenReturn(testCases);
+        when(toscaRestAPIHandler.getTestCaseAttributesInExecutionList(anyString())).thenReturn(testCaseAttributes(testCases));
         when(toscaRestAPIHandler.getObjectProperty(anyString(), eq(PROPERTY_CHECKOUT_STATE))).thenReturn(CHECKED_IN_STATUS);
         doNothing().when(toscaRestAPIHandler).checkOutObject(anyString());
         doNothing().when(toscaRestAPIHandler).changeObjectOwningGroup(anyString());
@@ -66,6 +74,9 @@ public class FreezeHandlerTest {
 
         // Assert
         verify(toscaRestAPIHandler, times(1)).listExecutionLists(toscaConfiguration.getTestEventName());
+        verify(toscaRestAPIHandler, times(2)).getTestCaseAttributesInExecutionList(anyString());
+        verify(toscaRestAPIHandler, never()).listTestCasesInExecutionList(anyString());
+        verify(toscaRestAPIHandler, times(1)).getAttributesByUniqueIds(Arrays.asList("executionList1", "executionList2", testEventUniqueId));
         verify(toscaRestAPIHandler, times(7)).checkOutObject(anyString());
         verify(toscaRestAPIHandler, times(7)).changeObjectOwningGroup(anyString());
         verify(toscaRestAPIHandler, times(14)).getObjectProperty(anyString(), eq(PROPERTY_OWNING_GROUP_NAME));
@@ -267,7 +278,7 @@ public class FreezeHandlerTest {
         when(toscaRestAPIHandler.getTestEventUniqueId(testEventName)).thenReturn(testEventUniqueId);
         when(toscaRestAPIHandler.getObjectProperty(anyString(), eq(PROPERTY_OWNING_GROUP_NAME))).thenReturn(edpLockGroup);
         when(toscaRestAPIHandler.getObjectProperty(testEventUniqueId, PROPERTY_OWNING_GROUP_NAME)).thenReturn(OWNING_GROUP_ALL_USERS).thenReturn(edpLockGroup);
-        when(toscaRestAPIHandler.listTestCasesInExecutionList(anyString())).thenReturn(testCases);
+        when(toscaRestAPIHandler.getTestCaseAttributesInExecutionList(anyString())).thenReturn(testCaseAttributes(testCases));
         when(toscaRestAPIHandler.getObjectProperty(anyString(), eq(PROPERTY_CHECKOUT_STATE))).thenReturn(CHECKED_IN_STATUS);
         doNothing().when(toscaRestAPIHandler).checkOutObject(anyString());
         doNothing().when(toscaRestAPIHandler).changeObjectOwningGroup(anyString());
@@ -335,6 +346,106 @@ public class FreezeHandlerTest {
                 .hasMessageContaining("400 BAD_REQUEST");
     }
 
+    @Test
+    public void testFreezeTestEventInParallelSuccess() throws Exception {
+        // Arrange
+        String testEventUniqueId = "1234";
+        List<String> executionLists = Arrays.asList("executionList1", "executionList2");
+        String edpLockGroup = "EDP_LOCK_GROUP";
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        FreezeHandler parallelFreezeHandler = new FreezeHandler(toscaRestAPIHandler, toscaConfiguration, loggerHelper, topologyProvider, executor);
+
+        when(toscaConfiguration.getFreezeConcurrency()).thenReturn(4);
+        when(toscaConfiguration.getEdpLockGroupName()).thenReturn(edpLockGroup);
+        when(toscaRestAPIHandler.listExecutionLists(toscaConfiguration.getTestEventName())).thenReturn(executionLists);
+        when(toscaRestAPIHandler.getTestEventUniqueId(toscaConfiguration.getTestEventName())).thenReturn(testEventUniqueId);
+        when(toscaRestAPIHandler.getObjectProperty(anyString(), eq(PROPERTY_OWNING_GROUP_NAME))).thenReturn(OWNING_GROUP_ALL_USERS).thenReturn(edpLockGroup);
+        when(toscaRestAPIHandler.getTestCaseAttributesInExecutionList("executionList1")).thenReturn(testCaseAttributes(Arrays.asList("testCase1", "testCase2")));
+        when(toscaRestAPIHandler.getTestCaseAttributesInExecutionList("executionList2")).thenReturn(testCaseAttributes(Arrays.asList("testCase3", "testCase4")));
+        when(toscaRestAPIHandler.getObjectProperty(anyString(), eq(PROPERTY_CHECKOUT_STATE))).thenReturn(CHECKED_IN_STATUS);
+
+        // Act
+        try {
+            parallelFreezeHandler.freezeTestEvent(true);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        verify(toscaRestAPIHandler, times(1)).getTestCaseAttributesInExecutionList("executionList1");
+        verify(toscaRestAPIHandler, times(1)).getTestCaseAttributesInExecutionList("executionList2");
+        verify(toscaRestAPIHandler, never()).listTestCasesInExecutionList(anyString());
+        verify(toscaRestAPIHandler, times(7)).checkOutObject(anyString());
+        verify(toscaRestAPIHandler, times(7)).changeObjectOwningGroup(anyString());
+        verify(toscaRestAPIHandler, times(1)).checkInAll();
+        verify(toscaRestAPIHandler, never()).revertAll();
+        assertThat(parallelFreezeHandler.getTestCaseCounter()).isEqualTo(4);
+    }
+
+    @Test
+    public void testFreezeTestEventInParallelWhenObjectFailsThenRevertAll() throws Exception {
+        // Arrange
+        String testEventUniqueId = "1234";
+        String edpLockGroup = "EDP_LOCK_GROUP";
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        FreezeHandler parallelFreezeHandler = new FreezeHandler(toscaRestAPIHandler, toscaConfiguration, loggerHelper, topologyProvider, executor);
+
+        when(toscaConfiguration.getFreezeConcurrency()).thenReturn(2);
+        when(toscaConfiguration.getEdpLockGroupName()).thenReturn(edpLockGroup);
+        when(toscaRestAPIHandler.listExecutionLists(toscaConfiguration.getTestEventName())).thenReturn(List.of("executionList1"));
+        when(toscaRestAPIHandler.getTestEventUniqueId(toscaConfiguration.getTestEventName())).thenReturn(testEventUniqueId);
+        when(toscaRestAPIHandler.getObjectProperty(anyString(), eq(PROPERTY_OWNING_GROUP_NAME))).thenReturn(OWNING_GROUP_ALL_USERS).thenReturn(edpLockGroup);
+        when(toscaRestAPIHandler.getTestCaseAttributesInExecutionList("executionList1")).thenReturn(testCaseAttributes(Arrays.asList("testCase1", "testCase2", "testCase3")));
+        when(toscaRestAPIHandler.getObjectProperty(anyString(), eq(PROPERTY_CHECKOUT_STATE))).thenReturn(CHECKED_IN_STATUS);
+        doThrow(new HttpClientErrorException(HttpStatus.CONFLICT)).when(toscaRestAPIHandler).checkOutObject("testCase2");
+
+        // Act & Assert
+        try {
+            assertThatThrownBy(() -> parallelFreezeHandler.freezeTestEvent(true))
+                    .isInstanceOf(HttpClientErrorException.class)
+                    .hasMessageContaining("409 CONFLICT");
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(toscaRestAPIHandler, times(1)).revertAll();
+        verify(toscaRestAPIHandler, never()).checkInAll();
+        verify(toscaRestAPIHandler, never()).checkOutObject("executionList1");
+    }
+
+    @Test
+    public void testFreezeTestEventInParallelWhenRevertAllFailsThenObjectFailureKept() throws Exception {
+        // Arrange
+        String testEventUniqueId = "1234";
+        String edpLockGroup = "EDP_LOCK_GROUP";
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        FreezeHandler parallelFreezeHandler = new FreezeHandler(toscaRestAPIHandler, toscaConfiguration, loggerHelper, topologyProvider, executor);
+        HttpClientErrorException revertFailure = new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+
+        when(toscaConfiguration.getFreezeConcurrency()).thenReturn(2);
+        when(toscaConfiguration.getEdpLockGroupName()).thenReturn(edpLockGroup);
+        when(toscaRestAPIHandler.listExecutionLists(toscaConfiguration.getTestEventName())).thenReturn(List.of("executionList1"));
+        when(toscaRestAPIHandler.getTestEventUniqueId(toscaConfiguration.getTestEventName())).thenReturn(testEventUniqueId);
+        when(toscaRestAPIHandler.getObjectProperty(anyString(), eq(PROPERTY_OWNING_GROUP_NAME))).thenReturn(OWNING_GROUP_ALL_USERS).thenReturn(edpLockGroup);
+        when(toscaRestAPIHandler.getTestCaseAttributesInExecutionList("executionList1")).thenReturn(testCaseAttributes(Arrays.asList("testCase1", "testCase2")));
+        when(toscaRestAPIHandler.getObjectProperty(anyString(), eq(PROPERTY_CHECKOUT_STATE))).thenReturn(CHECKED_IN_STATUS);
+        doThrow(new HttpClientErrorException(HttpStatus.CONFLICT)).when(toscaRestAPIHandler).checkOutObject("testCase2");
+        doThrow(revertFailure).when(toscaRestAPIHandler).revertAll();
+
+        // Act
+        Throwable thrown;
+        try {
+            thrown = catchThrowable(() -> parallelFreezeHandler.freezeTestEvent(true));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        assertThat(thrown).isInstanceOf(HttpClientErrorException.class).hasMessageContaining("409 CONFLICT");
+        assertThat(thrown.getSuppressed()).contains(revertFailure);
+        verify(toscaRestAPIHandler, times(1)).revertAll();
+        verify(toscaRestAPIHandler, never()).checkInAll();
+    }
+
     @Test
     public void testFreezeTestCasesSuccess() throws Exception {
         // Arrange
@@ -417,4 +528,10 @@ public class FreezeHandlerTest {
         assertThatThrownBy(() -> freezeHandler.changeOwningGroupName(uniqueId, anyString()))
                 .isInstanceOf(Exception.class);
     }
+
+    private Map<String, ObjectAttributes> testCaseAttributes(List<String> testCases) {
+        Map<String, ObjectAttributes> testCaseAttributes = new LinkedHashMap<>();
+        testCases.forEach(testCase -> testCaseAttributes.put(testCase, ObjectAttributes.of(testCase, Map.of(PROPERTY_CHECKOUT_STATE, CHECKED_IN_STATUS))));
+        return testCaseAttributes;
+    }
 }
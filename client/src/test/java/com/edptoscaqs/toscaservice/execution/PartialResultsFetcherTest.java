@@ -0,0 +1,129 @@
+package com.edptoscaqs.toscaservice.execution;
+
+import com.edptoscaqs.toscaservice.ToscaExecutionAPIHandler;
+import com.edptoscaqs.toscaservice.configuration.ToscaConfigParameters;
+import com.edptoscaqs.toscaservice.logging.LoggerHelper;
+import com.edptoscaqs.toscaservice.model.PartialExecutionResults;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class PartialResultsFetcherTest {
+    @Mock
+    private ToscaExecutionAPIHandler toscaExecutionAPIHandler;
+    @Mock
+    private ToscaConfigParameters toscaConfiguration;
+    @Mock
+    private LoggerHelper loggerHelper;
+
+    private AtomicLong clock;
+    private PartialResultsFetcher partialResultsFetcher;
+
+    @Before
+    public void init() {
+        MockitoAnnotations.initMocks(this);
+        clock = new AtomicLong(1000);
+        partialResultsFetcher = new PartialResultsFetcher(toscaExecutionAPIHandler, toscaConfiguration, loggerHelper, clock::get);
+    }
+
+    @Test
+    public void testGetPartialResultsWithEntityTagThenConditionalRequest() throws Exception {
+        // Arrange
+        when(toscaExecutionAPIHandler.getPartialTestResults("12345", null)).thenReturn(PartialExecutionResults.of(Map.of("Total Test Cases", 3), "\"v1\""));
+        when(toscaExecutionAPIHandler.getPartialTestResults("12345", "\"v1\"")).thenReturn(PartialExecutionResults.notModified("\"v1\""));
+
+        // Act
+        Map<String, Integer> first = partialResultsFetcher.getPartialResults("12345");
+        Map<String, Integer> second = partialResultsFetcher.getPartialResults("12345");
+
+        // Assert
+        assertThat(second).isEqualTo(first).containsEntry("Total Test Cases", 3);
+        verify(toscaExecutionAPIHandler, times(1)).getPartialTestResults("12345", null);
+        verify(toscaExecutionAPIHandler, times(1)).getPartialTestResults("12345", "\"v1\"");
+    }
+
+    @Test
+    public void testGetPartialResultsWithinIntervalThenNoRequest() throws Exception {
+        // Arrange
+        when(toscaConfiguration.getPartialResultsInterval()).thenReturn(60000L);
+        when(toscaExecutionAPIHandler.getPartialTestResults("12345", null)).thenReturn(PartialExecutionResults.of(Map.of("Total Test Cases", 3), null));
+
+        // Act
+        partialResultsFetcher.getPartialResults("12345");
+        clock.addAndGet(30000);
+        partialResultsFetcher.getPartialResults("12345");
+        clock.addAndGet(30000);
+        partialResultsFetcher.getPartialResults("12345");
+
+        // Assert
+        verify(toscaExecutionAPIHandler, times(2)).getPartialTestResults("12345", null);
+    }
+
+    @Test
+    public void testGetPartialResultsWhenExecutionChangesThenEntityTagDropped() throws Exception {
+        // Arrange
+        when(toscaExecutionAPIHandler.getPartialTestResults(anyString(), anyString())).thenReturn(PartialExecutionResults.notModified("\"v1\""));
+        when(toscaExecutionAPIHandler.getPartialTestResults("12345", null)).thenReturn(PartialExecutionResults.of(Map.of("Total Test Cases", 3), "\"v1\""));
+        when(toscaExecutionAPIHandler.getPartialTestResults("67890", null)).thenReturn(PartialExecutionResults.of(Map.of("Total Test Cases", 7), "\"v1\""));
+        partialResultsFetcher.getPartialResults("12345");
+
+        // Act
+        Map<String, Integer> partialResults = partialResultsFetcher.getPartialResults("67890");
+
+        // Assert
+        assertThat(partialResults).containsEntry("Total Test Cases", 7);
+        verify(toscaExecutionAPIHandler, never()).getPartialTestResults("67890", "\"v1\"");
+    }
+
+    @Test
+    public void testGetPartialResultsWhenRequestFailsThenPreviousCountsAndEntityTagKept() throws Exception {
+        // Arrange
+        when(toscaExecutionAPIHandler.getPartialTestResults("12345", null)).thenReturn(PartialExecutionResults.of(Map.of("Total Test Cases", 3), "\"v1\""));
+        when(toscaExecutionAPIHandler.getPartialTestResults("12345", "\"v1\"")).thenReturn(null).thenReturn(PartialExecutionResults.notModified("\"v1\""));
+        partialResultsFetcher.getPartialResults("12345");
+
+        // Act
+        Map<String, Integer> afterFailure = partialResultsFetcher.getPartialResults("12345");
+        Map<String, Integer> afterRecovery = partialResultsFetcher.getPartialResults("12345");
+
+        // Assert
+        assertThat(afterFailure).containsEntry("Total Test Cases", 3);
+        assertThat(afterRecovery).containsEntry("Total Test Cases", 3);
+        verify(toscaExecutionAPIHandler, times(1)).getPartialTestResults("12345", null);
+        verify(toscaExecutionAPIHandler, times(2)).getPartialTestResults("12345", "\"v1\"");
+        assertThat(partialResultsFetcher.getStatisticsSummary()).isEqualTo("Downloads: 1 - Not modified: 1 - Skipped: 0");
+    }
+
+    @Test
+    public void testGetPartialResultsWhenFirstRequestFailsThenEmpty() throws Exception {
+        // Arrange
+        when(toscaExecutionAPIHandler.getPartialTestResults("12345", null)).thenReturn(null);
+
+        // Act
+        Map<String, Integer> partialResults = partialResultsFetcher.getPartialResults("12345");
+
+        // Assert
+        assertThat(partialResults).isEmpty();
+        assertThat(partialResultsFetcher.getStatisticsSummary()).isEqualTo("Downloads: 0 - Not modified: 0 - Skipped: 0");
+    }
+
+    @Test
+    public void testGetPartialResultsWhenNoDataThenEmpty() throws Exception {
+        // Arrange
+        when(toscaExecutionAPIHandler.getPartialTestResults("12345", null)).thenReturn(PartialExecutionResults.of(Map.of(), null));
+
+        // Act
+        Map<String, Integer> partialResults = partialResultsFetcher.getPartialResults("12345");
+
+        // Assert
+        assertThat(partialResults).isEmpty();
+    }
+}
@@ -2,22 +2,32 @@ package com.edptoscaqs.toscaservice.execution;
 
 import com.edptoscaqs.toscaservice.ToscaExecutionAPIHandler;
 import com.edptoscaqs.toscaservice.ToscaRestAPIHandler;
+import com.edptoscaqs.toscaservice.cache.CacheDirectory;
+import com.edptoscaqs.toscaservice.cache.TopologyDiskCache;
 import com.edptoscaqs.toscaservice.configuration.ToscaConfigParameters;
 import com.edptoscaqs.toscaservice.factory.WriterFactory;
 import com.edptoscaqs.toscaservice.logging.LoggerHelper;
 import com.edptoscaqs.toscaservice.utilities.Utilities;
 import org.junit.Before;
 import org.junit.Test;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.io.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.when;
@@ -40,14 +50,16 @@ public class ResultsHandlerTest {
     private FileOutputStream fileOutputStream;
     @Mock
     private Utilities utilities;
-    @InjectMocks
     private ResultsHandler resultsHandler;
+    private TestEventTopologyProvider topologyProvider;
     @Mock
     private LoggerHelper loggerHelper;
 
     @Before
     public void init() throws IOException {
         MockitoAnnotations.initMocks(this);
+        topologyProvider = new TestEventTopologyProvider(toscaRestAPIHandler, Runnable::run, new TopologyDiskCache(new CacheDirectory()), toscaConfiguration, loggerHelper);
+        resultsHandler = new ResultsHandler(toscaRestAPIHandler, toscaExecutionAPIHandler, writerFactory, toscaConfiguration, utilities, loggerHelper, topologyProvider, Runnable::run);
         doNothing().when(loggerHelper).logInfo(anyString());
         doNothing().when(loggerHelper).logWarning(anyString());
         doNothing().when(loggerHelper).logError(anyString());
@@ -68,46 +80,76 @@ public class ResultsHandlerTest {
     public void testHandleExecutionResultsSuccess() throws Exception {
         // Arrange
         String executionId = "12345";
-        String executionResults = "<results>...</results>";
-        String decodedXmlString = "<results>...</results>";
+        Path downloadedResults = Paths.get("SampleFilePathSampleTestEvent_result.xml.download");
 
-        when(toscaExecutionAPIHandler.getExecutionResults(executionId)).thenReturn(executionResults);
+        when(toscaExecutionAPIHandler.downloadExecutionResults(executionId, downloadedResults)).thenReturn(22L);
         when(toscaExecutionAPIHandler.getExecutionResultsSummary(executionId)).thenReturn(Map.of("failed", 0));
-        doNothing().when(bufferedWriter).write(executionResults);
-        doNothing().when(bufferedWriter).flush();
-        when(utilities.escapeXmlContent(executionResults, loggerHelper)).thenReturn(decodedXmlString);
 
         // Act
         boolean allTestsPassed = resultsHandler.handleExecutionResults(executionId);
 
         // Assert
         assertThat(allTestsPassed).isTrue();
-        verify(bufferedWriter).write(executionResults);
+        verify(writerFactory).createFileWriter("SampleFilePathSampleTestEvent_result.xml");
+        verify(utilities).escapeXmlContent(downloadedResults, bufferedWriter, loggerHelper);
         verify(bufferedWriter).flush();
+        verify(toscaExecutionAPIHandler, never()).getExecutionResults(anyString());
     }
 
     @Test
     public void testHandleExecutionResultsWhenFailedTestsThenTrueResponse() throws Exception {
         // Arrange
         String executionId = "12345";
-        String executionResults = "<results>...</results>";
-        String decodedXmlString = "<results>...</results>";
 
-        when(toscaExecutionAPIHandler.getExecutionResults(executionId)).thenReturn(executionResults);
+        when(toscaExecutionAPIHandler.downloadExecutionResults(eq(executionId), any(Path.class))).thenReturn(22L);
         when(toscaExecutionAPIHandler.getExecutionResultsSummary(executionId)).thenReturn(Map.of("failed", 1));
-        doNothing().when(bufferedWriter).write(executionResults);
-        doNothing().when(bufferedWriter).flush();
-        when(utilities.escapeXmlContent(executionResults, loggerHelper)).thenReturn(decodedXmlString);
 
         // Act
         boolean allTestsPassed = resultsHandler.handleExecutionResults(executionId);
 
         // Assert
         assertThat(allTestsPassed).isFalse();
-        verify(bufferedWriter).write(executionResults);
+        verify(utilities).escapeXmlContent(any(Path.class), eq(bufferedWriter), eq(loggerHelper));
         verify(bufferedWriter).flush();
     }
 
+    @Test
+    public void testHandleExecutionResultsWhenAboveParallelThresholdThenEscapedInParallel() throws Exception {
+        // Arrange
+        String executionId = "12345";
+        Path downloadedResults = Paths.get("SampleFilePathSampleTestEvent_result.xml.download");
+
+        when(toscaConfiguration.getParallelResultsThreshold()).thenReturn(64L);
+        when(toscaExecutionAPIHandler.downloadExecutionResults(executionId, downloadedResults)).thenReturn(64L * 1024 * 1024);
+        when(toscaExecutionAPIHandler.getExecutionResultsSummary(executionId)).thenReturn(Map.of("passed", 10));
+
+        // Act
+        boolean allTestsPassed = resultsHandler.handleExecutionResults(executionId);
+
+        // Assert
+        assertThat(allTestsPassed).isTrue();
+        verify(utilities).escapeXmlContentInParallel(downloadedResults, bufferedWriter, loggerHelper);
+        verify(utilities, never()).escapeXmlContent(any(Path.class), any(Writer.class), any(LoggerHelper.class));
+    }
+
+    @Test
+    public void testHandleExecutionResultsWhenBelowParallelThresholdThenEscapedSequentially() throws Exception {
+        // Arrange
+        String executionId = "12345";
+        Path downloadedResults = Paths.get("SampleFilePathSampleTestEvent_result.xml.download");
+
+        when(toscaConfiguration.getParallelResultsThreshold()).thenReturn(64L);
+        when(toscaExecutionAPIHandler.downloadExecutionResults(executionId, downloadedResults)).thenReturn(64L * 1024 * 1024 - 1);
+        when(toscaExecutionAPIHandler.getExecutionResultsSummary(executionId)).thenReturn(Map.of("passed", 10));
+
+        // Act
+        resultsHandler.handleExecutionResults(executionId);
+
+        // Assert
+        verify(utilities).escapeXmlContent(downloadedResults, bufferedWriter, loggerHelper);
+        verify(utilities, never()).escapeXmlContentInParallel(any(Path.class), any(Writer.class), any(LoggerHelper.class));
+    }
+
     @Test
     public void testHandleExecutionResultsIOException() throws Exception {
         // Arrange
@@ -124,11 +166,12 @@ public class ResultsHandlerTest {
     public void testHandleExecutionResultsOtherException() throws Exception {
         // Arrange
         String executionId = "12345";
-        when(toscaExecutionAPIHandler.getExecutionResults(executionId)).thenThrow(new Exception());
+        when(toscaExecutionAPIHandler.downloadExecutionResults(eq(executionId), any(Path.class))).thenThrow(new Exception());
 
         // Act & Assert
         assertThatThrownBy(() -> resultsHandler.handleExecutionResults(executionId))
                 .isInstanceOf(Exception.class);
+        verify(utilities, never()).escapeXmlContent(any(Path.class), any(Writer.class), any(LoggerHelper.class));
     }
 
     @Test
@@ -137,7 +180,7 @@ public class ResultsHandlerTest {
         List<String> executionLists = Arrays.asList("executionList1", "executionList2");
         when(toscaRestAPIHandler.listExecutionLists(toscaConfiguration.getTestEventName())).thenReturn(executionLists);
         when(toscaRestAPIHandler.getObjectProperty(anyString(), eq("Name"))).thenReturn("executionListName");
-        when(toscaRestAPIHandler.getPdfReport(anyString())).thenReturn("PDF report");
+        when(toscaRestAPIHandler.downloadPdfReport(anyString(), any(Path.class))).thenReturn(1024L);
         when(toscaExecutionAPIHandler.isResultImported(anyString())).thenReturn(true);
 
         // Act
@@ -146,7 +189,190 @@ public class ResultsHandlerTest {
         // Assert
         verify(toscaRestAPIHandler).listExecutionLists(toscaConfiguration.getTestEventName());
         verify(toscaRestAPIHandler, times(2)).getObjectProperty(anyString(), eq("Name"));
-        verify(fileOutputStream, times(2)).write(any());
+        verify(toscaRestAPIHandler).downloadPdfReport("executionList1", Paths.get("SampleFilePathexecutionListName_report.pdf"));
+        verify(toscaRestAPIHandler).downloadPdfReport("executionList2", Paths.get("SampleFilePathexecutionListName_report.pdf"));
+        verify(toscaRestAPIHandler, never()).getPdfReport(anyString());
+    }
+
+    @Test
+    public void testSavePDFReportWhenImportPendingThenSingleWaiterWithBackoff() throws Exception {
+        // Arrange
+        List<String> executionLists = Arrays.asList("executionList1", "executionList2");
+        when(toscaRestAPIHandler.listExecutionLists(toscaConfiguration.getTestEventName())).thenReturn(executionLists);
+        when(toscaRestAPIHandler.getObjectProperty(anyString(), eq("Name"))).thenReturn("executionListName");
+        when(toscaRestAPIHandler.downloadPdfReport(anyString(), any(Path.class))).thenReturn(1024L);
+        when(toscaConfiguration.getReportCreationTimeOut()).thenReturn(10L);
+        when(toscaExecutionAPIHandler.isResultImported("executionId")).thenReturn(false, false, true);
+
+        // Act
+        resultsHandler.savePDFReport("executionId");
+
+        // Assert
+        verify(toscaExecutionAPIHandler, times(3)).isResultImported("executionId");
+        verify(utilities).sleepWithInterruptHandling(1000L, loggerHelper);
+        verify(utilities).sleepWithInterruptHandling(2000L, loggerHelper);
+        // One UpdateAll before the reports, one after the import and one per list to remove the old attachments
+        verify(toscaRestAPIHandler, times(4)).updateAll();
+        verify(toscaRestAPIHandler, times(2)).downloadPdfReport(anyString(), any(Path.class));
+    }
+
+    @Test
+    public void testSavePDFReportWhenImportTimesOutThenException() throws Exception {
+        // Arrange
+        List<String> executionLists = Arrays.asList("executionList1", "executionList2");
+        when(toscaRestAPIHandler.listExecutionLists(toscaConfiguration.getTestEventName())).thenReturn(executionLists);
+        when(toscaRestAPIHandler.getObjectProperty(anyString(), eq("Name"))).thenReturn("executionListName");
+        when(toscaConfiguration.getReportCreationTimeOut()).thenReturn(0L);
+        when(toscaExecutionAPIHandler.isResultImported("executionId")).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> resultsHandler.savePDFReport("executionId"))
+                .isInstanceOf(TimeoutException.class)
+                .hasMessageContaining("[ResultImport] Process ends with an error: Timeout exceeded");
+        verify(toscaRestAPIHandler, never()).downloadPdfReport(anyString(), any(Path.class));
+    }
+
+    @Test
+    public void testAttachGitParametersInBackgroundSuccess() throws Exception {
+        // Arrange
+        List<String> executionLists = Arrays.asList("executionList1", "executionList2");
+        when(toscaRestAPIHandler.listExecutionLists(toscaConfiguration.getTestEventName())).thenReturn(executionLists);
+        when(toscaRestAPIHandler.getOwnedFile(anyString())).thenReturn(List.of("file1"));
+
+        // Act
+        resultsHandler.attachGitParametersInBackground().get();
+
+        // Assert
+        verify(toscaRestAPIHandler).replaceAttachments(List.of("executionList1"), null);
+        verify(toscaRestAPIHandler).replaceAttachments(List.of("executionList2"), null);
+    }
+
+    @Test
+    public void testAttachGitParametersInBackgroundWhenBatchedThenSingleTransaction() throws Exception {
+        // Arrange
+        List<String> executionLists = Arrays.asList("executionList1", "executionList2");
+        when(toscaConfiguration.isBatchGitParameters()).thenReturn(true);
+        when(toscaRestAPIHandler.listExecutionLists(toscaConfiguration.getTestEventName())).thenReturn(executionLists);
+        when(toscaRestAPIHandler.getOwnedFile(anyString())).thenReturn(List.of("file1"));
+
+        // Act
+        resultsHandler.attachGitParametersInBackground().get();
+
+        // Assert
+        verify(toscaRestAPIHandler, times(1)).replaceAttachments(anyCollectionOf(String.class), any(File.class));
+        verify(toscaRestAPIHandler).replaceAttachments(executionLists, null);
+        verify(toscaRestAPIHandler, times(1)).updateAll();
+    }
+
+    @Test
+    public void testSavePDFReportWhenGitParametersAttachedInBackgroundThenNotAttachedAgain() throws Exception {
+        // Arrange
+        List<String> executionLists = Arrays.asList("executionList1", "executionList2");
+        when(toscaRestAPIHandler.listExecutionLists(toscaConfiguration.getTestEventName())).thenReturn(executionLists);
+        when(toscaRestAPIHandler.getObjectProperty(anyString(), eq("Name"))).thenReturn("executionListName");
+        when(toscaRestAPIHandler.downloadPdfReport(anyString(), any(Path.class))).thenReturn(1024L);
+        when(toscaExecutionAPIHandler.isResultImported(anyString())).thenReturn(true);
+
+        // Act
+        resultsHandler.savePDFReport("executionId", CompletableFuture.completedFuture(null));
+
+        // Assert
+        verify(toscaRestAPIHandler, never()).replaceAttachments(anyCollectionOf(String.class), any(File.class));
+        verify(toscaRestAPIHandler, times(2)).downloadPdfReport(anyString(), any(Path.class));
+    }
+
+    @Test
+    public void testSavePDFReportWhenBackgroundAttachmentFailedThenException() throws Exception {
+        // Arrange
+        CompletableFuture<Void> gitParametersAttachment = new CompletableFuture<>();
+        gitParametersAttachment.completeExceptionally(new IllegalStateException("Attachment failed"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> resultsHandler.savePDFReport("executionId", gitParametersAttachment))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Attachment failed");
+        verify(toscaRestAPIHandler, never()).downloadPdfReport(anyString(), any(Path.class));
+    }
+
+    @Test
+    public void testSavePDFReportInParallelSuccess() throws Exception {
+        // Arrange
+        List<String> executionLists = Arrays.asList("executionList1", "executionList2", "executionList3");
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        ResultsHandler parallelResultsHandler = new ResultsHandler(toscaRestAPIHandler, toscaExecutionAPIHandler, writerFactory, toscaConfiguration, utilities, loggerHelper, topologyProvider, executor);
+
+        when(toscaConfiguration.getReportConcurrency()).thenReturn(2);
+        // The reports wait for the background import check, which runs on the same pool
+        when(toscaConfiguration.getReportCreationTimeOut()).thenReturn(10L);
+        when(toscaRestAPIHandler.listExecutionLists(toscaConfiguration.getTestEventName())).thenReturn(executionLists);
+        when(toscaRestAPIHandler.getObjectProperty(anyString(), eq("Name"))).thenReturn("executionListName");
+        when(toscaRestAPIHandler.downloadPdfReport(anyString(), any(Path.class))).thenReturn(1024L);
+        when(toscaExecutionAPIHandler.isResultImported(anyString())).thenReturn(true);
+
+        // Act
+        try {
+            parallelResultsHandler.savePDFReport("executionId");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        verify(toscaRestAPIHandler).downloadPdfReport("executionList1", Paths.get("SampleFilePathexecutionListName_report.pdf"));
+        verify(toscaRestAPIHandler).downloadPdfReport("executionList2", Paths.get("SampleFilePathexecutionListName_report.pdf"));
+        verify(toscaRestAPIHandler).downloadPdfReport("executionList3", Paths.get("SampleFilePathexecutionListName_report.pdf"));
+        verify(toscaRestAPIHandler, times(3)).replaceAttachments(anyCollectionOf(String.class), any(File.class));
+        verify(toscaRestAPIHandler, never()).revertAll();
+    }
+
+    @Test
+    public void testSavePDFReportWhenBatchGitParametersThenSingleTransactionBeforeReports() throws Exception {
+        // Arrange
+        List<String> executionLists = Arrays.asList("executionList1", "executionList2");
+        when(toscaConfiguration.isBatchGitParameters()).thenReturn(true);
+        when(toscaRestAPIHandler.listExecutionLists(toscaConfiguration.getTestEventName())).thenReturn(executionLists);
+        when(toscaRestAPIHandler.getObjectProperty(anyString(), eq("Name"))).thenReturn("executionListName");
+        when(toscaRestAPIHandler.downloadPdfReport(anyString(), any(Path.class))).thenReturn(1024L);
+        when(toscaExecutionAPIHandler.isResultImported(anyString())).thenReturn(true);
+
+        // Act
+        resultsHandler.savePDFReport("executionId");
+
+        // Assert
+        InOrder inOrder = inOrder(toscaRestAPIHandler);
+        inOrder.verify(toscaRestAPIHandler).replaceAttachments(executionLists, null);
+        inOrder.verify(toscaRestAPIHandler, times(2)).downloadPdfReport(anyString(), any(Path.class));
+        verify(toscaRestAPIHandler, times(1)).replaceAttachments(anyCollectionOf(String.class), any(File.class));
+    }
+
+    @Test
+    public void testSavePDFReportInParallelWhenListsFailThenOtherListsSavedAndErrorsAggregated() throws Exception {
+        // Arrange
+        List<String> executionLists = Arrays.asList("executionList1", "executionList2", "executionList3");
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        ResultsHandler parallelResultsHandler = new ResultsHandler(toscaRestAPIHandler, toscaExecutionAPIHandler, writerFactory, toscaConfiguration, utilities, loggerHelper, topologyProvider, executor);
+
+        when(toscaConfiguration.getReportConcurrency()).thenReturn(3);
+        when(toscaConfiguration.getReportCreationTimeOut()).thenReturn(10L);
+        when(toscaRestAPIHandler.listExecutionLists(toscaConfiguration.getTestEventName())).thenReturn(executionLists);
+        when(toscaRestAPIHandler.getObjectProperty(anyString(), eq("Name"))).thenReturn("executionListName");
+        when(toscaExecutionAPIHandler.isResultImported(anyString())).thenReturn(true);
+        when(toscaRestAPIHandler.downloadPdfReport(anyString(), any(Path.class))).thenReturn(1024L);
+        when(toscaRestAPIHandler.downloadPdfReport(eq("executionList1"), any(Path.class))).thenThrow(new IOException("Report 1"));
+        when(toscaRestAPIHandler.downloadPdfReport(eq("executionList3"), any(Path.class))).thenThrow(new IOException("Report 3"));
+
+        // Act
+        Throwable thrown;
+        try {
+            thrown = catchThrowable(() -> parallelResultsHandler.savePDFReport("executionId"));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        assertThat(thrown).isInstanceOf(IOException.class);
+        assertThat(thrown.getSuppressed()).hasSize(1);
+        verify(toscaRestAPIHandler).downloadPdfReport("executionList2", Paths.get("SampleFilePathexecutionListName_report.pdf"));
+        verify(loggerHelper, times(3)).logError(anyString());
     }
 
     @Test
@@ -168,8 +394,8 @@ public class ResultsHandlerTest {
         when(toscaRestAPIHandler.listExecutionLists(toscaConfiguration.getTestEventName())).thenReturn(executionLists);
         when(toscaRestAPIHandler.getObjectProperty(anyString(), eq("Name"))).thenReturn("executionListName");
         when(toscaRestAPIHandler.getObjectProperty(anyString(), eq("CheckOuState"))).thenReturn(CHECKED_IN_STATUS);
-        when(toscaRestAPIHandler.getPdfReport(anyString())).thenReturn("PDF report");
-        when(writerFactory.createFileOutputStream(anyString())).thenThrow(new IOException());
+        when(toscaExecutionAPIHandler.isResultImported(anyString())).thenReturn(true);
+        when(toscaRestAPIHandler.downloadPdfReport(anyString(), any(Path.class))).thenThrow(new IOException());
 
         // Act & Assert
         assertThatThrownBy(() -> resultsHandler.savePDFReport(executionLists.get(0)))
@@ -190,7 +416,7 @@ public class ResultsHandlerTest {
     }
 
     @Test
-    public void testIncludeGitParametersIntoPDFReportExceptionDeletingFile() throws Exception {
+    public void testIncludeGitParametersIntoPDFReportExceptionReplacingFile() throws Exception {
         // Arrange
         List<String> filesToDelete = new ArrayList<>();
         filesToDelete.add("file1");
@@ -200,16 +426,15 @@ public class ResultsHandlerTest {
         }
         realFile.deleteOnExit();
 
-        doNothing().when(toscaRestAPIHandler).checkOutTree(anyString());
         doNothing().when(toscaRestAPIHandler).updateAll();
-        doNothing().when(toscaRestAPIHandler).checkInAll();
         when(toscaRestAPIHandler.getOwnedFile(anyString())).thenReturn(filesToDelete);
-        doThrow(new Exception()).when(toscaRestAPIHandler).deleteAttachment(anyString());
+        doThrow(new Exception("Replace failed")).when(toscaRestAPIHandler).replaceAttachments(List.of(UNIQUE_ID), realFile);
 
         // Act & Assert
         assertThatThrownBy(() -> resultsHandler.includeGitParametersIntoPDFReport(UNIQUE_ID, realFile))
-                .isInstanceOf(Exception.class);
-        verify(toscaRestAPIHandler, times(1)).revertAll();
+                .isInstanceOf(Exception.class)
+                .hasMessage("Replace failed");
+        verify(toscaRestAPIHandler, never()).getAttachment(anyString());
 
     }
 
@@ -321,6 +546,47 @@ public class ResultsHandlerTest {
 
     }
 
+    @Test
+    public void testIncludeGitParametersIntoPDFReportWhenAttachmentUnchangedThenSkipped() throws Exception {
+        // Arrange
+        File realFile = File.createTempFile("git_parameters", ".txt");
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(realFile))) {
+            writer.write("branch: main");
+        }
+        realFile.deleteOnExit();
+
+        when(toscaRestAPIHandler.getOwnedFile(UNIQUE_ID)).thenReturn(List.of("file1"));
+        when(toscaRestAPIHandler.getAttachmentContent("file1")).thenReturn("branch: main".getBytes());
+
+        // Act
+        resultsHandler.includeGitParametersIntoPDFReport(UNIQUE_ID, realFile);
+
+        // Assert
+        verify(toscaRestAPIHandler, times(1)).updateAll();
+        verify(toscaRestAPIHandler, never()).replaceAttachments(anyCollectionOf(String.class), any(File.class));
+    }
+
+    @Test
+    public void testIncludeGitParametersIntoPDFReportWhenAttachmentChangedThenReplaced() throws Exception {
+        // Arrange
+        File realFile = File.createTempFile("git_parameters", ".txt");
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(realFile))) {
+            writer.write("branch: main");
+        }
+        realFile.deleteOnExit();
+
+        when(toscaRestAPIHandler.getOwnedFile(UNIQUE_ID)).thenReturn(List.of("file1"), List.of("file2"));
+        when(toscaRestAPIHandler.getAttachmentContent("file1")).thenReturn("branch: develop".getBytes());
+        when(toscaRestAPIHandler.getAttachment("file2")).thenReturn(true);
+
+        // Act
+        resultsHandler.includeGitParametersIntoPDFReport(UNIQUE_ID, realFile);
+
+        // Assert
+        verify(toscaRestAPIHandler).replaceAttachments(List.of(UNIQUE_ID), realFile);
+        verify(toscaRestAPIHandler).getAttachment("file2");
+    }
+
     @Test
     public void testIncludeGitParametersIntoPDFReportSuccess() throws Exception {
         // Arrange
@@ -344,11 +610,11 @@ public class ResultsHandlerTest {
         resultsHandler.includeGitParametersIntoPDFReport(UNIQUE_ID, realFile);
 
         // Assert
-        verify(toscaRestAPIHandler, times(2)).updateAll();
-        verify(toscaRestAPIHandler, times(2)).checkInAll();
+        verify(toscaRestAPIHandler, times(1)).updateAll();
+        verify(toscaRestAPIHandler, times(1)).replaceAttachments(List.of(UNIQUE_ID), realFile);
         verify(toscaRestAPIHandler, times(2)).getOwnedFile(anyString());
-        verify(toscaRestAPIHandler, times(1)).deleteAttachment(anyString());
         verify(toscaRestAPIHandler, times(1)).getAttachment(anyString());
+        verify(toscaRestAPIHandler, never()).revertAll();
 
     }
 
@@ -0,0 +1,162 @@
+package com.edptoscaqs.toscaservice.execution;
+
+import com.edptoscaqs.toscaservice.ToscaRestAPIHandler;
+import com.edptoscaqs.toscaservice.cache.CacheDirectory;
+import com.edptoscaqs.toscaservice.cache.TopologyDiskCache;
+import com.edptoscaqs.toscaservice.configuration.ToscaConfigParameters;
+import com.edptoscaqs.toscaservice.logging.LoggerHelper;
+import com.edptoscaqs.toscaservice.model.ObjectAttributes;
+import com.edptoscaqs.toscaservice.model.TestEventTopology;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+import static com.edptoscaqs.toscaservice.configuration.Constants.*;
+
+public class TestEventTopologyProviderTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    @Mock
+    private ToscaRestAPIHandler toscaRestAPIHandler;
+    @Mock
+    private ToscaConfigParameters toscaConfiguration;
+    @Mock
+    private LoggerHelper loggerHelper;
+
+    private TestEventTopologyProvider topologyProvider;
+
+    @Before
+    public void init() {
+        MockitoAnnotations.initMocks(this);
+        topologyProvider = new TestEventTopologyProvider(toscaRestAPIHandler, Runnable::run, new TopologyDiskCache(new CacheDirectory()), toscaConfiguration, loggerHelper);
+        when(toscaConfiguration.getTestEventName()).thenReturn("SampleTestEvent");
+    }
+
+    @Test
+    public void testGetTopologyLoadsOnceAndReusesSnapshot() throws Exception {
+        // Arrange
+        Map<String, ObjectAttributes> objectAttributes = new HashMap<>();
+        objectAttributes.put("executionList1", ObjectAttributes.of("executionList1", Map.of("Name", "List one", PROPERTY_REVISION, "7")));
+        objectAttributes.put("1234", ObjectAttributes.of("1234", Map.of(PROPERTY_OWNING_GROUP_NAME, OWNING_GROUP_ALL_USERS)));
+        Map<String, ObjectAttributes> testCases = new LinkedHashMap<>();
+        testCases.put("testCase1", ObjectAttributes.of("testCase1", Map.of()));
+        testCases.put("testCase2", ObjectAttributes.of("testCase2", Map.of()));
+        when(toscaRestAPIHandler.getTestEventUniqueId("SampleTestEvent")).thenReturn("1234");
+        when(toscaRestAPIHandler.listExecutionLists("SampleTestEvent")).thenReturn(List.of("executionList1"));
+        when(toscaRestAPIHandler.getAttributesByUniqueIds(Arrays.asList("executionList1", "1234"))).thenReturn(objectAttributes);
+        when(toscaRestAPIHandler.getTestCaseAttributesInExecutionList("executionList1")).thenReturn(testCases);
+
+        // Act
+        TestEventTopology first = topologyProvider.getTopology();
+        TestEventTopology second = topologyProvider.getTopology();
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        assertThat(first.getTestEventId()).isEqualTo("1234");
+        assertThat(first.getExecutionListIds()).containsExactly("executionList1");
+        assertThat(first.getExecutionList("executionList1").getName()).isEqualTo("List one");
+        assertThat(first.getExecutionList("executionList1").getTestCaseIds()).containsExactly("testCase1", "testCase2");
+        assertThat(first.getTestCaseCount()).isEqualTo(2);
+        verify(toscaRestAPIHandler, times(1)).listExecutionLists(anyString());
+        verify(toscaRestAPIHandler, times(1)).getTestCaseAttributesInExecutionList(anyString());
+    }
+
+    @Test
+    public void testGetTopologyWhenTestEventChangesThenReloads() throws Exception {
+        // Arrange
+        when(toscaRestAPIHandler.getTestEventUniqueId(anyString())).thenReturn("1234");
+        when(toscaRestAPIHandler.listExecutionLists(anyString())).thenReturn(List.of("executionList1"));
+        when(toscaRestAPIHandler.getTestCaseAttributesInExecutionList(anyString())).thenReturn(Map.of());
+        TestEventTopology first = topologyProvider.getTopology();
+        when(toscaConfiguration.getTestEventName()).thenReturn("OtherTestEvent");
+
+        // Act
+        TestEventTopology second = topologyProvider.getTopology();
+
+        // Assert
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getTestEventName()).isEqualTo("OtherTestEvent");
+        verify(toscaRestAPIHandler, times(2)).listExecutionLists(anyString());
+    }
+
+    @Test
+    public void testRefreshWhenListExecutionListsFailsThenOriginalException() throws Exception {
+        // Arrange
+        when(toscaRestAPIHandler.getTestEventUniqueId(anyString())).thenReturn("1234");
+        when(toscaRestAPIHandler.listExecutionLists(anyString())).thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+
+        // Act & Assert
+        assertThatThrownBy(() -> topologyProvider.refresh())
+                .isInstanceOf(HttpClientErrorException.class);
+        verify(toscaRestAPIHandler, never()).getTestCaseAttributesInExecutionList(anyString());
+    }
+
+    @Test
+    public void testRefreshWithDiskCacheThenOnlyChangedExecutionListsRefetched() throws Exception {
+        // Arrange
+        Map<String, ObjectAttributes> firstRevisions = revisions("3", "7", "8");
+        Map<String, ObjectAttributes> secondRevisions = revisions("3", "7", "9");
+        when(toscaRestAPIHandler.getTestEventUniqueId("SampleTestEvent")).thenReturn("1234");
+        when(toscaRestAPIHandler.listExecutionLists("SampleTestEvent")).thenReturn(List.of("executionList1", "executionList2"));
+        when(toscaRestAPIHandler.getAttributesByUniqueIds(Arrays.asList("executionList1", "executionList2", "1234"))).thenReturn(firstRevisions).thenReturn(secondRevisions);
+        when(toscaRestAPIHandler.getTestCaseAttributesInExecutionList("executionList1")).thenReturn(Map.of("testCase1", ObjectAttributes.of("testCase1", Map.of())));
+        when(toscaRestAPIHandler.getTestCaseAttributesInExecutionList("executionList2")).thenReturn(Map.of("testCase2", ObjectAttributes.of("testCase2", Map.of())));
+        createDiskCacheProvider().refresh();
+
+        // Act
+        TestEventTopology topology = createDiskCacheProvider().refresh();
+
+        // Assert
+        assertThat(topology.getExecutionListIds()).containsExactly("executionList1", "executionList2");
+        assertThat(topology.getExecutionList("executionList2").getRevision()).isEqualTo("9");
+        assertThat(topology.getTestCaseCount()).isEqualTo(2);
+        verify(toscaRestAPIHandler, times(1)).getTestEventUniqueId(anyString());
+        verify(toscaRestAPIHandler, times(1)).listExecutionLists(anyString());
+        verify(toscaRestAPIHandler, times(1)).getTestCaseAttributesInExecutionList("executionList1");
+        verify(toscaRestAPIHandler, times(2)).getTestCaseAttributesInExecutionList("executionList2");
+    }
+
+    @Test
+    public void testRefreshWithDiskCacheWhenTestEventRevisionChangesThenFullLoad() throws Exception {
+        // Arrange
+        when(toscaRestAPIHandler.getTestEventUniqueId("SampleTestEvent")).thenReturn("1234");
+        when(toscaRestAPIHandler.listExecutionLists("SampleTestEvent")).thenReturn(List.of("executionList1", "executionList2"));
+        when(toscaRestAPIHandler.getAttributesByUniqueIds(Arrays.asList("executionList1", "executionList2", "1234")))
+                .thenReturn(revisions("3", "7", "8"))
+                .thenReturn(revisions("4", "7", "8"));
+        createDiskCacheProvider().refresh();
+
+        // Act
+        createDiskCacheProvider().refresh();
+
+        // Assert
+        verify(toscaRestAPIHandler, times(2)).listExecutionLists(anyString());
+        verify(toscaRestAPIHandler, times(2)).getTestCaseAttributesInExecutionList("executionList1");
+    }
+
+    private TestEventTopologyProvider createDiskCacheProvider() {
+        CacheDirectory cacheDirectory = new CacheDirectory();
+        ReflectionTestUtils.setField(cacheDirectory, "directory", temporaryFolder.getRoot().getAbsolutePath());
+        return new TestEventTopologyProvider(toscaRestAPIHandler, Runnable::run, new TopologyDiskCache(cacheDirectory), toscaConfiguration, loggerHelper);
+    }
+
+    private Map<String, ObjectAttributes> revisions(String testEventRevision, String firstListRevision, String secondListRevision) {
+        Map<String, ObjectAttributes> revisions = new HashMap<>();
+        revisions.put("1234", ObjectAttributes.of("1234", Map.of(PROPERTY_REVISION, testEventRevision)));
+        revisions.put("executionList1", ObjectAttributes.of("executionList1", Map.of(PROPERTY_REVISION, firstListRevision)));
+        revisions.put("executionList2", ObjectAttributes.of("executionList2", Map.of(PROPERTY_REVISION, secondListRevision)));
+        return revisions;
+    }
+}
@@ -0,0 +1,78 @@
+package com.edptoscaqs.toscaservice.polling;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static com.edptoscaqs.toscaservice.enums.ExecutionStatusEnum.COMPLETED;
+import static com.edptoscaqs.toscaservice.enums.ExecutionStatusEnum.IN_PROGRESS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptivePollingStrategyTest {
+
+    @Test
+    public void testNextDelayWhileInProgressThenBacksOffUpToMax() {
+        // Arrange
+        PollingSchedule schedule = new AdaptivePollingStrategy(() -> fixedRandom(0.5)).start(1000, 5000, 100);
+
+        // Act & Assert
+        assertThat(schedule.nextDelay(IN_PROGRESS, 0)).isEqualTo(1000);
+        assertThat(schedule.nextDelay(IN_PROGRESS, 10)).isEqualTo(2000);
+        assertThat(schedule.nextDelay(IN_PROGRESS, 20)).isEqualTo(4000);
+        assertThat(schedule.nextDelay(IN_PROGRESS, 30)).isEqualTo(5000);
+        assertThat(schedule.nextDelay(IN_PROGRESS, 40)).isEqualTo(5000);
+    }
+
+    @Test
+    public void testNextDelayWhenNearCompletionThenBackToMin() {
+        // Arrange
+        PollingSchedule schedule = new AdaptivePollingStrategy(() -> fixedRandom(0.5)).start(1000, 8000, 100);
+        schedule.nextDelay(IN_PROGRESS, 0);
+        schedule.nextDelay(IN_PROGRESS, 50);
+
+        // Act
+        long nearCompletion = schedule.nextDelay(IN_PROGRESS, 95);
+        long completed = schedule.nextDelay(COMPLETED, 100);
+
+        // Assert
+        assertThat(nearCompletion).isEqualTo(1000);
+        assertThat(completed).isEqualTo(1000);
+    }
+
+    @Test
+    public void testNextDelayWithJitterThenStaysWithinBounds() {
+        // Arrange
+        PollingSchedule lowSchedule = new AdaptivePollingStrategy(() -> fixedRandom(0.0)).start(1000, 4000, 0);
+        PollingSchedule highSchedule = new AdaptivePollingStrategy(() -> fixedRandom(0.999)).start(1000, 4000, 0);
+
+        // Act
+        lowSchedule.nextDelay(IN_PROGRESS, -1);
+        highSchedule.nextDelay(IN_PROGRESS, -1);
+        long low = lowSchedule.nextDelay(IN_PROGRESS, -1);
+        long high = highSchedule.nextDelay(IN_PROGRESS, -1);
+
+        // Assert
+        assertThat(low).isEqualTo(1500);
+        assertThat(high).isEqualTo(2499);
+    }
+
+    @Test
+    public void testNextDelayWithEqualBoundsThenFixedInterval() {
+        // Arrange
+        PollingSchedule schedule = new AdaptivePollingStrategy(() -> fixedRandom(0.999)).start(30000, 30000, 10);
+
+        // Act & Assert
+        assertThat(schedule.nextDelay(IN_PROGRESS, -1)).isEqualTo(30000);
+        assertThat(schedule.nextDelay(IN_PROGRESS, 1)).isEqualTo(30000);
+        assertThat(schedule.nextDelay(IN_PROGRESS, 2)).isEqualTo(30000);
+    }
+
+    private Random fixedRandom(double value) {
+        return new Random() {
+            @Override
+            public double nextDouble() {
+                return value;
+            }
+        };
+    }
+}
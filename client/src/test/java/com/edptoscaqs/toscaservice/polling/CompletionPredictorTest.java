@@ -0,0 +1,64 @@
+package com.edptoscaqs.toscaservice.polling;
+
+import com.edptoscaqs.toscaservice.model.ExecutionRecord;
+import com.edptoscaqs.toscaservice.model.ExecutionRecord.ProgressPoint;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompletionPredictorTest {
+
+    @Test
+    public void testPredictRemainingTimeWithoutHistoryThenUnknown() {
+        // Arrange
+        CompletionPredictor completionPredictor = new CompletionPredictor(List.of());
+
+        // Act & Assert
+        assertThat(completionPredictor.hasHistory()).isFalse();
+        assertThat(completionPredictor.predictRemainingTime(1000, 1, 10)).isEqualTo(-1);
+    }
+
+    @Test
+    public void testPredictRemainingTimeWithoutProgressThenMedianDurationMinusElapsed() {
+        // Arrange
+        CompletionPredictor completionPredictor = new CompletionPredictor(List.of(
+                new ExecutionRecord(60000, 10, 0, List.of()),
+                new ExecutionRecord(100000, 10, 0, List.of()),
+                new ExecutionRecord(80000, 10, 0, List.of())));
+
+        // Act
+        long remainingTime = completionPredictor.predictRemainingTime(30000, -1, 10);
+
+        // Assert
+        assertThat(remainingTime).isEqualTo(50000);
+    }
+
+    @Test
+    public void testPredictRemainingTimeWithProgressThenFollowsCompletionCurve() {
+        // Arrange
+        CompletionPredictor completionPredictor = new CompletionPredictor(List.of(
+                new ExecutionRecord(100000, 10, 0, List.of(new ProgressPoint(20000, 2), new ProgressPoint(60000, 6), new ProgressPoint(100000, 10)))));
+
+        // Act
+        long halfway = completionPredictor.predictRemainingTime(10000, 5, 10);
+        long overdue = completionPredictor.predictRemainingTime(200000, 10, 10);
+
+        // Assert
+        assertThat(halfway).isEqualTo(50000);
+        assertThat(overdue).isEqualTo(0);
+    }
+
+    @Test
+    public void testPredictRemainingTimeWithMoreTestCasesThenScaled() {
+        // Arrange
+        CompletionPredictor completionPredictor = new CompletionPredictor(List.of(new ExecutionRecord(60000, 10, 0, List.of())));
+
+        // Act
+        long remainingTime = completionPredictor.predictRemainingTime(0, -1, 20);
+
+        // Assert
+        assertThat(remainingTime).isEqualTo(120000);
+    }
+}
@@ -0,0 +1,85 @@
+package com.edptoscaqs.toscaservice.polling;
+
+import com.edptoscaqs.toscaservice.cache.CacheDirectory;
+import com.edptoscaqs.toscaservice.cache.ExecutionHistoryStore;
+import com.edptoscaqs.toscaservice.configuration.ToscaConfigParameters;
+import com.edptoscaqs.toscaservice.model.ExecutionRecord;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.edptoscaqs.toscaservice.enums.ExecutionStatusEnum.IN_PROGRESS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+public class HistoryPollingStrategyTest {
+    @Mock
+    private ToscaConfigParameters toscaConfiguration;
+
+    private ExecutionHistoryStore executionHistoryStore;
+    private AtomicLong clock;
+    private HistoryPollingStrategy pollingStrategy;
+
+    @Before
+    public void init() {
+        MockitoAnnotations.initMocks(this);
+        when(toscaConfiguration.getWorkspaceKey()).thenReturn("server:443/Workspace");
+        when(toscaConfiguration.getTestEventName()).thenReturn("SampleTestEvent");
+        executionHistoryStore = new ExecutionHistoryStore(new CacheDirectory());
+        clock = new AtomicLong();
+        pollingStrategy = new HistoryPollingStrategy(executionHistoryStore, toscaConfiguration,
+                new AdaptivePollingStrategy(this::middleRandom), clock::get, this::middleRandom);
+    }
+
+    @Test
+    public void testNextDelayWithoutHistoryThenFallbackAndRunRecorded() {
+        // Arrange
+        PollingSchedule schedule = pollingStrategy.start(1000, 600000, 10);
+
+        // Act
+        long firstDelay = schedule.nextDelay(IN_PROGRESS, 0);
+        clock.set(50000);
+        schedule.nextDelay(IN_PROGRESS, 5);
+        clock.set(90000);
+        schedule.finish(10);
+
+        // Assert
+        assertThat(firstDelay).isEqualTo(1000);
+        assertThat(schedule.getEstimatedRemainingTime()).isEqualTo(-1);
+        List<ExecutionRecord> executionRecords = executionHistoryStore.getRecords("server:443/Workspace", "SampleTestEvent");
+        assertThat(executionRecords).hasSize(1);
+        assertThat(executionRecords.get(0).getDurationMillis()).isEqualTo(90000);
+        assertThat(executionRecords.get(0).getProgress()).extracting(ExecutionRecord.ProgressPoint::getCompletedTestCases).containsExactly(0, 5, 10);
+    }
+
+    @Test
+    public void testNextDelayWithHistoryThenSparseFirstAndDenserNearTheEnd() {
+        // Arrange
+        executionHistoryStore.record("server:443/Workspace", "SampleTestEvent", new ExecutionRecord(3600000, 10, 0, List.of()));
+        PollingSchedule schedule = pollingStrategy.start(10000, 600000, 10);
+
+        // Act
+        long firstDelay = schedule.nextDelay(IN_PROGRESS, -1);
+        clock.set(3500000);
+        long lateDelay = schedule.nextDelay(IN_PROGRESS, -1);
+
+        // Assert
+        assertThat(firstDelay).isEqualTo(600000);
+        assertThat(lateDelay).isEqualTo(50000);
+        assertThat(schedule.getEstimatedRemainingTime()).isEqualTo(100000);
+    }
+
+    private Random middleRandom() {
+        return new Random() {
+            @Override
+            public double nextDouble() {
+                return 0.5;
+            }
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.edptoscaqs.toscaservice.utilities;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.edptoscaqs.toscaservice.utilities.AsyncTasks.join;
+import static com.edptoscaqs.toscaservice.utilities.AsyncTasks.runAsync;
+import static com.edptoscaqs.toscaservice.utilities.AsyncTasks.supplyAsync;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AsyncTasksTest {
+    private ExecutorService executor;
+
+    @Before
+    public void init() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSupplyAsyncCompletesWithSupplierResult() throws Exception {
+        // Act
+        CompletableFuture<String> result = supplyAsync(() -> "SampleResult", executor);
+
+        // Assert
+        assertThat(join(result)).isEqualTo("SampleResult");
+    }
+
+    @Test
+    public void testCheckedExceptionIsRethrownUnwrappedOnJoin() {
+        // Act
+        CompletableFuture<Void> result = runAsync(() -> {
+            throw new Exception("Delete failed");
+        }, executor);
+
+        // Assert
+        assertThatThrownBy(() -> join(result))
+                .isExactlyInstanceOf(Exception.class)
+                .hasMessage("Delete failed");
+    }
+
+    @Test
+    public void testRuntimeExceptionIsRethrownUnwrappedOnJoin() {
+        // Act
+        CompletableFuture<String> result = supplyAsync(() -> {
+            throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+        }, executor);
+
+        // Assert
+        assertThatThrownBy(() -> join(result))
+                .isInstanceOf(HttpClientErrorException.class);
+    }
+}
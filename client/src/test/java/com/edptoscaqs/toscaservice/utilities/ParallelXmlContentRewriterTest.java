@@ -0,0 +1,162 @@
+package com.edptoscaqs.toscaservice.utilities;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// The parallel rewrite must produce exactly what the sequential rewrite produces, whatever the chunk size
+public class ParallelXmlContentRewriterTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private ForkJoinPool pool;
+
+    @Before
+    public void init() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testRewriteJUnitResultsThenSameAsSequential() throws Exception {
+        // Arrange
+        Path xmlFile = copyResource("junit-results.xml");
+
+        // Act
+        String result = rewriteInParallel(xmlFile, 1);
+
+        // Assert
+        assertThat(result).isEqualTo(rewrite(xmlFile));
+    }
+
+    @Test
+    public void testRewriteSpecialCharactersThenSameAsSequential() throws Exception {
+        // Arrange
+        Path xmlFile = copyResource("special-characters.xml");
+
+        // Act
+        String result = rewriteInParallel(xmlFile, 1);
+
+        // Assert
+        assertThat(result).isEqualTo(rewrite(xmlFile));
+    }
+
+    @Test
+    public void testRewriteManyTestCasesThenSameAsSequential() throws Exception {
+        // Arrange
+        StringBuilder xmlContent = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<testsuites xmlns:p=\"u\">");
+        for (int suite = 0; suite < 20; suite++) {
+            xmlContent.append(String.format("%n<testsuite name=\"Suite %d\"%s>%n<properties><property name=\"a\" value=\"b\"/></properties>", suite, suite % 3 == 0 ? " xmlns:p=\"v\"" : ""));
+            for (int test = 0; test < 50; test++) {
+                xmlContent.append(String.format("%n  <testcase name=\"Test &quot;%d&quot;\" xmlns:p=\"u\">", test))
+                        .append("<failure message=\"a &lt; b\">\uD83D\uDE00 &amp;lt; &#133;</failure>")
+                        .append("<system-out><![CDATA[\nLog &amp;amp; <markup>]]></system-out></testcase><!-- test ").append(test).append(" -->");
+                if (test % 7 == 0) {
+                    xmlContent.append("<testcase name=\"Skipped\"/><?page break?>");
+                }
+            }
+            xmlContent.append("\n<system-out>Suite &amp; output</system-out></testsuite>");
+        }
+        xmlContent.append("\n</testsuites>\n<!-- end -->");
+        Path xmlFile = write(xmlContent.toString());
+
+        // Act
+        String smallChunks = rewriteInParallel(xmlFile, 1);
+        String largeChunks = rewriteInParallel(xmlFile, 4096);
+
+        // Assert
+        String expected = rewrite(xmlFile);
+        assertThat(smallChunks).isEqualTo(expected);
+        assertThat(largeChunks).isEqualTo(expected);
+    }
+
+    @Test
+    public void testRewriteWithoutTestCasesThenSameAsSequential() throws Exception {
+        // Arrange
+        Path xmlFile = write("<testsuites><testsuite name=\"Empty &amp; done\"/></testsuites>");
+
+        // Act
+        String result = rewriteInParallel(xmlFile, 1);
+
+        // Assert
+        assertThat(result).isEqualTo(rewrite(xmlFile));
+    }
+
+    @Test
+    public void testRewriteWithDocumentTypeThenLeftToDocument() throws Exception {
+        // Arrange
+        Path xmlFile = copyResource("document-type.xml");
+        StringWriter writer = new StringWriter();
+
+        // Act
+        boolean rewritten = ParallelXmlContentRewriter.rewrite(pool, xmlFile, writer, 1);
+
+        // Assert
+        assertThat(rewritten).isFalse();
+        assertThat(writer.toString()).isEmpty();
+    }
+
+    @Test
+    public void testRewriteMalformedTestCaseThenException() throws Exception {
+        // Arrange
+        Path xmlFile = write("<testsuites><testsuite><testcase name=\"a\"/><testcase><failure></testcase></testsuite></testsuites>");
+
+        // Act & Assert
+        assertThatThrownBy(() -> rewriteInParallel(xmlFile, 1)).isInstanceOf(SAXException.class);
+    }
+
+    @Test
+    public void testRewriteInvalidCharacterInTestCaseThenException() throws Exception {
+        // Arrange
+        Path xmlFile = write("<testsuites><testsuite><testcase name=\"a\"/><testcase>&#1;</testcase></testsuite></testsuites>");
+
+        // Act & Assert
+        assertThatThrownBy(() -> rewriteInParallel(xmlFile, 1)).isInstanceOf(SAXException.class);
+    }
+
+    private String rewriteInParallel(Path xmlFile, long chunkSize) throws Exception {
+        StringWriter writer = new StringWriter();
+        assertThat(ParallelXmlContentRewriter.rewrite(pool, xmlFile, writer, chunkSize)).isTrue();
+        return writer.toString();
+    }
+
+    private String rewrite(Path xmlFile) throws Exception {
+        StringWriter writer = new StringWriter();
+        try (InputStream xmlContent = Files.newInputStream(xmlFile)) {
+            assertThat(XmlContentRewriter.rewrite(new InputSource(xmlContent), writer)).isTrue();
+        }
+        return writer.toString();
+    }
+
+    private Path write(String xmlContent) throws Exception {
+        Path xmlFile = tempFolder.newFile().toPath();
+        Files.write(xmlFile, xmlContent.getBytes(StandardCharsets.UTF_8));
+        return xmlFile;
+    }
+
+    private Path copyResource(String name) throws Exception {
+        try (InputStream resource = getClass().getResourceAsStream("/xml-content/" + name)) {
+            Path xmlFile = tempFolder.newFile(name).toPath();
+            Files.write(xmlFile, resource.readAllBytes());
+            return xmlFile;
+        }
+    }
+}
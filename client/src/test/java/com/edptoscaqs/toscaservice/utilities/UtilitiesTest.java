@@ -20,12 +20,16 @@ import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.Assert.*;
@@ -291,7 +295,57 @@ public class UtilitiesTest {
     @Test
     public void testExtractPartialTestResultsInvalidXml() {
         // Arrange
-        String xmlContent = "<testsuite tests=\"10\" failures=\"2\" skipped=\"1\">";
+        String xmlContent = "<testsuites><testsuite tests=\"10\" failures=\"2\" skipped=\"1\"";
+
+        // Act
+        Map<String, Integer> result = utilities.extractPartialTestResults(xmlContent);
+
+        // Assert
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void testExtractPartialTestResultsTruncatedAfterFirstTestsuite() {
+        // Arrange
+        String xmlContent = "<testsuites><testsuite tests=\"10\" failures=\"2\" skipped=\"1\"><testcase name=";
+
+        // Act
+        Map<String, Integer> result = utilities.extractPartialTestResults(xmlContent);
+
+        // Assert
+        assertThat(result.get("Total Test Cases")).isEqualTo(10);
+        assertThat(result.get("Failed Tests")).isEqualTo(2);
+        assertThat(result.get("Skipped Tests")).isEqualTo(1);
+    }
+
+    @Test
+    public void testExtractPartialTestResultsFromStreamStopsAtFirstTestsuite() {
+        // Arrange
+        byte[] head = "<testsuites><testsuite tests=\"4\" failures=\"1\">".getBytes(StandardCharsets.UTF_8);
+        AtomicInteger bytesRead = new AtomicInteger();
+        InputStream xmlContent = new InputStream() {
+            @Override
+            public int read() {
+                int position = bytesRead.getAndIncrement();
+                // An endless stream of test cases after the first testsuite
+                return position < head.length ? head[position] : "<testcase/>".charAt((position - head.length) % 11);
+            }
+        };
+
+        // Act
+        Map<String, Integer> result = utilities.extractPartialTestResults(xmlContent);
+
+        // Assert
+        assertThat(result.get("Total Test Cases")).isEqualTo(4);
+        assertThat(result.get("Failed Tests")).isEqualTo(1);
+        assertThat(result.get("Skipped Tests")).isEqualTo(0);
+        assertThat(bytesRead.get()).isLessThan(1024 * 1024);
+    }
+
+    @Test
+    public void testExtractPartialTestResultsWithoutTestsuiteThenEmpty() {
+        // Arrange
+        String xmlContent = "<testsuites></testsuites>";
 
         // Act
         Map<String, Integer> result = utilities.extractPartialTestResults(xmlContent);
@@ -409,6 +463,65 @@ public class UtilitiesTest {
         verify(loggerHelper, never()).logInfo(anyString());
     }
 
+    @Test
+    public void testEscapeXmlContentFromFileThenSameAsString() throws Exception {
+        // Arrange
+        String xmlString = "<testsuites><testsuite name=\"Suite &amp; more\"><testcase name=\"100% done\">a &lt; b</testcase></testsuite></testsuites>";
+        Path xmlFile = tempFolder.newFile("results.xml").toPath();
+        Files.write(xmlFile, xmlString.getBytes(StandardCharsets.UTF_8));
+        StringWriter writer = new StringWriter();
+
+        // Act
+        utilities.escapeXmlContent(xmlFile, writer, loggerHelper);
+
+        // Assert
+        assertThat(writer.toString()).isEqualTo(utilities.escapeXmlContent(xmlString, loggerHelper));
+    }
+
+    @Test
+    public void testEscapeXmlContentFromFileMalformedXmlThenCopiedUnchanged() throws Exception {
+        // Arrange
+        String xmlString = "<root><element>100% value</root>";
+        Path xmlFile = tempFolder.newFile("results.xml").toPath();
+        Files.write(xmlFile, xmlString.getBytes(StandardCharsets.UTF_8));
+        StringWriter writer = new StringWriter();
+
+        // Act
+        utilities.escapeXmlContent(xmlFile, writer, loggerHelper);
+
+        // Assert
+        assertThat(writer.toString()).isEqualTo(xmlString);
+        verify(loggerHelper).logWarning("[XMLResults] The XML is not well-formed and could not be corrected. It may not be interpreted correctly.");
+    }
+
+    @Test
+    public void testEscapeXmlContentWithDocumentTypeThenEntitiesExpanded() {
+        // Arrange
+        String xmlString = "<!DOCTYPE results [<!ENTITY product \"Tosca &amp; Friends\">]><results name=\"&product;\">&product;</results>";
+
+        // Act
+        String result = utilities.escapeXmlContent(xmlString, loggerHelper);
+
+        // Assert
+        assertThat(result).startsWith("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        assertThat(result).contains("name=\"Tosca &amp; Friends\"");
+        verify(loggerHelper).logInfo("[XMLResults] XML content is well-formed");
+    }
+
+    @Test
+    public void testEscapeXmlContentWithExternalEntityThenNotResolved() throws Exception {
+        // Arrange
+        Path secretFile = tempFolder.newFile("secret.txt").toPath();
+        Files.write(secretFile, "secret-value".getBytes(StandardCharsets.UTF_8));
+        String xmlString = String.format("<!DOCTYPE results [<!ENTITY secret SYSTEM \"%s\">]><results>&secret;</results>", secretFile.toUri());
+
+        // Act
+        String result = utilities.escapeXmlContent(xmlString, loggerHelper);
+
+        // Assert
+        assertThat(result).doesNotContain("secret-value");
+    }
+
     @Test
     public void testTraverseAndEscapeElementNode() throws Exception {
         // Arrange
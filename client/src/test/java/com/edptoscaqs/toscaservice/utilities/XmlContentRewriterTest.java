@@ -0,0 +1,152 @@
+package com.edptoscaqs.toscaservice.utilities;
+
+import com.edptoscaqs.toscaservice.factory.WriterFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+// Golden file suite: the single pass rewriter must produce exactly what the DOM round trip produces
+public class XmlContentRewriterTest {
+    private Utilities utilities;
+
+    @Before
+    public void init() {
+        utilities = new Utilities(mock(WriterFactory.class));
+    }
+
+    @Test
+    public void testRewriteJUnitResultsThenSameAsDocument() throws Exception {
+        // Arrange
+        String xmlContent = readResource("junit-results.xml");
+
+        // Act
+        String result = rewrite(xmlContent);
+
+        // Assert
+        assertThat(result).isEqualTo(escapeWithDocument(xmlContent));
+        assertThat(result).contains("<testcase classname=\"Suite.Login\" name=\"Login 'admin'\" time=\"1.5\"/>");
+    }
+
+    @Test
+    public void testRewriteSpecialCharactersThenSameAsDocument() throws Exception {
+        // Arrange
+        String xmlContent = readResource("special-characters.xml");
+
+        // Act
+        String result = rewrite(xmlContent);
+
+        // Assert
+        assertThat(result).isEqualTo(escapeWithDocument(xmlContent));
+    }
+
+    @Test
+    public void testRewriteFromBytesThenSameAsDocument() throws Exception {
+        // Arrange
+        String xmlContent = readResource("special-characters.xml");
+        StringWriter writer = new StringWriter();
+
+        // Act
+        try (InputStream xmlStream = getClass().getResourceAsStream("/xml-content/special-characters.xml")) {
+            XmlContentRewriter.rewrite(new InputSource(xmlStream), writer);
+        }
+
+        // Assert
+        assertThat(writer.toString()).isEqualTo(escapeWithDocument(xmlContent));
+    }
+
+    @Test
+    public void testRewriteSectionsLargerThanParserBufferThenSameAsDocument() throws Exception {
+        // Arrange
+        StringBuilder xmlContent = new StringBuilder("<testsuites><testsuite><system-out><![CDATA[");
+        for (int i = 0; i < 20000; i++) {
+            xmlContent.append("line ").append(i).append(" \uD83D\uDE00 &amp;lt;\n");
+        }
+        xmlContent.append("]]></system-out><system-err>");
+        for (int i = 0; i < 20000; i++) {
+            xmlContent.append("line ").append(i).append(" \uD83D\uDE00 &amp;lt; &#133; &quot;\n");
+        }
+        xmlContent.append("</system-err></testsuite></testsuites>");
+
+        // Act
+        String result = rewrite(xmlContent.toString());
+
+        // Assert
+        assertThat(result).isEqualTo(escapeWithDocument(xmlContent.toString()));
+    }
+
+    @Test
+    public void testRewriteNamespaceDeclarationsThenSameAsDocument() throws Exception {
+        // Arrange
+        String xmlContent = "<r xmlns=\"urn:a\" xmlns:p=\"u\" xmlns:xsi=\"other\"><c xmlns:p=\"u\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">"
+                + "<d xmlns:p=\"\"><e xmlns:p=\"u\" xmlns:xml=\"http://www.w3.org/XML/1998/namespace\"/></d></c><f xmlns:p=\"v\"/></r>";
+
+        // Act
+        String result = rewrite(xmlContent);
+
+        // Assert
+        assertThat(result).isEqualTo(escapeWithDocument(xmlContent));
+    }
+
+    @Test
+    public void testRewriteWithDocumentTypeThenLeftToDocument() throws Exception {
+        // Arrange
+        String xmlContent = readResource("document-type.xml");
+        StringWriter writer = new StringWriter();
+
+        // Act
+        boolean rewritten = XmlContentRewriter.rewrite(new InputSource(new StringReader(xmlContent)), writer);
+
+        // Assert
+        assertThat(rewritten).isFalse();
+        assertThat(writer.toString()).isEmpty();
+    }
+
+    @Test
+    public void testRewriteWithXml11ThenLeftToDocument() throws Exception {
+        // Arrange
+        String xmlContent = "<?xml version=\"1.1\"?><results>&#1;</results>";
+        StringWriter writer = new StringWriter();
+
+        // Act
+        boolean rewritten = XmlContentRewriter.rewrite(new InputSource(new StringReader(xmlContent)), writer);
+
+        // Assert
+        assertThat(rewritten).isFalse();
+        assertThat(writer.toString()).isEmpty();
+    }
+
+    @Test
+    public void testRewriteMalformedXmlThenException() {
+        // Arrange
+        String xmlContent = "<results><testsuite></results>";
+
+        // Act & Assert
+        assertThatThrownBy(() -> rewrite(xmlContent)).isInstanceOf(SAXException.class);
+    }
+
+    private String rewrite(String xmlContent) throws Exception {
+        StringWriter writer = new StringWriter();
+        assertThat(XmlContentRewriter.rewrite(new InputSource(new StringReader(xmlContent)), writer)).isTrue();
+        return writer.toString();
+    }
+
+    private String escapeWithDocument(String xmlContent) throws Exception {
+        return utilities.escapeXmlContentWithDocument(new InputSource(new StringReader(xmlContent)));
+    }
+
+    private String readResource(String name) throws Exception {
+        try (InputStream resource = getClass().getResourceAsStream("/xml-content/" + name)) {
+            return new String(resource.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.edptoscaqs.toscaservice.utilities;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.SAXParser;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class XmlFactoriesTest {
+
+    @Test
+    public void testAcquireSaxParserAfterReleaseThenSameParser() throws Exception {
+        // Arrange
+        SAXParser parser = XmlFactories.acquireSaxParser();
+        XmlFactories.release(parser);
+
+        // Act
+        SAXParser reused = XmlFactories.acquireSaxParser();
+        XmlFactories.release(reused);
+
+        // Assert
+        assertThat(reused).isSameAs(parser);
+    }
+
+    @Test
+    public void testAcquireDocumentBuilderWhileInUseThenNewBuilder() throws Exception {
+        // Arrange
+        DocumentBuilder builder = XmlFactories.acquireDocumentBuilder();
+
+        // Act
+        DocumentBuilder nested = XmlFactories.acquireDocumentBuilder();
+        XmlFactories.release(nested);
+        XmlFactories.release(builder);
+
+        // Assert
+        assertThat(nested).isNotSameAs(builder);
+    }
+
+    @Test
+    public void testAcquireDocumentBuilderAfterFailedParseThenReusable() throws Exception {
+        // Arrange
+        DocumentBuilder builder = XmlFactories.acquireDocumentBuilder();
+        try {
+            builder.parse(new InputSource(new StringReader("<results><testsuite></results>")));
+        } catch (Exception e) {
+            // Expected, the document is not well-formed
+        } finally {
+            XmlFactories.release(builder);
+        }
+
+        // Act
+        DocumentBuilder reused = XmlFactories.acquireDocumentBuilder();
+        Document document;
+        try {
+            document = reused.parse(new InputSource(new StringReader("<results><testsuite/></results>")));
+        } finally {
+            XmlFactories.release(reused);
+        }
+
+        // Assert
+        assertThat(reused).isSameAs(builder);
+        assertThat(document.getDocumentElement().getTagName()).isEqualTo("results");
+    }
+
+    @Test
+    public void testXmlInputFactoryThenDtdNotSupported() {
+        // Act & Assert
+        assertThat(XmlFactories.xmlInputFactory().getProperty("javax.xml.stream.supportDTD")).isEqualTo(false);
+    }
+}